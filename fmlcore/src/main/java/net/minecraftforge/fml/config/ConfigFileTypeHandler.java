@@ -145,6 +145,7 @@ public class ConfigFileTypeHandler {
                 LOGGER.debug(CONFIG, "Config file {} changed, sending notifies", this.modConfig.getFileName());
                 this.modConfig.getSpec().afterReload();
                 this.modConfig.fireEvent(IConfigEvent.reloading(this.modConfig));
+                ConfigTracker.INSTANCE.fireReloaded(this.modConfig);
             }
         }
     }
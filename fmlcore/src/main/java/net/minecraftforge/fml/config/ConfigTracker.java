@@ -15,6 +15,8 @@ import org.slf4j.MarkerFactory;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public class ConfigTracker {
     private static final Logger LOGGER = LogUtils.getLogger();
@@ -23,6 +25,7 @@ public class ConfigTracker {
     private final ConcurrentHashMap<String, ModConfig> fileMap;
     private final EnumMap<ModConfig.Type, Set<ModConfig>> configSets;
     private final ConcurrentHashMap<String, Map<ModConfig.Type, ModConfig>> configsByMod;
+    private final List<Consumer<ModConfig>> reloadListeners = new CopyOnWriteArrayList<>();
 
     private ConfigTracker() {
         this.fileMap = new ConcurrentHashMap<>();
@@ -86,6 +89,18 @@ public class ConfigTracker {
                 map(ModConfig::getFullPath).map(Object::toString).orElse(null);
     }
 
+    /**
+     * Adds a listener which is called whenever a config is reloaded because its file changed,
+     * after the owning mod has been notified. It is called on the thread watching the config files.
+     */
+    public void addReloadListener(Consumer<ModConfig> listener) {
+        this.reloadListeners.add(listener);
+    }
+
+    void fireReloaded(final ModConfig config) {
+        this.reloadListeners.forEach(l -> l.accept(config));
+    }
+
     public Map<ModConfig.Type, Set<ModConfig>> configSets() {
         return configSets;
     }
@@ -14,6 +14,7 @@ import org.slf4j.Logger;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.*;
 
@@ -34,18 +35,19 @@ public class BackgroundScanHandler
     private final List<ModFile> scannedFiles;
     private final List<ModFile> allFiles;
     private final List<ModFile> modFiles;
-    private ScanStatus status;
+    private volatile ScanStatus status;
     private LoadingModList loadingModList;
 
     public BackgroundScanHandler(final List<ModFile> modFiles) {
         this.modFiles = modFiles;
-        modContentScanner = Executors.newSingleThreadExecutor(r -> {
+        // Files are scanned concurrently, the classes of each file are spread over the Scanner's own pool
+        modContentScanner = Executors.newFixedThreadPool(Math.min(4, Runtime.getRuntime().availableProcessors()), r -> {
             final Thread thread = Executors.defaultThreadFactory().newThread(r);
             thread.setDaemon(true);
             return thread;
         });
-        scannedFiles = new ArrayList<>();
-        pendingFiles = new ArrayList<>();
+        scannedFiles = Collections.synchronizedList(new ArrayList<>());
+        pendingFiles = Collections.synchronizedList(new ArrayList<>());
         allFiles = new ArrayList<>();
         status = ScanStatus.NOT_STARTED;
     }
@@ -102,5 +104,7 @@ public class BackgroundScanHandler
         } while (status == ScanStatus.RUNNING);
         if (status == ScanStatus.INTERRUPTED) Thread.currentThread().interrupt();
         if (status != ScanStatus.COMPLETE) throw new IllegalStateException("Failed to complete mod scan");
+        final ScanCache cache = ScanCache.get();
+        if (cache != null) cache.prune();
     }
 }
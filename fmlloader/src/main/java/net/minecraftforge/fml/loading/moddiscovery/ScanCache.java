@@ -0,0 +1,433 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.fml.loading.moddiscovery;
+
+import com.mojang.logging.LogUtils;
+import net.minecraftforge.fml.loading.FMLPaths;
+import net.minecraftforge.fml.loading.LogMarkers;
+import net.minecraftforge.forgespi.language.ModFileScanData;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.Type;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.reflect.Array;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the classes and annotations found by {@link Scanner} on disk, keyed by the SHA-256 of the mod jar, so unchanged
+ * jars don't have to be scanned again on the next launch.
+ * <p>
+ * Both the jars and the cache entries are read through memory-mapped buffers. Only files of
+ * {@link AbstractJarFileModProvider}s are cached, as their contents come from a single jar.
+ * Set the {@code fml.disableScanCache} system property to always scan.
+ */
+final class ScanCache
+{
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int MAGIC = 0x464d4c53; // FMLS
+    // Bump whenever the entry format or the scan results change
+    private static final int VERSION = 1;
+    private static final Duration MAX_UNUSED = Duration.ofDays(30);
+
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int INT = 2;
+    private static final int LONG = 3;
+    private static final int FLOAT = 4;
+    private static final int DOUBLE = 5;
+    private static final int BOOLEAN = 6;
+    private static final int BYTE = 7;
+    private static final int SHORT = 8;
+    private static final int CHAR = 9;
+    private static final int TYPE = 10;
+    private static final int ENUM = 11;
+    private static final int LIST = 12;
+    private static final int MAP = 13;
+    private static final int ARRAY = 14;
+
+    private final Path directory;
+
+    ScanCache(final Path directory)
+    {
+        this.directory = directory;
+    }
+
+    @Nullable
+    static ScanCache get()
+    {
+        return System.getProperty("fml.disableScanCache") == null ? new ScanCache(FMLPaths.GAMEDIR.get().resolve("caches").resolve("modscan")) : null;
+    }
+
+    /**
+     * @return the key of the jar, or null if it can't be cached
+     */
+    @Nullable
+    String key(final Path jar)
+    {
+        if (!Files.isRegularFile(jar))
+            return null;
+        try
+        {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (jar.getFileSystem() != FileSystems.getDefault())
+            {
+                // Jars in jars can't be mapped
+                digest.update(Files.readAllBytes(jar));
+                return HexFormat.of().formatHex(digest.digest());
+            }
+            try (FileChannel channel = FileChannel.open(jar, StandardOpenOption.READ))
+            {
+                final long size = channel.size();
+                // Mapped in chunks, a single buffer can't be larger than 2 GiB
+                for (long position = 0; position < size; position += Integer.MAX_VALUE)
+                    digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(Integer.MAX_VALUE, size - position)));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+        catch (IOException | NoSuchAlgorithmException e)
+        {
+            LOGGER.debug(LogMarkers.SCAN, "Failed to hash {}, it will not be cached", jar, e);
+            return null;
+        }
+    }
+
+    /**
+     * Adds the cached classes and annotations of the jar to the scan data.
+     *
+     * @return false if the jar isn't cached
+     */
+    boolean read(final String key, final ModFileScanData result)
+    {
+        final Path file = directory.resolve(key);
+        if (!Files.isRegularFile(file))
+            return false;
+        try
+        {
+            final Set<ModFileScanData.ClassData> classes = new HashSet<>();
+            final Set<ModFileScanData.AnnotationData> annotations = new HashSet<>();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+            {
+                final MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buf.getInt() != MAGIC || buf.getInt() != VERSION)
+                    return false;
+                for (int i = buf.getInt(); i > 0; i--)
+                {
+                    final Type clazz = readType(buf);
+                    final Type parent = readType(buf);
+                    final Set<Type> interfaces = new HashSet<>();
+                    for (int j = buf.getInt(); j > 0; j--)
+                        interfaces.add(readType(buf));
+                    classes.add(new ModFileScanData.ClassData(clazz, parent, interfaces));
+                }
+                for (int i = buf.getInt(); i > 0; i--)
+                {
+                    final Type annotationType = readType(buf);
+                    final ElementType targetType = ElementType.values()[buf.get()];
+                    final Type clazz = readType(buf);
+                    final String memberName = readString(buf);
+                    @SuppressWarnings("unchecked")
+                    final Map<String, Object> values = (Map<String, Object>) readValue(buf);
+                    annotations.add(new ModFileScanData.AnnotationData(annotationType, targetType, clazz, memberName, values));
+                }
+            }
+            // Entries unused for a while are removed by prune
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            result.getClasses().addAll(classes);
+            result.getAnnotations().addAll(annotations);
+            return true;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            LOGGER.warn(LogMarkers.SCAN, "Ignoring invalid scan cache entry {}", file, e);
+            return false;
+        }
+    }
+
+    void write(final String key, final Set<ModFileScanData.ClassData> classes, final Set<ModFileScanData.AnnotationData> annotations)
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(classes.size());
+            for (ModFileScanData.ClassData data : classes)
+            {
+                writeType(out, data.clazz());
+                writeType(out, data.parent());
+                out.writeInt(data.interfaces().size());
+                for (Type type : data.interfaces())
+                    writeType(out, type);
+            }
+            out.writeInt(annotations.size());
+            for (ModFileScanData.AnnotationData data : annotations)
+            {
+                writeType(out, data.annotationType());
+                out.writeByte(data.targetType().ordinal());
+                writeType(out, data.clazz());
+                writeString(out, data.memberName());
+                writeValue(out, data.annotationData());
+            }
+        }
+        catch (IOException | IllegalArgumentException e)
+        {
+            LOGGER.debug(LogMarkers.SCAN, "Not caching scan results for {}", key, e);
+            return;
+        }
+
+        try
+        {
+            Files.createDirectories(directory);
+            // Written to a temporary file first, so other instances never see partial entries
+            final Path tmp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(tmp, bytes.toByteArray());
+            Files.move(tmp, directory.resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn(LogMarkers.SCAN, "Failed to write scan cache entry {}", key, e);
+        }
+    }
+
+    /**
+     * Removes entries which were not used for a while, which are usually jars of mods that were updated or removed.
+     */
+    void prune()
+    {
+        if (!Files.isDirectory(directory))
+            return;
+        final FileTime oldest = FileTime.from(Instant.now().minus(MAX_UNUSED));
+        try (Stream<Path> files = Files.list(directory))
+        {
+            for (Path file : (Iterable<Path>) files::iterator)
+            {
+                if (Files.getLastModifiedTime(file).compareTo(oldest) < 0)
+                    Files.deleteIfExists(file);
+            }
+        }
+        catch (IOException e)
+        {
+            LOGGER.debug(LogMarkers.SCAN, "Failed to prune scan cache", e);
+        }
+    }
+
+    private static void writeString(final DataOutputStream out, @Nullable final String value) throws IOException
+    {
+        if (value == null)
+        {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Nullable
+    private static String readString(final ByteBuffer buf)
+    {
+        final int length = buf.getInt();
+        if (length < 0)
+            return null;
+        if (length > buf.remaining())
+            throw new BufferUnderflowException();
+        final byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeType(final DataOutputStream out, @Nullable final Type type) throws IOException
+    {
+        writeString(out, type == null ? null : type.getDescriptor());
+    }
+
+    @Nullable
+    private static Type readType(final ByteBuffer buf)
+    {
+        final String descriptor = readString(buf);
+        return descriptor == null ? null : Type.getType(descriptor);
+    }
+
+    private static void writeValue(final DataOutputStream out, @Nullable final Object value) throws IOException
+    {
+        if (value == null)
+        {
+            out.writeByte(NULL);
+        }
+        else if (value instanceof String s)
+        {
+            out.writeByte(STRING);
+            writeString(out, s);
+        }
+        else if (value instanceof Integer i)
+        {
+            out.writeByte(INT);
+            out.writeInt(i);
+        }
+        else if (value instanceof Long l)
+        {
+            out.writeByte(LONG);
+            out.writeLong(l);
+        }
+        else if (value instanceof Float f)
+        {
+            out.writeByte(FLOAT);
+            out.writeFloat(f);
+        }
+        else if (value instanceof Double d)
+        {
+            out.writeByte(DOUBLE);
+            out.writeDouble(d);
+        }
+        else if (value instanceof Boolean b)
+        {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(b);
+        }
+        else if (value instanceof Byte b)
+        {
+            out.writeByte(BYTE);
+            out.writeByte(b);
+        }
+        else if (value instanceof Short s)
+        {
+            out.writeByte(SHORT);
+            out.writeShort(s);
+        }
+        else if (value instanceof Character c)
+        {
+            out.writeByte(CHAR);
+            out.writeChar(c);
+        }
+        else if (value instanceof Type t)
+        {
+            out.writeByte(TYPE);
+            writeType(out, t);
+        }
+        else if (value instanceof ModAnnotation.EnumHolder e)
+        {
+            out.writeByte(ENUM);
+            writeString(out, e.getDesc());
+            writeString(out, e.getValue());
+        }
+        else if (value instanceof List<?> list)
+        {
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object o : list)
+                writeValue(out, o);
+        }
+        else if (value instanceof Map<?, ?> map)
+        {
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> e : map.entrySet())
+            {
+                writeString(out, (String) e.getKey());
+                writeValue(out, e.getValue());
+            }
+        }
+        else if (value.getClass().isArray() && value.getClass().getComponentType().isPrimitive())
+        {
+            // Arrays of primitives are passed to the visitor as a whole
+            final int length = Array.getLength(value);
+            out.writeByte(ARRAY);
+            writeString(out, Type.getDescriptor(value.getClass().getComponentType()));
+            out.writeInt(length);
+            for (int i = 0; i < length; i++)
+                writeValue(out, Array.get(value, i));
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unsupported annotation value " + value.getClass());
+        }
+    }
+
+    @Nullable
+    private static Object readValue(final ByteBuffer buf)
+    {
+        return switch (buf.get())
+        {
+            case NULL -> null;
+            case STRING -> readString(buf);
+            case INT -> buf.getInt();
+            case LONG -> buf.getLong();
+            case FLOAT -> buf.getFloat();
+            case DOUBLE -> buf.getDouble();
+            case BOOLEAN -> buf.get() != 0;
+            case BYTE -> buf.get();
+            case SHORT -> buf.getShort();
+            case CHAR -> buf.getChar();
+            case TYPE -> readType(buf);
+            case ENUM -> new ModAnnotation.EnumHolder(readString(buf), readString(buf));
+            case LIST -> {
+                final int size = buf.getInt();
+                final List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++)
+                    list.add(readValue(buf));
+                yield list;
+            }
+            case MAP -> {
+                final int size = buf.getInt();
+                final Map<String, Object> map = new HashMap<>(size);
+                for (int i = 0; i < size; i++)
+                    map.put(readString(buf), readValue(buf));
+                yield map;
+            }
+            case ARRAY -> {
+                final Class<?> component = primitiveClass(readString(buf));
+                final int length = buf.getInt();
+                final Object array = Array.newInstance(component, length);
+                for (int i = 0; i < length; i++)
+                    Array.set(array, i, readValue(buf));
+                yield array;
+            }
+            default -> throw new IllegalArgumentException("Unknown value tag");
+        };
+    }
+
+    private static Class<?> primitiveClass(final String descriptor)
+    {
+        return switch (descriptor)
+        {
+            case "Z" -> boolean.class;
+            case "B" -> byte.class;
+            case "C" -> char.class;
+            case "S" -> short.class;
+            case "I" -> int.class;
+            case "J" -> long.class;
+            case "F" -> float.class;
+            case "D" -> double.class;
+            default -> throw new IllegalArgumentException("Unknown primitive " + descriptor);
+        };
+    }
+}
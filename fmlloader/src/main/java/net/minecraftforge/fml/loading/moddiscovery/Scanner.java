@@ -13,13 +13,24 @@ import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 public class Scanner {
     private static final Logger LOGGER = LogUtils.getLogger();
+    // Shared by all files, so a single large jar is spread over all cores as well
+    private static final ForkJoinPool CLASS_SCANNER = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("FML class scanner " + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }, null, false);
     private final ModFile fileToScan;
 
     public Scanner(final ModFile fileToScan) {
@@ -29,7 +40,15 @@ public class Scanner {
     public ModFileScanData scan() {
         ModFileScanData result = new ModFileScanData();
         result.addModFileInfo(fileToScan.getModFileInfo());
-        fileToScan.scanFile(p -> fileVisitor(p, result));
+        final ScanCache cache = ScanCache.get();
+        final String key = cache != null && fileToScan.getProvider() instanceof AbstractJarFileModProvider ? cache.key(fileToScan.getFilePath()) : null;
+        if (key != null && cache.read(key, result)) {
+            LOGGER.debug(LogMarkers.SCAN, "Loaded scan results of {} from cache", fileToScan);
+        } else {
+            scanClasses(result);
+            if (key != null)
+                cache.write(key, result.getClasses(), result.getAnnotations());
+        }
         final List<IModLanguageProvider> loaders = fileToScan.getLoaders();
         if (loaders != null) {
             loaders.forEach(loader -> {
@@ -40,15 +59,29 @@ public class Scanner {
         return result;
     }
 
-    private void fileVisitor(final Path path, final ModFileScanData result) {
+    private void scanClasses(final ModFileScanData result) {
+        final List<Path> paths = new ArrayList<>();
+        fileToScan.scanFile(paths::add);
+        // Each class is visited on its own, and the results are merged once all are done
+        final List<ModClassVisitor> visitors = CLASS_SCANNER.submit(() -> paths.parallelStream().map(this::fileVisitor).filter(v -> v != null).toList()).join();
+        final Set<ModFileScanData.ClassData> classes = new HashSet<>(visitors.size());
+        final Set<ModFileScanData.AnnotationData> annotations = new HashSet<>();
+        visitors.forEach(mcv -> mcv.buildData(classes, annotations));
+        result.getClasses().addAll(classes);
+        result.getAnnotations().addAll(annotations);
+    }
+
+    private ModClassVisitor fileVisitor(final Path path) {
         LOGGER.debug(LogMarkers.SCAN,"Scanning {} path {}", fileToScan, path);
-        try (InputStream in = Files.newInputStream(path)){
+        try {
+            // Read in one go, ClassReader would otherwise copy the stream through growing buffers
             ModClassVisitor mcv = new ModClassVisitor();
-            ClassReader cr = new ClassReader(in);
+            ClassReader cr = new ClassReader(Files.readAllBytes(path));
             cr.accept(mcv, 0);
-            mcv.buildData(result.getClasses(), result.getAnnotations());
+            return mcv;
         } catch (IOException | IllegalArgumentException e) {
             // mark path bad
+            return null;
         }
     }
 }
@@ -136,6 +136,7 @@ import net.minecraftforge.client.extensions.common.IClientFluidTypeExtensions;
 import net.minecraftforge.client.extensions.common.IClientItemExtensions;
 import net.minecraftforge.client.extensions.common.IClientMobEffectExtensions;
 import net.minecraftforge.client.model.data.ModelData;
+import net.minecraftforge.client.model.geometry.BakedGeometryCache;
 import net.minecraftforge.client.textures.ForgeTextureMetadata;
 import net.minecraftforge.common.ForgeI18n;
 import net.minecraftforge.common.ForgeMod;
@@ -479,6 +480,7 @@ public class ForgeHooksClient
 
     public static void onModelBake(ModelManager modelManager, Map<ResourceLocation, BakedModel> models, ModelBakery modelBakery)
     {
+        BakedGeometryCache.end();
         ModLoader.get().postEvent(new ModelEvent.BakingCompleted(modelManager, models, modelBakery));
     }
 
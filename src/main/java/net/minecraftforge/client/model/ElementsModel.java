@@ -14,8 +14,10 @@ import com.mojang.datafixers.util.Pair;
 import net.minecraft.client.renderer.block.model.BlockElement;
 import net.minecraft.client.renderer.block.model.BlockElementFace;
 import net.minecraft.client.renderer.block.model.BlockModel;
+import net.minecraft.client.renderer.block.model.ItemOverrides;
 import net.minecraft.client.renderer.texture.MissingTextureAtlasSprite;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.resources.model.BakedModel;
 import net.minecraft.client.resources.model.Material;
 import net.minecraft.client.resources.model.ModelBakery;
 import net.minecraft.client.resources.model.ModelState;
@@ -57,11 +59,25 @@ public class ElementsModel extends SimpleUnbakedGeometry<ElementsModel>
     }
 
     @Override
-    protected void addQuads(IGeometryBakingContext context, IModelBuilder<?> modelBuilder, ModelBakery bakery, Function<Material, TextureAtlasSprite> spriteGetter, ModelState modelState, ResourceLocation modelLocation)
+    public BakedModel bake(IGeometryBakingContext context, ModelBakery bakery, Function<Material, TextureAtlasSprite> spriteGetter, ModelState modelState, ItemOverrides overrides, ResourceLocation modelLocation)
     {
+        // Warned here rather than in addQuads, which is skipped when the quads are cached
         if (deprecatedLoader)
             LOGGER.warn("Model \"" + modelLocation + "\" is using the deprecated loader \"minecraft:elements\" instead of \"forge:elements\". This loader will be removed in 1.20.");
 
+        return super.bake(context, bakery, spriteGetter, modelState, overrides, modelLocation);
+    }
+
+    @Override
+    protected boolean isCacheable()
+    {
+        // Elements are read from the model JSON, their quads depend on nothing else
+        return true;
+    }
+
+    @Override
+    protected void addQuads(IGeometryBakingContext context, IModelBuilder<?> modelBuilder, ModelBakery bakery, Function<Material, TextureAtlasSprite> spriteGetter, ModelState modelState, ResourceLocation modelLocation)
+    {
         var rootTransform = context.getRootTransform();
         if (!rootTransform.isIdentity())
             modelState = new SimpleModelState(modelState.getRotation().compose(rootTransform), modelState.isUvLocked());
@@ -21,6 +21,7 @@ import net.minecraft.client.renderer.block.model.ItemTransform;
 import net.minecraft.client.renderer.block.model.ItemTransforms;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.GsonHelper;
+import net.minecraftforge.client.model.geometry.BakedGeometryCache;
 import net.minecraftforge.client.model.geometry.GeometryLoaderManager;
 import net.minecraftforge.client.model.geometry.IUnbakedGeometry;
 import net.minecraftforge.common.util.TransformationHelper;
@@ -96,6 +97,8 @@ public class ExtendedBlockModelDeserializer extends BlockModel.Deserializer
         if (loader == null)
             throw new JsonParseException(String.format(Locale.ENGLISH, "Model loader '%s' not found. Registered loaders: %s", name, GeometryLoaderManager.getLoaderList()));
 
-        return loader.read(object, deserializationContext);
+        var geometry = loader.read(object, deserializationContext);
+        BakedGeometryCache.trackSource(geometry, object);
+        return geometry;
     }
 }
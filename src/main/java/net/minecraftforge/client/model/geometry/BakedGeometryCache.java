@@ -0,0 +1,581 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.client.model.geometry;
+
+import com.google.common.collect.MapMaker;
+import com.google.gson.JsonObject;
+import com.mojang.math.Transformation;
+import net.minecraft.SharedConstants;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.block.model.ItemTransforms;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.client.resources.model.Material;
+import net.minecraft.client.resources.model.ModelBakery;
+import net.minecraft.client.resources.model.ModelState;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.client.RenderTypeGroup;
+import net.minecraftforge.client.model.IModelBuilder;
+import net.minecraftforge.client.textures.UnitTextureAtlasSprite;
+import net.minecraftforge.fml.ModList;
+import net.minecraftforge.fml.loading.FMLEnvironment;
+import net.minecraftforge.fml.loading.FMLPaths;
+import net.minecraftforge.forgespi.language.IModInfo;
+import net.minecraftforge.versions.forge.ForgeVersion;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A cache of the quads baked by {@link SimpleUnbakedGeometry geometries} which {@linkplain SimpleUnbakedGeometry#isCacheable() opt in},
+ * kept on disk across client restarts.
+ * <p>
+ * Each model reload uses one file, named after a hash of the Minecraft, Forge and mod versions and the registered
+ * {@linkplain GeometryLoaderManager geometry loaders}. Within the file, quads are keyed by a hash of the JSON the
+ * geometry was read from, the contents of the other resources it read, the model state, what each texture variable it
+ * uses resolves to and the atlas positions of the sprites it uses. Since the keys cover the contents of everything the
+ * quads are made from, changing resource packs only bakes the geometries whose resources changed. Those are baked as
+ * usual and the file is rewritten at the end of the reload.
+ * <p>
+ * The cache is only used in production, since mods being developed change without changing their version. It can be
+ * disabled with the {@code forge.disableBakedGeometryCache} system property.
+ */
+@ApiStatus.Internal
+public final class BakedGeometryCache
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int FORMAT = 2;
+    private static final boolean ENABLED = FMLEnvironment.production && System.getProperty("forge.disableBakedGeometryCache") == null;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    @Nullable
+    private static volatile Session session;
+
+    /**
+     * Opens the cache for a model reload, once the geometry loaders are known.
+     */
+    public static void begin(Map<ResourceLocation, IGeometryLoader<?>> loaders)
+    {
+        // A previous reload might have failed before finishing, its entries are discarded
+        session = null;
+        if (!ENABLED)
+            return;
+
+        try
+        {
+            Path directory = FMLPaths.GAMEDIR.get().resolve("caches").resolve("bakedgeometry");
+            session = Session.open(directory, computeReloadKey(loaders));
+        }
+        catch (IOException | RuntimeException e)
+        {
+            LOGGER.warn("Failed to open the baked geometry cache, models will be baked from scratch", e);
+        }
+    }
+
+    /**
+     * Writes the entries used by the current model reload and closes the cache until the next reload.
+     */
+    public static void end()
+    {
+        Session session = BakedGeometryCache.session;
+        BakedGeometryCache.session = null;
+        if (session != null)
+            session.save();
+    }
+
+    /**
+     * Remembers the JSON a geometry was read from, which identifies it in the cache.
+     * Geometries which aren't read from JSON are never cached.
+     */
+    public static void trackSource(@Nullable IUnbakedGeometry<?> geometry, JsonObject json)
+    {
+        Session session = BakedGeometryCache.session;
+        if (session != null && geometry != null)
+            session.sources.put(geometry, hash(json.toString()));
+    }
+
+    /**
+     * Adds the quads of the given geometry to the builder, from the cache if possible.
+     * Otherwise, the quads are baked by the given consumer and added to the cache.
+     *
+     * @param resourceHash a hash of the contents of the resources the geometry was read from besides its JSON
+     */
+    public static void addQuads(IUnbakedGeometry<?> geometry, String resourceHash, IGeometryBakingContext context, IModelBuilder<?> builder, ModelBakery bakery,
+                                Function<Material, TextureAtlasSprite> spriteGetter, ModelState modelState, ResourceLocation modelLocation,
+                                Consumer<IModelBuilder<?>> quadBaker)
+    {
+        Session session = BakedGeometryCache.session;
+        String source = session != null ? session.sources.get(geometry) : null;
+        if (source == null)
+        {
+            quadBaker.accept(builder);
+            return;
+        }
+
+        String key = computeKey(geometry, source, resourceHash, context, bakery, spriteGetter, modelState, modelLocation);
+        BakedGeometryCacheFile.Entry entry = session.get(key);
+        if (entry != null && replay(entry, builder, spriteGetter))
+            return;
+
+        var recorder = new Recorder(builder);
+        quadBaker.accept(recorder);
+        BakedGeometryCacheFile.Entry recorded = recorder.toEntry(spriteGetter);
+        if (recorded != null)
+            session.put(key, recorded);
+    }
+
+    private static boolean replay(BakedGeometryCacheFile.Entry entry, IModelBuilder<?> builder, Function<Material, TextureAtlasSprite> spriteGetter)
+    {
+        // All sprites are resolved first, so that nothing is added to the builder if one is missing
+        TextureAtlasSprite[] sprites = new TextureAtlasSprite[entry.sprites().size()];
+        for (int i = 0; i < sprites.length; i++)
+        {
+            var sprite = entry.sprites().get(i);
+            var material = new Material(new ResourceLocation(sprite.atlas()), new ResourceLocation(sprite.texture()));
+            sprites[i] = getSprite(material, spriteGetter);
+            if (sprites[i] == null)
+                return false;
+        }
+
+        for (var quad : entry.quads())
+        {
+            if (quad.direction() < 0 || quad.direction() >= DIRECTIONS.length || quad.cullFace() >= DIRECTIONS.length)
+                return false;
+        }
+
+        for (var quad : entry.quads())
+        {
+            var bakedQuad = new BakedQuad(quad.vertices().clone(), quad.tintIndex(), DIRECTIONS[quad.direction()], sprites[quad.sprite()], quad.shade());
+            if (quad.cullFace() < 0)
+                builder.addUnculledFace(bakedQuad);
+            else
+                builder.addCulledFace(DIRECTIONS[quad.cullFace()], bakedQuad);
+        }
+        return true;
+    }
+
+    /**
+     * {@return the sprite for the given material, or null if the sprite getter doesn't resolve it to itself}
+     */
+    @Nullable
+    private static TextureAtlasSprite getSprite(Material material, Function<Material, TextureAtlasSprite> spriteGetter)
+    {
+        if (material.atlasLocation().equals(UnitTextureAtlasSprite.LOCATION))
+            return material.texture().equals(UnitTextureAtlasSprite.LOCATION) ? UnitTextureAtlasSprite.INSTANCE : null;
+
+        var sprite = spriteGetter.apply(material);
+        if (sprite == null || !sprite.getName().equals(material.texture()) || !sprite.atlas().location().equals(material.atlasLocation()))
+            return null;
+        return sprite;
+    }
+
+    private static String computeKey(IUnbakedGeometry<?> geometry, String source, String resourceHash, IGeometryBakingContext context, ModelBakery bakery,
+                                     Function<Material, TextureAtlasSprite> spriteGetter, ModelState modelState, ResourceLocation modelLocation)
+    {
+        var digest = new KeyDigest();
+        digest.update(geometry.getClass().getName());
+        digest.update(source);
+        digest.update(resourceHash);
+        digest.update(modelLocation.toString());
+        digest.update(modelState.getRotation());
+        digest.update(modelState.isUvLocked() ? 1 : 0);
+        digest.update(context.getRootTransform());
+
+        // Whether components are visible, and whether that was set explicitly
+        geometry.getConfigurableComponentNames().stream().sorted().forEach(component -> {
+            digest.update(component);
+            digest.update((context.isComponentVisible(component, true) ? 2 : 0) | (context.isComponentVisible(component, false) ? 1 : 0));
+        });
+
+        // Texture variables resolve through the whole model chain, which the source doesn't cover: a child model can
+        // swap two variables around without changing which materials are used, so every variable is hashed with what
+        // it resolved to
+        var recordingContext = new RecordingContext(context);
+        var materials = geometry.getMaterials(recordingContext, bakery::getModel, new HashSet<>());
+        recordingContext.resolved.forEach((name, material) -> {
+            digest.update(name);
+            digest.update(material, spriteGetter);
+        });
+
+        // The atlas positions of the sprites, which change whenever any texture on the atlas changes
+        materials.stream()
+                .sorted(Comparator.comparing((Material material) -> material.atlasLocation().toString()).thenComparing(material -> material.texture().toString()))
+                .forEach(material -> digest.update(material, spriteGetter));
+        return digest.finish();
+    }
+
+    private static String computeReloadKey(Map<ResourceLocation, IGeometryLoader<?>> loaders)
+    {
+        var digest = new KeyDigest();
+        digest.update(FORMAT);
+        digest.update(SharedConstants.getCurrentVersion().getId());
+        digest.update(ForgeVersion.getVersion());
+
+        ModList.get().getMods().stream().sorted(Comparator.comparing(IModInfo::getModId)).forEach(mod -> {
+            digest.update(mod.getModId());
+            digest.update(mod.getVersion().toString());
+        });
+
+        loaders.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            digest.update(entry.getKey().toString());
+            digest.update(entry.getValue().getClass().getName());
+        });
+
+        return digest.finish();
+    }
+
+    private static String hash(String value)
+    {
+        var digest = new KeyDigest();
+        digest.update(value);
+        return digest.finish();
+    }
+
+    private static final class Session
+    {
+        private final Path directory;
+        private final Path file;
+        private final String name;
+        private final Map<String, BakedGeometryCacheFile.Entry> cached;
+        private final Map<String, BakedGeometryCacheFile.Entry> used = new ConcurrentHashMap<>();
+        private final Map<IUnbakedGeometry<?>, String> sources = new MapMaker().weakKeys().makeMap();
+        private volatile boolean changed;
+
+        private Session(Path directory, String name, Map<String, BakedGeometryCacheFile.Entry> cached)
+        {
+            this.directory = directory;
+            this.file = directory.resolve(name + ".bin");
+            this.name = name;
+            this.cached = cached;
+        }
+
+        static Session open(Path directory, String name) throws IOException
+        {
+            Files.createDirectories(directory);
+            Path file = directory.resolve(name + ".bin");
+            Path pending = directory.resolve(name + ".bin.next");
+            // Written last time the cache file couldn't be replaced because it was mapped
+            if (Files.exists(pending))
+                Files.move(pending, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            Map<String, BakedGeometryCacheFile.Entry> cached = Map.of();
+            if (Files.exists(file))
+            {
+                try
+                {
+                    cached = BakedGeometryCacheFile.read(file);
+                }
+                catch (IOException e)
+                {
+                    LOGGER.warn("Ignoring invalid baked geometry cache {}", file, e);
+                }
+            }
+            return new Session(directory, name, cached);
+        }
+
+        @Nullable
+        BakedGeometryCacheFile.Entry get(String key)
+        {
+            var entry = cached.get(key);
+            if (entry != null)
+                used.put(key, entry);
+            return entry;
+        }
+
+        void put(String key, BakedGeometryCacheFile.Entry entry)
+        {
+            used.put(key, entry);
+            changed = true;
+        }
+
+        void save()
+        {
+            // Entries that weren't used this time are dropped, so the file doesn't grow forever
+            if (!changed && used.size() == cached.size())
+                return;
+
+            try
+            {
+                Path temp = Files.createTempFile(directory, name, ".tmp");
+                try
+                {
+                    BakedGeometryCacheFile.write(temp, new HashMap<>(used));
+                    try
+                    {
+                        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    }
+                    catch (IOException e)
+                    {
+                        // Some platforms can't replace a file that is still mapped, it will be moved in place on the next launch
+                        Files.move(temp, directory.resolve(name + ".bin.next"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    }
+                }
+                finally
+                {
+                    Files.deleteIfExists(temp);
+                }
+
+                // Only the cache for the current mods is kept
+                try (Stream<Path> files = Files.list(directory))
+                {
+                    for (Path other : (Iterable<Path>) files::iterator)
+                    {
+                        if (other.getFileName().toString().startsWith(name))
+                            continue;
+                        try
+                        {
+                            Files.deleteIfExists(other);
+                        }
+                        catch (IOException e)
+                        {
+                            // Still mapped by an earlier reload, it will be deleted next time
+                            LOGGER.debug("Failed to delete old baked geometry cache {}", other, e);
+                        }
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                LOGGER.warn("Failed to save the baked geometry cache {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * Forwards quads to a builder while remembering them.
+     */
+    private static final class Recorder implements IModelBuilder<Recorder>
+    {
+        private final IModelBuilder<?> builder;
+        private final List<BakedQuad> quads = new ArrayList<>();
+        private final List<Direction> cullFaces = new ArrayList<>();
+
+        private Recorder(IModelBuilder<?> builder)
+        {
+            this.builder = builder;
+        }
+
+        @Override
+        public Recorder addCulledFace(Direction facing, BakedQuad quad)
+        {
+            builder.addCulledFace(facing, quad);
+            quads.add(quad);
+            cullFaces.add(facing);
+            return this;
+        }
+
+        @Override
+        public Recorder addUnculledFace(BakedQuad quad)
+        {
+            builder.addUnculledFace(quad);
+            quads.add(quad);
+            cullFaces.add(null);
+            return this;
+        }
+
+        @Override
+        public BakedModel build()
+        {
+            return builder.build();
+        }
+
+        /**
+         * {@return the recorded quads, or null if they use a sprite that can't be looked up again}
+         */
+        @Nullable
+        BakedGeometryCacheFile.Entry toEntry(Function<Material, TextureAtlasSprite> spriteGetter)
+        {
+            var sprites = new ArrayList<BakedGeometryCacheFile.Sprite>();
+            var spriteIndices = new HashMap<TextureAtlasSprite, Integer>();
+            var cachedQuads = new ArrayList<BakedGeometryCacheFile.Quad>(quads.size());
+            for (int i = 0; i < quads.size(); i++)
+            {
+                BakedQuad quad = quads.get(i);
+                Integer spriteIndex = spriteIndices.get(quad.getSprite());
+                if (spriteIndex == null)
+                {
+                    var sprite = quad.getSprite();
+                    var material = new Material(sprite.atlas().location(), sprite.getName());
+                    if (getSprite(material, spriteGetter) != sprite)
+                        return null;
+                    spriteIndex = sprites.size();
+                    sprites.add(new BakedGeometryCacheFile.Sprite(material.atlasLocation().toString(), material.texture().toString()));
+                    spriteIndices.put(sprite, spriteIndex);
+                }
+
+                Direction cullFace = cullFaces.get(i);
+                cachedQuads.add(new BakedGeometryCacheFile.Quad(quad.getVertices().clone(), quad.getTintIndex(), quad.getDirection().ordinal(),
+                        cullFace != null ? cullFace.ordinal() : -1, quad.isShade(), spriteIndex));
+            }
+            return new BakedGeometryCacheFile.Entry(List.copyOf(sprites), List.copyOf(cachedQuads));
+        }
+    }
+
+    /**
+     * Remembers which material each texture variable resolved to, in the order of their names.
+     */
+    private static final class RecordingContext implements IGeometryBakingContext
+    {
+        private final IGeometryBakingContext context;
+        private final Map<String, Material> resolved = new TreeMap<>();
+
+        private RecordingContext(IGeometryBakingContext context)
+        {
+            this.context = context;
+        }
+
+        @Override
+        public String getModelName()
+        {
+            return context.getModelName();
+        }
+
+        @Override
+        public boolean hasMaterial(String name)
+        {
+            return context.hasMaterial(name);
+        }
+
+        @Override
+        public Material getMaterial(String name)
+        {
+            Material material = context.getMaterial(name);
+            resolved.put(name, material);
+            return material;
+        }
+
+        @Override
+        public boolean isGui3d()
+        {
+            return context.isGui3d();
+        }
+
+        @Override
+        public boolean useBlockLight()
+        {
+            return context.useBlockLight();
+        }
+
+        @Override
+        public boolean useAmbientOcclusion()
+        {
+            return context.useAmbientOcclusion();
+        }
+
+        @Override
+        public ItemTransforms getTransforms()
+        {
+            return context.getTransforms();
+        }
+
+        @Override
+        public Transformation getRootTransform()
+        {
+            return context.getRootTransform();
+        }
+
+        @Nullable
+        @Override
+        public ResourceLocation getRenderTypeHint()
+        {
+            return context.getRenderTypeHint();
+        }
+
+        @Override
+        public boolean isComponentVisible(String component, boolean fallback)
+        {
+            return context.isComponentVisible(component, fallback);
+        }
+
+        @Override
+        public RenderTypeGroup getRenderType(ResourceLocation name)
+        {
+            return context.getRenderType(name);
+        }
+    }
+
+    private static final class KeyDigest
+    {
+        private final MessageDigest digest;
+        private final ByteBuffer scratch = ByteBuffer.allocate(Integer.BYTES);
+
+        KeyDigest()
+        {
+            try
+            {
+                digest = MessageDigest.getInstance("SHA-256");
+            }
+            catch (NoSuchAlgorithmException e)
+            {
+                throw new IllegalStateException("SHA-256 is always available", e);
+            }
+        }
+
+        void update(String value)
+        {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            update(bytes.length);
+            digest.update(bytes);
+        }
+
+        void update(int value)
+        {
+            digest.update(scratch.clear().putInt(value).array());
+        }
+
+        void update(Material material, Function<Material, TextureAtlasSprite> spriteGetter)
+        {
+            update(material.atlasLocation().toString());
+            update(material.texture().toString());
+            var sprite = spriteGetter.apply(material);
+            update(Float.floatToIntBits(sprite.getU0()));
+            update(Float.floatToIntBits(sprite.getV0()));
+            update(Float.floatToIntBits(sprite.getU1()));
+            update(Float.floatToIntBits(sprite.getV1()));
+        }
+
+        void update(Transformation transformation)
+        {
+            FloatBuffer matrix = FloatBuffer.allocate(16);
+            transformation.getMatrix().store(matrix);
+            for (int i = 0; i < 16; i++)
+                update(Float.floatToIntBits(matrix.get(i)));
+        }
+
+        String finish()
+        {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+
+    private BakedGeometryCache()
+    {
+    }
+}
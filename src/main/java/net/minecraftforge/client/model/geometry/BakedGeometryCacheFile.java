@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.client.model.geometry;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads and writes the files of the {@link BakedGeometryCache}.
+ * <p>
+ * Quads are stored as their raw vertex data, referencing the sprites they use by index. Entries are written in key
+ * order, so the same entries always produce the same file.
+ */
+@ApiStatus.Internal
+public final class BakedGeometryCacheFile
+{
+    private static final int MAGIC = 0x46424743; // FBGC
+    private static final int VERSION = 1;
+
+    public record Sprite(String atlas, String texture)
+    { }
+
+    /**
+     * @param direction the ordinal of the direction of the quad
+     * @param cullFace  the ordinal of the face the quad is culled by, or -1 if it is never culled
+     * @param sprite    the index of the sprite of the quad in its entry
+     */
+    public record Quad(int[] vertices, int tintIndex, int direction, int cullFace, boolean shade, int sprite)
+    { }
+
+    public record Entry(List<Sprite> sprites, List<Quad> quads)
+    { }
+
+    /**
+     * Reads all entries from the given file, which is memory-mapped while reading.
+     *
+     * @throws IOException if the file can't be read or isn't a valid cache file
+     */
+    public static Map<String, Entry> read(Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+                throw new IOException("Not a baked geometry cache file: " + file);
+
+            int entryCount = readCount(buffer);
+            Map<String, Entry> entries = new HashMap<>();
+            for (int i = 0; i < entryCount; i++)
+            {
+                String key = readString(buffer);
+
+                int spriteCount = readCount(buffer);
+                List<Sprite> sprites = new ArrayList<>(spriteCount);
+                for (int j = 0; j < spriteCount; j++)
+                    sprites.add(new Sprite(readString(buffer), readString(buffer)));
+
+                int quadCount = readCount(buffer);
+                List<Quad> quads = new ArrayList<>(quadCount);
+                for (int j = 0; j < quadCount; j++)
+                {
+                    int tintIndex = buffer.getInt();
+                    int direction = buffer.get();
+                    int cullFace = buffer.get();
+                    boolean shade = buffer.get() != 0;
+                    int sprite = buffer.getInt();
+                    if (sprite < 0 || sprite >= spriteCount)
+                        throw new IOException("Invalid sprite index " + sprite + " in baked geometry cache file: " + file);
+                    int[] vertices = new int[readCount(buffer)];
+                    buffer.asIntBuffer().get(vertices);
+                    buffer.position(buffer.position() + vertices.length * Integer.BYTES);
+                    quads.add(new Quad(vertices, tintIndex, direction, cullFace, shade, sprite));
+                }
+
+                entries.put(key, new Entry(List.copyOf(sprites), List.copyOf(quads)));
+            }
+            return entries;
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw new IOException("Truncated baked geometry cache file: " + file, e);
+        }
+    }
+
+    /**
+     * Writes the given entries to the given file, replacing it if it exists.
+     */
+    public static void write(Path file, Map<String, Entry> entries) throws IOException
+    {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (var entry : new TreeMap<>(entries).entrySet())
+            {
+                writeString(out, entry.getKey());
+
+                List<Sprite> sprites = entry.getValue().sprites();
+                out.writeInt(sprites.size());
+                for (Sprite sprite : sprites)
+                {
+                    writeString(out, sprite.atlas());
+                    writeString(out, sprite.texture());
+                }
+
+                List<Quad> quads = entry.getValue().quads();
+                out.writeInt(quads.size());
+                for (Quad quad : quads)
+                {
+                    out.writeInt(quad.tintIndex());
+                    out.writeByte(quad.direction());
+                    out.writeByte(quad.cullFace());
+                    out.writeBoolean(quad.shade());
+                    out.writeInt(quad.sprite());
+                    out.writeInt(quad.vertices().length);
+                    for (int vertex : quad.vertices())
+                        out.writeInt(vertex);
+                }
+            }
+        }
+    }
+
+    // Counts are checked against the remaining bytes, so a corrupt file can't make us allocate huge arrays
+    private static int readCount(ByteBuffer buffer) throws IOException
+    {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining())
+            throw new IOException("Invalid count " + count + " in baked geometry cache file");
+        return count;
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException
+    {
+        byte[] bytes = new byte[readCount(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException
+    {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private BakedGeometryCacheFile()
+    {
+    }
+}
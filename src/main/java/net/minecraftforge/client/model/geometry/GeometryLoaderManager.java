@@ -53,6 +53,7 @@ public final class GeometryLoaderManager
         ModLoader.get().postEventWithWrapInModOrder(event, (mc, e) -> ModLoadingContext.get().setActiveContainer(mc), (mc, e) -> ModLoadingContext.get().setActiveContainer(null));
         LOADERS = ImmutableMap.copyOf(loaders);
         LOADER_LIST = loaders.keySet().stream().map(ResourceLocation::toString).collect(Collectors.joining(", "));
+        BakedGeometryCache.begin(LOADERS);
     }
 
     private GeometryLoaderManager()
@@ -25,6 +25,9 @@ import java.util.function.Function;
 /**
  * Base class for implementations of {@link IUnbakedGeometry} which do not wish to handle model creation themselves,
  * instead supplying {@linkplain BakedQuad baked quads} through a builder.
+ * <p>
+ * Geometries which opt in with {@link #isCacheable()} may have their quads kept in the {@link BakedGeometryCache} and
+ * reused on the next launch without calling {@link #addQuads}.
  */
 public abstract class SimpleUnbakedGeometry<T extends SimpleUnbakedGeometry<T>> implements IUnbakedGeometry<T>
 {
@@ -38,11 +41,35 @@ public abstract class SimpleUnbakedGeometry<T extends SimpleUnbakedGeometry<T>>
         IModelBuilder<?> builder = IModelBuilder.of(context.useAmbientOcclusion(), context.useBlockLight(), context.isGui3d(),
                 context.getTransforms(), overrides, particle, renderTypes);
 
-        addQuads(context, builder, bakery, spriteGetter, modelState, modelLocation);
+        if (isCacheable())
+            BakedGeometryCache.addQuads(this, getResourceHash(), context, builder, bakery, spriteGetter, modelState, modelLocation,
+                    quadBuilder -> addQuads(context, quadBuilder, bakery, spriteGetter, modelState, modelLocation));
+        else
+            addQuads(context, builder, bakery, spriteGetter, modelState, modelLocation);
 
         return builder.build();
     }
 
+    /**
+     * {@return whether the quads of this geometry may be kept in the {@link BakedGeometryCache}}
+     * <p>
+     * The quads are cached under the JSON the geometry was read from, the arguments of {@link #addQuads}, the atlas
+     * positions of its {@linkplain #getMaterials materials} and {@link #getResourceHash()}. Only return true if the quads
+     * depend on nothing else.
+     */
+    protected boolean isCacheable()
+    {
+        return false;
+    }
+
+    /**
+     * {@return a hash of the contents of any other resources this geometry was read from, such as model files}
+     */
+    protected String getResourceHash()
+    {
+        return "";
+    }
+
     protected abstract void addQuads(IGeometryBakingContext owner, IModelBuilder<?> modelBuilder, ModelBakery bakery, Function<Material, TextureAtlasSprite> spriteGetter, ModelState modelTransform, ResourceLocation modelLocation);
 
     @Override
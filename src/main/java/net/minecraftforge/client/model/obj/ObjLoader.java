@@ -6,7 +6,6 @@
 package net.minecraftforge.client.model.obj;
 
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
@@ -16,34 +15,77 @@ import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
 import net.minecraft.util.GsonHelper;
+import net.minecraft.util.profiling.ProfilerFiller;
 import net.minecraftforge.client.model.geometry.IGeometryLoader;
 
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 /**
  * A loader for {@link ObjModel OBJ models}.
  * <p>
  * Allows the user to enable automatic face culling, toggle quad shading, flip UVs, render emissively and specify a
  * {@link ObjMaterialLibrary material library} override.
+ * <p>
+ * On resource reload, all OBJ models and material libraries in the {@code models} folder are parsed ahead of time on
+ * the background executor, so they are ready by the time the models referencing them are read.
  */
 public class ObjLoader implements IGeometryLoader<ObjModel>, ResourceManagerReloadListener
 {
     public static ObjLoader INSTANCE = new ObjLoader();
 
-    private final Map<ObjModel.ModelSettings, ObjModel> modelCache = Maps.newHashMap();
-    private final Map<ResourceLocation, ObjMaterialLibrary> materialCache = Maps.newHashMap();
+    private final Map<ObjModel.ModelSettings, ObjModel> modelCache = new ConcurrentHashMap<>();
+    private final Map<ResourceLocation, ObjMaterialLibrary> materialCache = new ConcurrentHashMap<>();
+    // Models parsed during the reload without a material library override, completing with null if they failed to load
+    private final Map<ResourceLocation, CompletableFuture<ObjModel>> prefetchedModels = new ConcurrentHashMap<>();
 
-    private ResourceManager manager = Minecraft.getInstance().getResourceManager();
+    private volatile ResourceManager manager = Minecraft.getInstance().getResourceManager();
+
+    @Override
+    public CompletableFuture<Void> reload(PreparationBarrier barrier, ResourceManager resourceManager, ProfilerFiller preparationsProfiler, ProfilerFiller reloadProfiler, Executor backgroundExecutor, Executor gameExecutor)
+    {
+        // Models are read while other listeners prepare, so the caches need to be reset before that rather than after
+        onResourceManagerReload(resourceManager);
+        return CompletableFuture.supplyAsync(() -> prefetch(resourceManager, backgroundExecutor), backgroundExecutor)
+                                .thenCompose(Function.identity())
+                                .thenCompose(barrier::wait);
+    }
 
     @Override
     public void onResourceManagerReload(ResourceManager resourceManager)
     {
         modelCache.clear();
         materialCache.clear();
+        prefetchedModels.clear();
         manager = resourceManager;
     }
 
+    private CompletableFuture<Void> prefetch(ResourceManager resourceManager, Executor executor)
+    {
+        List<CompletableFuture<?>> tasks = new ArrayList<>();
+        for (ResourceLocation location : resourceManager.listResources("models", file -> file.getPath().endsWith(".mtl")).keySet())
+        {
+            tasks.add(CompletableFuture.runAsync(() -> loadMaterialLibrary(location), executor)
+                                       .exceptionally(e -> null));
+        }
+        for (ResourceLocation location : resourceManager.listResources("models", file -> file.getPath().endsWith(".obj")).keySet())
+        {
+            // Errors are reported when the model is actually used, by loading it again
+            var settings = new ObjModel.ModelSettings(location, true, true, false, true, null);
+            var model = CompletableFuture.supplyAsync(() -> parseModel(settings, Map.of()), executor)
+                                         .exceptionally(e -> null);
+            prefetchedModels.put(location, model);
+            tasks.add(model);
+        }
+        return CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new));
+    }
+
     @Override
     public ObjModel read(JsonObject jsonObject, JsonDeserializationContext deserializationContext)
     {
@@ -97,20 +139,29 @@ public class ObjLoader implements IGeometryLoader<ObjModel>, ResourceManagerRelo
     private ObjModel loadModel(ObjModel.ModelSettings settings, Map<String, String> deprecationWarnings)
     {
         return modelCache.computeIfAbsent(settings, (data) -> {
-            Resource resource = manager.getResource(settings.modelLocation()).orElseThrow();
-            try (ObjTokenizer tokenizer = new ObjTokenizer(resource.open()))
-            {
-                return ObjModel.parse(tokenizer, settings, deprecationWarnings);
-            } catch (FileNotFoundException e)
-            {
-                throw new RuntimeException("Could not find OBJ model", e);
-            } catch (Exception e)
-            {
-                throw new RuntimeException("Could not read OBJ model", e);
-            }
+            var prefetched = settings.mtlOverride() == null ? prefetchedModels.get(settings.modelLocation()) : null;
+            ObjModel model = prefetched != null ? prefetched.join() : null;
+            if (model != null)
+                return model.withSettings(settings, deprecationWarnings);
+            return parseModel(settings, deprecationWarnings);
         });
     }
 
+    private ObjModel parseModel(ObjModel.ModelSettings settings, Map<String, String> deprecationWarnings)
+    {
+        Resource resource = manager.getResource(settings.modelLocation()).orElseThrow();
+        try (ObjTokenizer tokenizer = new ObjTokenizer(resource.open()))
+        {
+            return ObjModel.parse(tokenizer, settings, deprecationWarnings);
+        } catch (FileNotFoundException e)
+        {
+            throw new RuntimeException("Could not find OBJ model", e);
+        } catch (Exception e)
+        {
+            throw new RuntimeException("Could not read OBJ model", e);
+        }
+    }
+
     public ObjMaterialLibrary loadMaterialLibrary(ResourceLocation materialLocation)
     {
         return materialCache.computeIfAbsent(materialLocation, (location) -> {
@@ -21,13 +21,17 @@ public class ObjMaterialLibrary
 {
     public static final ObjMaterialLibrary EMPTY = new ObjMaterialLibrary();
     final Map<String, Material> materials = Maps.newHashMap();
+    // The hash of the file this library was read from, see ObjModel#getResourceHash
+    final String contentHash;
 
     private ObjMaterialLibrary()
     {
+        contentHash = "";
     }
 
     public ObjMaterialLibrary(ObjTokenizer reader) throws IOException
     {
+        contentHash = reader.hashContents().toString();
         Material currentMaterial = null;
 
         String[] line;
@@ -11,10 +11,12 @@ import com.google.common.collect.Sets;
 import com.mojang.math.Transformation;
 import com.mojang.math.Vector3f;
 import com.mojang.math.Vector4f;
-import joptsimple.internal.Strings;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
 import net.minecraft.client.renderer.LightTexture;
 import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.block.model.ItemOverrides;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.resources.model.BakedModel;
 import net.minecraft.client.resources.model.Material;
 import net.minecraft.client.resources.model.ModelBakery;
 import net.minecraft.client.resources.model.ModelState;
@@ -38,7 +40,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -46,6 +47,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.StringJoiner;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -67,15 +69,18 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
             new Vec2(1, 1),
             new Vec2(1, 0),
     };
+    // Meshes with at least this many faces are baked on multiple threads
+    private static final int PARALLEL_BAKE_THRESHOLD = 512;
 
     private final Map<String, ModelGroup> parts = Maps.newHashMap();
     private final Set<String> rootComponentNames = Collections.unmodifiableSet(parts.keySet());
     private Set<String> allComponentNames;
 
-    private final List<Vector3f> positions = Lists.newArrayList();
-    private final List<Vec2> texCoords = Lists.newArrayList();
-    private final List<Vector3f> normals = Lists.newArrayList();
-    private final List<Vector4f> colors = Lists.newArrayList();
+    // Vertex data is stored flat, with 3 floats per position, 2 per texture coordinate, 3 per normal and 4 per color
+    private final FloatArrayList positions;
+    private final FloatArrayList texCoords;
+    private final FloatArrayList normals;
+    private final FloatArrayList colors;
 
     public final boolean automaticCulling;
     public final boolean shadeQuads;
@@ -87,9 +92,20 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
     public final ResourceLocation modelLocation;
 
     private final Map<String, String> deprecationWarnings;
+    // The hashes of the OBJ file and the material libraries it uses, in the order they were read
+    private String resourceHash = "";
 
     private ObjModel(ModelSettings settings, Map<String, String> deprecationWarnings)
     {
+        this(settings, deprecationWarnings, new FloatArrayList(), new FloatArrayList(), new FloatArrayList(), new FloatArrayList());
+    }
+
+    private ObjModel(ModelSettings settings, Map<String, String> deprecationWarnings, FloatArrayList positions, FloatArrayList texCoords, FloatArrayList normals, FloatArrayList colors)
+    {
+        this.positions = positions;
+        this.texCoords = texCoords;
+        this.normals = normals;
+        this.colors = colors;
         this.modelLocation = settings.modelLocation;
         this.automaticCulling = settings.automaticCulling;
         this.shadeQuads = settings.shadeQuads;
@@ -99,6 +115,19 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
         this.deprecationWarnings = deprecationWarnings;
     }
 
+    /**
+     * Creates a copy of this model with different settings, sharing its vertex data and faces.
+     * The settings must have the same model location and material library override as this model.
+     */
+    ObjModel withSettings(ModelSettings settings, Map<String, String> deprecationWarnings)
+    {
+        var model = new ObjModel(settings, deprecationWarnings, positions, texCoords, normals, colors);
+        model.resourceHash = resourceHash;
+        for (var entry : parts.entrySet())
+            model.parts.put(entry.getKey(), entry.getValue().copyTo(model));
+        return model;
+    }
+
     public static ObjModel parse(ObjTokenizer tokenizer, ModelSettings settings) throws IOException
     {
         return parse(tokenizer, settings, Map.of());
@@ -119,6 +148,9 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
         else
             modelPath = "";
 
+        var resourceHashes = new StringJoiner(",");
+        resourceHashes.add(tokenizer.hashContents().toString());
+
         ObjMaterialLibrary mtllib = ObjMaterialLibrary.EMPTY;
         ObjMaterialLibrary.Material currentMat = null;
         String currentSmoothingGroup = null;
@@ -135,29 +167,34 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
                 mtllib = ObjLoader.INSTANCE.loadMaterialLibrary(new ResourceLocation(lib));
             else
                 mtllib = ObjLoader.INSTANCE.loadMaterialLibrary(new ResourceLocation(modelDomain, modelPath + lib));
+            resourceHashes.add(mtllib.contentHash);
         }
 
-        String[] line;
-        while ((line = tokenizer.readAndSplitLine(true)) != null)
+        while (tokenizer.readLine())
         {
-            switch (line[0])
+            int tokenCount = tokenizer.getTokenCount();
+            if (tokenCount == 0)
+                continue;
+
+            switch (tokenizer.getToken(0))
             {
                 case "mtllib": // Loads material library
                 {
                     if (materialLibraryOverrideLocation != null)
                         break;
 
-                    String lib = line[1];
+                    String lib = tokenizer.getToken(1);
                     if (lib.contains(":"))
                         mtllib = ObjLoader.INSTANCE.loadMaterialLibrary(new ResourceLocation(lib));
                     else
                         mtllib = ObjLoader.INSTANCE.loadMaterialLibrary(new ResourceLocation(modelDomain, modelPath + lib));
+                    resourceHashes.add(mtllib.contentHash);
                     break;
                 }
 
                 case "usemtl": // Sets the current material (starts new mesh)
                 {
-                    String mat = Strings.join(Arrays.copyOfRange(line, 1, line.length), " ");
+                    String mat = tokenizer.getTokensFrom(1);
                     ObjMaterialLibrary.Material newMat = mtllib.getMaterial(mat);
                     if (!Objects.equals(newMat, currentMat))
                     {
@@ -176,16 +213,27 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
                 }
 
                 case "v": // Vertex
-                    model.positions.add(parseVector4To3(line));
+                {
+                    float w = parseComponent(tokenizer, 4, 1);
+                    model.positions.add(parseComponent(tokenizer, 1, 0) / w);
+                    model.positions.add(parseComponent(tokenizer, 2, 0) / w);
+                    model.positions.add(parseComponent(tokenizer, 3, 0) / w);
                     break;
+                }
                 case "vt": // Vertex texcoord
-                    model.texCoords.add(parseVector2(line));
+                    model.texCoords.add(parseComponent(tokenizer, 1, 0));
+                    model.texCoords.add(parseComponent(tokenizer, 2, 0));
                     break;
                 case "vn": // Vertex normal
-                    model.normals.add(parseVector3(line));
+                    model.normals.add(parseComponent(tokenizer, 1, 0));
+                    model.normals.add(parseComponent(tokenizer, 2, 0));
+                    model.normals.add(parseComponent(tokenizer, 3, 0));
                     break;
                 case "vc": // Vertex color (non-standard)
-                    model.colors.add(parseVector4(line));
+                    model.colors.add(parseComponent(tokenizer, 1, 0));
+                    model.colors.add(parseComponent(tokenizer, 2, 0));
+                    model.colors.add(parseComponent(tokenizer, 3, 0));
+                    model.colors.add(parseComponent(tokenizer, 4, 1));
                     break;
 
                 case "f": // Face
@@ -208,25 +256,23 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
                         }
                     }
 
-                    int[][] vertices = new int[line.length - 1][];
+                    int[][] vertices = new int[tokenCount - 1][];
                     for (int i = 0; i < vertices.length; i++)
                     {
-                        String vertexData = line[i + 1];
-                        String[] vertexParts = vertexData.split("/");
-                        int[] vertex = Arrays.stream(vertexParts).mapToInt(num -> Strings.isNullOrEmpty(num) ? 0 : Integer.parseInt(num)).toArray();
-                        if (vertex[0] < 0) vertex[0] = model.positions.size() + vertex[0];
+                        int[] vertex = tokenizer.getIndices(i + 1);
+                        if (vertex[0] < 0) vertex[0] = model.positions.size() / 3 + vertex[0];
                         else vertex[0]--;
                         if (vertex.length > 1)
                         {
-                            if (vertex[1] < 0) vertex[1] = model.texCoords.size() + vertex[1];
+                            if (vertex[1] < 0) vertex[1] = model.texCoords.size() / 2 + vertex[1];
                             else vertex[1]--;
                             if (vertex.length > 2)
                             {
-                                if (vertex[2] < 0) vertex[2] = model.normals.size() + vertex[2];
+                                if (vertex[2] < 0) vertex[2] = model.normals.size() / 3 + vertex[2];
                                 else vertex[2]--;
                                 if (vertex.length > 3)
                                 {
-                                    if (vertex[3] < 0) vertex[3] = model.colors.size() + vertex[3];
+                                    if (vertex[3] < 0) vertex[3] = model.colors.size() / 4 + vertex[3];
                                     else vertex[3]--;
                                 }
                             }
@@ -241,7 +287,9 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
 
                 case "s": // Smoothing group (starts new mesh)
                 {
-                    String smoothingGroup = "off".equals(line[1]) ? null : line[1];
+                    String smoothingGroup = tokenizer.getToken(1);
+                    if ("off".equals(smoothingGroup))
+                        smoothingGroup = null;
                     if (!Objects.equals(currentSmoothingGroup, smoothingGroup))
                     {
                         currentSmoothingGroup = smoothingGroup;
@@ -260,7 +308,7 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
 
                 case "g":
                 {
-                    String name = line[1];
+                    String name = tokenizer.getToken(1);
                     if (objAboveGroup)
                     {
                         currentObject = model.new ModelObject(currentGroup.name() + "/" + name);
@@ -279,7 +327,7 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
 
                 case "o":
                 {
-                    String name = line[1];
+                    String name = tokenizer.getToken(1);
                     if (objAboveGroup || currentGroup == null)
                     {
                         objAboveGroup = true;
@@ -299,38 +347,13 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
                 }
             }
         }
+        model.resourceHash = resourceHashes.toString();
         return model;
     }
 
-    private static Vector3f parseVector4To3(String[] line)
-    {
-        Vector4f vec4 = parseVector4(line);
-        return new Vector3f(
-                vec4.x() / vec4.w(),
-                vec4.y() / vec4.w(),
-                vec4.z() / vec4.w()
-        );
-    }
-
-    private static Vec2 parseVector2(String[] line)
-    {
-        return switch (line.length)
-        {
-            case 1 -> new Vec2(0, 0);
-            case 2 -> new Vec2(Float.parseFloat(line[1]), 0);
-            default -> new Vec2(Float.parseFloat(line[1]), Float.parseFloat(line[2]));
-        };
-    }
-
-    private static Vector3f parseVector3(String[] line)
+    private static float parseComponent(ObjTokenizer tokenizer, int index, float defaultValue)
     {
-        return switch (line.length)
-        {
-            case 1 -> new Vector3f(0, 0, 0);
-            case 2 -> new Vector3f(Float.parseFloat(line[1]), 0, 0);
-            case 3 -> new Vector3f(Float.parseFloat(line[1]), Float.parseFloat(line[2]), 0);
-            default -> new Vector3f(Float.parseFloat(line[1]), Float.parseFloat(line[2]), Float.parseFloat(line[3]));
-        };
+        return index < tokenizer.getTokenCount() ? tokenizer.getFloat(index) : defaultValue;
     }
 
     static Vector4f parseVector4(String[] line)
@@ -346,11 +369,30 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
     }
 
     @Override
-    protected void addQuads(IGeometryBakingContext owner, IModelBuilder<?> modelBuilder, ModelBakery bakery, Function<Material, TextureAtlasSprite> spriteGetter, ModelState modelTransform, ResourceLocation modelLocation)
+    public BakedModel bake(IGeometryBakingContext context, ModelBakery bakery, Function<Material, TextureAtlasSprite> spriteGetter, ModelState modelState, ItemOverrides overrides, ResourceLocation modelLocation)
     {
+        // Warned here rather than in addQuads, which is skipped when the quads are cached
         for (var entry : deprecationWarnings.entrySet())
             LOGGER.warn("Model \"" + modelLocation + "\" is using the deprecated \"" + entry.getKey() + "\" field in its OBJ model instead of \"" + entry.getValue() + "\". This field will be removed in 1.20.");
 
+        return super.bake(context, bakery, spriteGetter, modelState, overrides, modelLocation);
+    }
+
+    @Override
+    protected boolean isCacheable()
+    {
+        return true;
+    }
+
+    @Override
+    protected String getResourceHash()
+    {
+        return resourceHash;
+    }
+
+    @Override
+    protected void addQuads(IGeometryBakingContext owner, IModelBuilder<?> modelBuilder, ModelBakery bakery, Function<Material, TextureAtlasSprite> spriteGetter, ModelState modelTransform, ResourceLocation modelLocation)
+    {
         parts.values().stream().filter(part -> owner.isComponentVisible(part.name(), true))
              .forEach(part -> part.addQuads(owner, modelBuilder, bakery, spriteGetter, modelTransform, modelLocation));
     }
@@ -390,12 +432,10 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
         Vector3f faceNormal = new Vector3f(0, 0, 0);
         if (needsNormalRecalculation)
         {
-            Vector3f a = positions.get(indices[0][0]);
-            Vector3f ab = positions.get(indices[1][0]);
-            Vector3f ac = positions.get(indices[2][0]);
-            Vector3f abs = ab.copy();
+            Vector3f a = getPosition(indices[0][0]);
+            Vector3f abs = getPosition(indices[1][0]);
             abs.sub(a);
-            Vector3f acs = ac.copy();
+            Vector3f acs = getPosition(indices[2][0]);
             acs.sub(a);
             abs.cross(acs);
             abs.normalize();
@@ -430,14 +470,15 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
         for (int i = 0; i < 4; i++)
         {
             int[] index = indices[Math.min(i, indices.length - 1)];
-            Vector4f position = new Vector4f(positions.get(index[0]));
-            Vec2 texCoord = index.length >= 2 && texCoords.size() > 0 ? texCoords.get(index[1]) : DEFAULT_COORDS[i];
-            Vector3f norm0 = !needsNormalRecalculation && index.length >= 3 && normals.size() > 0 ? normals.get(index[2]) : faceNormal;
-            Vector3f normal = norm0;
-            Vector4f color = index.length >= 4 && colors.size() > 0 ? colors.get(index[3]) : COLOR_WHITE;
+            Vector4f position = new Vector4f(getPosition(index[0]));
+            Vec2 texCoord = index.length >= 2 && texCoords.size() > 0 ? getTexCoord(index[1]) : DEFAULT_COORDS[i];
+            boolean hasNormal = !needsNormalRecalculation && index.length >= 3 && normals.size() > 0;
+            Vector3f normal = hasNormal ? getNormal(index[2]) : faceNormal;
+            Vector4f color = index.length >= 4 && colors.size() > 0 ? getColor(index[3]) : COLOR_WHITE;
             if (hasTransform)
             {
-                normal = norm0.copy();
+                if (!hasNormal)
+                    normal = normal.copy();
                 transformation.transformPosition(position);
                 transformation.transformNormal(normal);
             }
@@ -519,6 +560,26 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
         return Pair.of(quad[0], cull);
     }
 
+    private Vector3f getPosition(int index)
+    {
+        return new Vector3f(positions.getFloat(index * 3), positions.getFloat(index * 3 + 1), positions.getFloat(index * 3 + 2));
+    }
+
+    private Vec2 getTexCoord(int index)
+    {
+        return new Vec2(texCoords.getFloat(index * 2), texCoords.getFloat(index * 2 + 1));
+    }
+
+    private Vector3f getNormal(int index)
+    {
+        return new Vector3f(normals.getFloat(index * 3), normals.getFloat(index * 3 + 1), normals.getFloat(index * 3 + 2));
+    }
+
+    private Vector4f getColor(int index)
+    {
+        return new Vector4f(colors.getFloat(index * 4), colors.getFloat(index * 4 + 1), colors.getFloat(index * 4 + 2), colors.getFloat(index * 4 + 3));
+    }
+
     public CompositeRenderable bakeRenderable(IGeometryBakingContext configuration)
     {
         var builder = CompositeRenderable.builder();
@@ -578,6 +639,23 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
         {
             names.add(name());
         }
+
+        ModelObject copyTo(ObjModel model)
+        {
+            ModelObject copy = model.new ModelObject(name);
+            copyMeshesTo(model, copy);
+            return copy;
+        }
+
+        protected void copyMeshesTo(ObjModel model, ModelObject copy)
+        {
+            for (ModelMesh mesh : meshes)
+            {
+                ModelMesh meshCopy = model.new ModelMesh(mesh.mat, mesh.smoothingGroup);
+                meshCopy.faces.addAll(mesh.faces);
+                copy.meshes.add(meshCopy);
+            }
+        }
     }
 
     public class ModelGroup extends ModelObject
@@ -628,6 +706,16 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
             for (ModelObject object : parts.values())
                 object.addNamesRecursively(names);
         }
+
+        @Override
+        ModelGroup copyTo(ObjModel model)
+        {
+            ModelGroup copy = model.new ModelGroup(name);
+            copyMeshesTo(model, copy);
+            for (var entry : parts.entrySet())
+                copy.parts.put(entry.getKey(), entry.getValue().copyTo(model));
+            return copy;
+        }
     }
 
     private class ModelMesh
@@ -651,10 +739,11 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
             TextureAtlasSprite texture = spriteGetter.apply(UnbakedGeometryHelper.resolveDirtyMaterial(mat.diffuseColorMap, owner));
             int tintIndex = mat.diffuseTintIndex;
             Vector4f colorTint = mat.diffuseColor;
+            Vector4f ambientColor = mat.ambientColor;
+            Transformation transform = modelTransform.getRotation();
 
-            for (int[][] face : faces)
+            for (Pair<BakedQuad, Direction> quad : makeQuads(face -> makeQuad(face, tintIndex, colorTint, ambientColor, texture, transform)))
             {
-                Pair<BakedQuad, Direction> quad = makeQuad(face, tintIndex, colorTint, mat.ambientColor, texture, modelTransform.getRotation());
                 if (quad.getRight() == null)
                     modelBuilder.addUnculledFace(quad.getLeft());
                 else
@@ -672,9 +761,8 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
 
             final List<BakedQuad> quads = new ArrayList<>();
 
-            for (var face : this.faces)
+            for (var pair : makeQuads(face -> makeQuad(face, tintIndex, colorTint, mat.ambientColor, UnitTextureAtlasSprite.INSTANCE, Transformation.identity())))
             {
-                var pair = makeQuad(face, tintIndex, colorTint, mat.ambientColor, UnitTextureAtlasSprite.INSTANCE, Transformation.identity());
                 quads.add(pair.getLeft());
             }
 
@@ -683,6 +771,16 @@ public class ObjModel extends SimpleUnbakedGeometry<ObjModel>
 
             builder.addMesh(texturePath, quads);
         }
+
+        /**
+         * Makes the quads for all faces of this mesh, in the order of the faces.
+         * Large meshes are split across threads, which doesn't affect the result.
+         */
+        private List<Pair<BakedQuad, Direction>> makeQuads(Function<int[][], Pair<BakedQuad, Direction>> quadMaker)
+        {
+            var faces = this.faces.size() >= PARALLEL_BAKE_THRESHOLD ? this.faces.parallelStream() : this.faces.stream();
+            return faces.map(quadMaker).toList();
+        }
     }
 
     public record ModelSettings(@NotNull ResourceLocation modelLocation,
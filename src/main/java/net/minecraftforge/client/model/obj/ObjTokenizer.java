@@ -5,30 +5,92 @@
 
 package net.minecraftforge.client.model.obj;
 
-import com.google.common.base.Charsets;
-import joptsimple.internal.Strings;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.BufferedReader;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.List;
+import java.util.Objects;
 
 /**
  * A tokenizer for OBJ and MTL files.
  * <p>
  * Joins split lines and ignores comments.
+ * <p>
+ * Works on the raw bytes of the file, which are memory-mapped when the stream reads from a file. Lines are read with
+ * {@link #readLine()}, after which their tokens can be parsed in place with {@link #getFloat(int)},
+ * {@link #getIndices(int)} and {@link #getToken(int)}, without creating a string per token.
  */
 public class ObjTokenizer implements AutoCloseable
 {
-    private final BufferedReader lineReader;
+    private static final byte[] EMPTY = new byte[0];
+    // The first token of each line is one of these most of the time, they are returned without being decoded again
+    private static final String[] KEYWORDS = {
+            "v", "vt", "vn", "vc", "f", "s", "g", "o", "usemtl", "mtllib",
+            "newmtl", "Ka", "Kd", "Ks", "Ns", "d", "Tr", "map_Ka", "map_Kd", "map_Ks", "forge_TintIndex"
+    };
+    private static final byte[][] KEYWORD_BYTES = Arrays.stream(KEYWORDS).map(s -> s.getBytes(StandardCharsets.US_ASCII)).toArray(byte[][]::new);
+    // Floats up to 2^24 are exact, as are powers of ten up to 10^10, so a single multiplication or division rounds
+    // exactly like Float.parseFloat
+    private static final long MAX_EXACT_MANTISSA = 1 << 24;
+    private static final float[] POWERS_OF_TEN = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f };
+
+    @Nullable
+    private final InputStream inputStream;
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int limit;
+    private int position;
+
+    private int tokenCount;
+    private int[] tokenStarts = new int[16];
+    private int[] tokenEnds = new int[16];
+    private byte[] scratch = EMPTY;
 
+    /**
+     * Reads the whole stream, or maps it if it reads from a file.
+     *
+     * @throws UncheckedIOException if the stream could not be read
+     */
     public ObjTokenizer(InputStream inputStream)
     {
-        this.lineReader = new BufferedReader(new InputStreamReader(inputStream, Charsets.UTF_8));
+        this.inputStream = inputStream;
+        this.buffer = read(inputStream);
+        this.start = 0;
+        this.limit = this.buffer.limit();
+    }
+
+    public ObjTokenizer(ByteBuffer buffer)
+    {
+        this.inputStream = null;
+        this.buffer = buffer;
+        this.start = buffer.position();
+        this.position = this.start;
+        this.limit = buffer.limit();
+    }
+
+    private static ByteBuffer read(InputStream inputStream)
+    {
+        try
+        {
+            if (inputStream instanceof FileInputStream fileInputStream)
+            {
+                FileChannel channel = fileInputStream.getChannel();
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            return ByteBuffer.wrap(inputStream.readAllBytes());
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Nullable
@@ -37,49 +99,330 @@ public class ObjTokenizer implements AutoCloseable
         //noinspection LoopConditionNotUpdatedInsideLoop
         do
         {
-            String currentLine = lineReader.readLine();
-            if (currentLine == null)
+            if (!readLine())
                 return null;
 
-            List<String> lineParts = new ArrayList<>();
+            if (this.tokenCount > 0)
+            {
+                String[] lineParts = new String[this.tokenCount];
+                for (int i = 0; i < lineParts.length; i++)
+                    lineParts[i] = getToken(i);
+                return lineParts;
+            }
+        }
+        while (ignoreEmptyLines);
+
+        return new String[0];
+    }
+
+    /**
+     * Reads the next line, joined with the lines it continues on.
+     * Empty lines and comments are read as lines without tokens.
+     *
+     * @return false if the end of the file was reached
+     */
+    public boolean readLine()
+    {
+        this.tokenCount = 0;
+        if (this.position >= this.limit)
+            return false;
 
-            if (currentLine.startsWith("#"))
-                currentLine = "";
+        int lineStart = this.position;
+        int lineEnd = findLineEnd(lineStart);
+        this.position = skipLineEnd(lineEnd);
+        if (this.buffer.get(lineStart) == '#')
+            return true;
 
-            if (currentLine.length() > 0)
+        boolean hasContinuation;
+        do
+        {
+            hasContinuation = lineEnd > lineStart && this.buffer.get(lineEnd - 1) == '\\';
+            tokenize(lineStart, hasContinuation ? lineEnd - 1 : lineEnd);
+
+            if (hasContinuation)
             {
+                if (this.position >= this.limit)
+                    break;
+
+                lineStart = this.position;
+                lineEnd = findLineEnd(lineStart);
+                this.position = skipLineEnd(lineEnd);
 
-                boolean hasContinuation;
-                do
+                if (lineEnd == lineStart || this.buffer.get(lineStart) == '#')
+                    break;
+            }
+        } while (hasContinuation);
+
+        return true;
+    }
+
+    /**
+     * {@return the number of tokens on the current line}
+     */
+    public int getTokenCount()
+    {
+        return this.tokenCount;
+    }
+
+    /**
+     * {@return the token at the given index on the current line}
+     */
+    public String getToken(int index)
+    {
+        Objects.checkIndex(index, this.tokenCount);
+        int start = this.tokenStarts[index];
+        int length = this.tokenEnds[index] - start;
+        if (index == 0)
+        {
+            for (int i = 0; i < KEYWORD_BYTES.length; i++)
+            {
+                if (matches(start, length, KEYWORD_BYTES[i]))
+                    return KEYWORDS[i];
+            }
+        }
+        if (this.buffer.hasArray())
+            return new String(this.buffer.array(), this.buffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+
+        if (this.scratch.length < length)
+            this.scratch = new byte[Math.max(length, 64)];
+        this.buffer.get(start, this.scratch, 0, length);
+        return new String(this.scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * {@return the tokens from the given index to the end of the current line, joined with spaces}
+     */
+    public String getTokensFrom(int index)
+    {
+        StringBuilder builder = new StringBuilder();
+        for (int i = index; i < this.tokenCount; i++)
+        {
+            if (i > index)
+                builder.append(' ');
+            builder.append(getToken(i));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Parses the token at the given index the same way as {@link Float#parseFloat(String)}.
+     */
+    public float getFloat(int index)
+    {
+        Objects.checkIndex(index, this.tokenCount);
+        int i = this.tokenStarts[index];
+        int end = this.tokenEnds[index];
+
+        boolean negative = false;
+        byte c = this.buffer.get(i);
+        if (c == '-' || c == '+')
+        {
+            negative = c == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean hasDigits = false;
+        boolean inFraction = false;
+        for (; i < end; i++)
+        {
+            c = this.buffer.get(i);
+            if (c >= '0' && c <= '9')
+            {
+                hasDigits = true;
+                if (mantissa != 0 || c != '0')
                 {
-                    hasContinuation = currentLine.endsWith("\\");
-                    String tmp = hasContinuation ? currentLine.substring(0, currentLine.length() - 1) : currentLine;
+                    if (++significantDigits > 9)
+                        return Float.parseFloat(getToken(index));
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+                if (inFraction)
+                    exponent--;
+            }
+            else if (c == '.' && !inFraction)
+            {
+                inFraction = true;
+            }
+            else
+            {
+                break;
+            }
+        }
 
-                    Arrays.stream(tmp.split("[\t ]+")).filter(s -> !Strings.isNullOrEmpty(s)).forEach(lineParts::add);
+        if (hasDigits && i < end && (c == 'e' || c == 'E'))
+        {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (this.buffer.get(i) == '-' || this.buffer.get(i) == '+'))
+                negativeExponent = this.buffer.get(i++) == '-';
+            int explicitExponent = 0;
+            int exponentDigits = 0;
+            for (; i < end && exponentDigits < 4; i++, exponentDigits++)
+            {
+                c = this.buffer.get(i);
+                if (c < '0' || c > '9')
+                    break;
+                explicitExponent = explicitExponent * 10 + (c - '0');
+            }
+            if (exponentDigits == 0)
+                return Float.parseFloat(getToken(index));
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        if (!hasDigits || i != end || mantissa > MAX_EXACT_MANTISSA || exponent < -10 || exponent > 10)
+            return Float.parseFloat(getToken(index));
 
-                    if (hasContinuation)
-                    {
-                        currentLine = lineReader.readLine();
-                        if (currentLine == null)
-                            break;
+        float value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
 
-                        if (currentLine.length() == 0 || currentLine.startsWith("#"))
-                            break;
-                    }
-                } while (hasContinuation);
+    /**
+     * Parses the token at the given index the same way as {@link Integer#parseInt(String)}.
+     */
+    public int getInt(int index)
+    {
+        Objects.checkIndex(index, this.tokenCount);
+        return parseInt(this.tokenStarts[index], this.tokenEnds[index]);
+    }
+
+    /**
+     * Parses the slash-separated indices of a face vertex, such as {@code 1/2/3} or {@code 1//3}.
+     * Missing indices are 0, and empty indices at the end are left out.
+     */
+    public int[] getIndices(int index)
+    {
+        Objects.checkIndex(index, this.tokenCount);
+        int start = this.tokenStarts[index];
+        int end = this.tokenEnds[index];
+
+        // Trailing empty parts are dropped, like String.split does
+        while (end > start && this.buffer.get(end - 1) == '/')
+            end--;
+
+        int parts = end > start ? 1 : 0;
+        for (int i = start; i < end; i++)
+        {
+            if (this.buffer.get(i) == '/')
+                parts++;
+        }
+
+        int[] indices = new int[parts];
+        int partStart = start;
+        for (int part = 0; part < parts; part++)
+        {
+            int partEnd = partStart;
+            while (partEnd < end && this.buffer.get(partEnd) != '/')
+                partEnd++;
+            indices[part] = partEnd == partStart ? 0 : parseInt(partStart, partEnd);
+            partStart = partEnd + 1;
+        }
+        return indices;
+    }
+
+    private int parseInt(int start, int end)
+    {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (this.buffer.get(i) == '-' || this.buffer.get(i) == '+'))
+            negative = this.buffer.get(i++) == '-';
+
+        // Nine digits can't overflow
+        if (i == end || end - i > 9)
+            return Integer.parseInt(decode(start, end));
+
+        int value = 0;
+        for (; i < end; i++)
+        {
+            byte c = this.buffer.get(i);
+            if (c < '0' || c > '9')
+                return Integer.parseInt(decode(start, end));
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    private String decode(int start, int end)
+    {
+        byte[] bytes = new byte[end - start];
+        this.buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean matches(int start, int length, byte[] bytes)
+    {
+        if (length != bytes.length)
+            return false;
+        for (int i = 0; i < length; i++)
+        {
+            if (this.buffer.get(start + i) != bytes[i])
+                return false;
+        }
+        return true;
+    }
+
+    private int findLineEnd(int start)
+    {
+        int i = start;
+        while (i < this.limit)
+        {
+            byte c = this.buffer.get(i);
+            if (c == '\n' || c == '\r')
+                break;
+            i++;
+        }
+        return i;
+    }
+
+    private int skipLineEnd(int lineEnd)
+    {
+        if (lineEnd >= this.limit)
+            return lineEnd;
+        if (this.buffer.get(lineEnd) == '\r' && lineEnd + 1 < this.limit && this.buffer.get(lineEnd + 1) == '\n')
+            return lineEnd + 2;
+        return lineEnd + 1;
+    }
+
+    private void tokenize(int start, int end)
+    {
+        int i = start;
+        while (i < end)
+        {
+            byte c = this.buffer.get(i);
+            if (c == ' ' || c == '\t')
+            {
+                i++;
+                continue;
             }
 
-            if (lineParts.size() > 0)
-                return lineParts.toArray(new String[0]);
+            int tokenStart = i;
+            while (i < end && (c = this.buffer.get(i)) != ' ' && c != '\t')
+                i++;
+
+            if (this.tokenCount == this.tokenStarts.length)
+            {
+                this.tokenStarts = Arrays.copyOf(this.tokenStarts, this.tokenCount * 2);
+                this.tokenEnds = Arrays.copyOf(this.tokenEnds, this.tokenCount * 2);
+            }
+            this.tokenStarts[this.tokenCount] = tokenStart;
+            this.tokenEnds[this.tokenCount] = i;
+            this.tokenCount++;
         }
-        while (ignoreEmptyLines);
+    }
 
-        return new String[0];
+    /**
+     * {@return the SHA-256 hash of the whole file}
+     */
+    public HashCode hashContents()
+    {
+        return Hashing.sha256().hashBytes(this.buffer.duplicate().limit(this.limit).position(this.start));
     }
 
     @Override
     public void close() throws IOException
     {
-        lineReader.close();
+        if (this.inputStream != null)
+            this.inputStream.close();
     }
 }
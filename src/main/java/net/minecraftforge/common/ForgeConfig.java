@@ -8,12 +8,14 @@ package net.minecraftforge.common;
 import static net.minecraftforge.fml.Logging.FORGEMOD;
 
 import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.common.capabilities.CapabilityProvider;
 import net.minecraftforge.fml.event.config.ModConfigEvent;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 
 import net.minecraftforge.common.ForgeConfigSpec.BooleanValue;
 import net.minecraftforge.common.ForgeConfigSpec.DoubleValue;
+import net.minecraftforge.common.ForgeConfigSpec.IntValue;
 import net.minecraftforge.common.ForgeConfigSpec.ConfigValue;
 
 
@@ -32,6 +34,10 @@ public class ForgeConfig {
 
         public final ConfigValue<String> permissionHandler;
 
+        public final IntValue pregenChunksInFlight;
+
+        public final BooleanValue compressStatusPing;
+
         Server(ForgeConfigSpec.Builder builder) {
             builder.comment("Server configuration settings")
                    .push("server");
@@ -75,6 +81,16 @@ public class ForgeConfig {
                     .translation("forge.configgui.permissionHandler")
                     .define("permissionHandler", "forge:default_handler");
 
+            pregenChunksInFlight = builder
+                    .comment("The number of chunks /forge generate keeps loading or generating at the same time. Higher values generate faster on machines with more cores, at the cost of memory and tick time.")
+                    .translation("forge.configgui.pregenChunksInFlight")
+                    .defineInRange("pregenChunksInFlight", 32, 1, 1024);
+
+            compressStatusPing = builder
+                    .comment("Set this to true to compress the mod list sent to the server list, which makes ping responses of large modpacks much smaller. Clients older than this option can not display the mod list of the server anymore.")
+                    .translation("forge.configgui.compressStatusPing")
+                    .define("compressStatusPing", false);
+
             builder.pop();
         }
     }
@@ -86,6 +102,7 @@ public class ForgeConfig {
         public final BooleanValue cachePackAccess;
         public final BooleanValue indexVanillaPackCachesOnThread;
         public final BooleanValue indexModPackCachesOnThread;
+        public final BooleanValue memoizeEmptyItemCapabilities;
 
         Common(ForgeConfigSpec.Builder builder) {
             builder.comment("General configuration settings")
@@ -109,6 +126,11 @@ public class ForgeConfig {
                     .worldRestart()
                     .define("indexModPackCachesOnThread", false);
 
+            memoizeEmptyItemCapabilities = builder
+                    .comment("Set this to true to stop firing AttachCapabilitiesEvent for stacks of items that had no capabilities attached the first time.",
+                            "Only safe when no mod decides what to attach based on stack data other than the item.")
+                    .translation("forge.configgui.memoizeEmptyItemCapabilities")
+                    .define("memoizeEmptyItemCapabilities", false);
 
             builder.pop();
         }
@@ -189,6 +211,13 @@ public class ForgeConfig {
         SERVER = specPair.getLeft();
     }
 
+    /**
+     * {@return whether the common config has been loaded yet, its values can't be read before}
+     */
+    public static boolean isCommonLoaded() {
+        return commonSpec.isLoaded();
+    }
+
     @SubscribeEvent
     public static void onLoad(final ModConfigEvent.Loading configEvent) {
         LogManager.getLogger().debug(FORGEMOD, "Loaded forge config file {}", configEvent.getConfig().getFileName());
@@ -197,6 +226,7 @@ public class ForgeConfig {
     @SubscribeEvent
     public static void onFileChange(final ModConfigEvent.Reloading configEvent) {
         LogManager.getLogger().debug(FORGEMOD, "Forge config just got changed on the file system!");
+        CapabilityProvider.clearItemsWithoutCapabilities();
     }
 
     //General
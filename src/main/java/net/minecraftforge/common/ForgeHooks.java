@@ -111,6 +111,7 @@ import net.minecraftforge.event.ItemAttributeModifierEvent;
 import net.minecraftforge.event.ServerChatEvent;
 import net.minecraftforge.event.RegisterStructureConversionsEvent;
 import net.minecraftforge.event.VanillaGameEvent;
+import net.minecraftforge.event.EventListenerPresence;
 import net.minecraftforge.event.entity.EntityAttributeCreationEvent;
 import net.minecraftforge.event.entity.EntityAttributeModificationEvent;
 import net.minecraftforge.event.entity.EntityEvent;
@@ -144,6 +145,7 @@ import net.minecraftforge.fluids.FluidType;
 import net.minecraftforge.fml.ModContainer;
 import net.minecraftforge.fml.ModList;
 import net.minecraftforge.fml.ModLoader;
+import net.minecraftforge.network.NearbyPlayerIndex;
 import net.minecraftforge.resource.ResourcePackLoader;
 import net.minecraftforge.registries.ForgeRegistries;
 import net.minecraftforge.registries.ForgeRegistry;
@@ -151,6 +153,7 @@ import net.minecraftforge.registries.GameData;
 import net.minecraftforge.registries.RegistryManager;
 import net.minecraftforge.registries.holdersets.ICustomHolderSet;
 import net.minecraftforge.server.permission.PermissionAPI;
+import net.minecraftforge.server.timings.EventTimings;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -257,66 +260,86 @@ public class ForgeHooks
 
     public static void onDifficultyChange(Difficulty difficulty, Difficulty oldDifficulty)
     {
-        MinecraftForge.EVENT_BUS.post(new DifficultyChangeEvent(difficulty, oldDifficulty));
+        EventTimings.post(new DifficultyChangeEvent(difficulty, oldDifficulty));
     }
 
+    // Hooks below are called for every living entity on every tick, or close to it.
+    // When nothing listens, skip creating and posting the event entirely.
+    private static final EventListenerPresence LIVING_SET_ATTACK_TARGET = EventListenerPresence.of(LivingSetAttackTargetEvent.class);
+    private static final EventListenerPresence LIVING_TICK = EventListenerPresence.of(LivingTickEvent.class);
+    private static final EventListenerPresence LIVING_ATTACK = EventListenerPresence.of(LivingAttackEvent.class);
+    private static final EventListenerPresence LIVING_HURT = EventListenerPresence.of(LivingHurtEvent.class);
+    private static final EventListenerPresence LIVING_DAMAGE = EventListenerPresence.of(LivingDamageEvent.class);
+    private static final EventListenerPresence LIVING_FALL = EventListenerPresence.of(LivingFallEvent.class);
+    private static final EventListenerPresence LOOTING_LEVEL = EventListenerPresence.of(LootingLevelEvent.class);
+    private static final EventListenerPresence LIVING_VISIBILITY = EventListenerPresence.of(LivingEvent.LivingVisibilityEvent.class);
+    private static final EventListenerPresence LIVING_JUMP = EventListenerPresence.of(LivingJumpEvent.class);
+    private static final EventListenerPresence ENTERING_SECTION = EventListenerPresence.of(EntityEvent.EnteringSection.class);
+
     //Optifine Helper Functions u.u, these are here specifically for Optifine
     //Note: When using Optifine, these methods are invoked using reflection, which
     //incurs a major performance penalty.
     public static void onLivingSetAttackTarget(LivingEntity entity, LivingEntity target)
     {
-        MinecraftForge.EVENT_BUS.post(new LivingSetAttackTargetEvent(entity, target));
+        if (LIVING_SET_ATTACK_TARGET.hasListeners())
+            EventTimings.post(new LivingSetAttackTargetEvent(entity, target));
     }
 
     public static boolean onLivingTick(LivingEntity entity)
     {
-        return MinecraftForge.EVENT_BUS.post(new LivingTickEvent(entity));
+        return LIVING_TICK.hasListeners() && EventTimings.post(new LivingTickEvent(entity));
     }
 
     public static boolean onLivingAttack(LivingEntity entity, DamageSource src, float amount)
     {
-        return entity instanceof Player || !MinecraftForge.EVENT_BUS.post(new LivingAttackEvent(entity, src, amount));
+        return entity instanceof Player || !LIVING_ATTACK.hasListeners() || !EventTimings.post(new LivingAttackEvent(entity, src, amount));
     }
 
     public static boolean onPlayerAttack(LivingEntity entity, DamageSource src, float amount)
     {
-        return !MinecraftForge.EVENT_BUS.post(new LivingAttackEvent(entity, src, amount));
+        return !LIVING_ATTACK.hasListeners() || !EventTimings.post(new LivingAttackEvent(entity, src, amount));
     }
 
     public static LivingKnockBackEvent onLivingKnockBack(LivingEntity target, float strength, double ratioX, double ratioZ)
     {
         LivingKnockBackEvent event = new LivingKnockBackEvent(target, strength, ratioX, ratioZ);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event;
     }
 
     public static float onLivingHurt(LivingEntity entity, DamageSource src, float amount)
     {
+        if (!LIVING_HURT.hasListeners())
+            return amount;
         LivingHurtEvent event = new LivingHurtEvent(entity, src, amount);
-        return (MinecraftForge.EVENT_BUS.post(event) ? 0 : event.getAmount());
+        return (EventTimings.post(event) ? 0 : event.getAmount());
     }
 
     public static float onLivingDamage(LivingEntity entity, DamageSource src, float amount)
     {
+        if (!LIVING_DAMAGE.hasListeners())
+            return amount;
         LivingDamageEvent event = new LivingDamageEvent(entity, src, amount);
-        return (MinecraftForge.EVENT_BUS.post(event) ? 0 : event.getAmount());
+        return (EventTimings.post(event) ? 0 : event.getAmount());
     }
 
     public static boolean onLivingDeath(LivingEntity entity, DamageSource src)
     {
-        return MinecraftForge.EVENT_BUS.post(new LivingDeathEvent(entity, src));
+        return EventTimings.post(new LivingDeathEvent(entity, src));
     }
 
     public static boolean onLivingDrops(LivingEntity entity, DamageSource source, Collection<ItemEntity> drops, int lootingLevel, boolean recentlyHit)
     {
-        return MinecraftForge.EVENT_BUS.post(new LivingDropsEvent(entity, source, drops, lootingLevel, recentlyHit));
+        return EventTimings.post(new LivingDropsEvent(entity, source, drops, lootingLevel, recentlyHit));
     }
 
     @Nullable
     public static float[] onLivingFall(LivingEntity entity, float distance, float damageMultiplier)
     {
+        if (!LIVING_FALL.hasListeners())
+            return new float[]{distance, damageMultiplier};
         LivingFallEvent event = new LivingFallEvent(entity, distance, damageMultiplier);
-        return (MinecraftForge.EVENT_BUS.post(event) ? null : new float[]{event.getDistance(), event.getDamageMultiplier()});
+        return (EventTimings.post(event) ? null : new float[]{event.getDistance(), event.getDamageMultiplier()});
     }
 
     public static int getLootingLevel(Entity target, @Nullable Entity killer, @Nullable DamageSource cause)
@@ -331,14 +354,18 @@ public class ForgeHooks
 
     public static int getLootingLevel(LivingEntity target, @Nullable DamageSource cause, int level)
     {
+        if (!LOOTING_LEVEL.hasListeners())
+            return level;
         LootingLevelEvent event = new LootingLevelEvent(target, cause, level);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.getLootingLevel();
     }
 
     public static double getEntityVisibilityMultiplier(LivingEntity entity, Entity lookingEntity, double originalMultiplier){
+        if (!LIVING_VISIBILITY.hasListeners())
+            return Math.max(0, originalMultiplier);
         LivingEvent.LivingVisibilityEvent event = new LivingEvent.LivingVisibilityEvent(entity, lookingEntity, originalMultiplier);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return Math.max(0,event.getVisibilityModifier());
     }
 
@@ -377,7 +404,8 @@ public class ForgeHooks
 
     public static void onLivingJump(LivingEntity entity)
     {
-        MinecraftForge.EVENT_BUS.post(new LivingJumpEvent(entity));
+        if (LIVING_JUMP.hasListeners())
+            EventTimings.post(new LivingJumpEvent(entity));
     }
 
     @Nullable
@@ -391,7 +419,7 @@ public class ForgeHooks
             return null;
 
         ItemTossEvent event = new ItemTossEvent(ret, player);
-        if (MinecraftForge.EVENT_BUS.post(event))
+        if (EventTimings.post(event))
             return null;
 
         if (!player.level.isClientSide)
@@ -401,7 +429,7 @@ public class ForgeHooks
 
     public static boolean onVanillaGameEvent(Level level, GameEvent vanillaEvent, Vec3 pos, GameEvent.Context context)
     {
-        return !MinecraftForge.EVENT_BUS.post(new VanillaGameEvent(level, vanillaEvent, pos, context));
+        return !EventTimings.post(new VanillaGameEvent(level, vanillaEvent, pos, context));
     }
 
     private static String getRawText(Component message)
@@ -413,7 +441,7 @@ public class ForgeHooks
     public static Component onServerChatSubmittedEvent(ServerPlayer player, String plain, Component decorated, boolean canChangeMessage)
     {
         ServerChatEvent.Submitted event = new ServerChatEvent.Submitted(player, plain, decorated, canChangeMessage);
-        return MinecraftForge.EVENT_BUS.post(event) ? null : event.getMessage();
+        return EventTimings.post(event) ? null : event.getMessage();
     }
 
     private static final ChatDecorator SERVER_CHAT_SUBMITTED_DECORATOR = new ChatDecorator()
@@ -458,7 +486,7 @@ public class ForgeHooks
     public static Component onServerChatPreviewEvent(@NotNull ServerPlayer player, @NotNull Component message)
     {
         ServerChatEvent.Preview event = new ServerChatEvent.Preview(player, getRawText(message), message);
-        return MinecraftForge.EVENT_BUS.post(event) ? null : event.getMessage();
+        return EventTimings.post(event) ? null : event.getMessage();
     }
 
     @NotNull
@@ -583,7 +611,7 @@ public class ForgeHooks
         BlockState state = level.getBlockState(pos);
         BlockEvent.BreakEvent event = new BlockEvent.BreakEvent(level, pos, state, entityPlayer);
         event.setCanceled(preCancelEvent);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
 
         // Handle if the event is canceled
         if (event.isCanceled())
@@ -698,7 +726,7 @@ public class ForgeHooks
     public static boolean onAnvilChange(AnvilMenu container, @NotNull ItemStack left, @NotNull ItemStack right, Container outputSlot, String name, int baseCost, Player player)
     {
         AnvilUpdateEvent e = new AnvilUpdateEvent(left, right, name, baseCost, player);
-        if (MinecraftForge.EVENT_BUS.post(e)) return false;
+        if (EventTimings.post(e)) return false;
         if (e.getOutput().isEmpty()) return true;
 
         outputSlot.setItem(0, e.getOutput());
@@ -710,7 +738,7 @@ public class ForgeHooks
     public static float onAnvilRepair(Player player, @NotNull ItemStack output, @NotNull ItemStack left, @NotNull ItemStack right)
     {
         AnvilRepairEvent e = new AnvilRepairEvent(player, left, right, output);
-        MinecraftForge.EVENT_BUS.post(e);
+        EventTimings.post(e);
         return e.getBreakChance();
     }
 
@@ -741,7 +769,7 @@ public class ForgeHooks
 
     public static boolean onPlayerAttackTarget(Player player, Entity target)
     {
-        if (MinecraftForge.EVENT_BUS.post(new AttackEntityEvent(player, target))) return false;
+        if (EventTimings.post(new AttackEntityEvent(player, target))) return false;
         ItemStack stack = player.getMainHandItem();
         return stack.isEmpty() || !stack.getItem().onLeftClickEntity(stack, player, target);
     }
@@ -749,7 +777,7 @@ public class ForgeHooks
     public static boolean onTravelToDimension(Entity entity, ResourceKey<Level> dimension)
     {
         EntityTravelToDimensionEvent event = new EntityTravelToDimensionEvent(entity, dimension);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return !event.isCanceled();
     }
 
@@ -762,46 +790,46 @@ public class ForgeHooks
     public static InteractionResult onInteractEntityAt(Player player, Entity entity, Vec3 vec3d, InteractionHand hand)
     {
         PlayerInteractEvent.EntityInteractSpecific evt = new PlayerInteractEvent.EntityInteractSpecific(player, hand, entity, vec3d);
-        MinecraftForge.EVENT_BUS.post(evt);
+        EventTimings.post(evt);
         return evt.isCanceled() ? evt.getCancellationResult() : null;
     }
 
     public static InteractionResult onInteractEntity(Player player, Entity entity, InteractionHand hand)
     {
         PlayerInteractEvent.EntityInteract evt = new PlayerInteractEvent.EntityInteract(player, hand, entity);
-        MinecraftForge.EVENT_BUS.post(evt);
+        EventTimings.post(evt);
         return evt.isCanceled() ? evt.getCancellationResult() : null;
     }
 
     public static InteractionResult onItemRightClick(Player player, InteractionHand hand)
     {
         PlayerInteractEvent.RightClickItem evt = new PlayerInteractEvent.RightClickItem(player, hand);
-        MinecraftForge.EVENT_BUS.post(evt);
+        EventTimings.post(evt);
         return evt.isCanceled() ? evt.getCancellationResult() : null;
     }
 
     public static PlayerInteractEvent.LeftClickBlock onLeftClickBlock(Player player, BlockPos pos, Direction face)
     {
         PlayerInteractEvent.LeftClickBlock evt = new PlayerInteractEvent.LeftClickBlock(player, pos, face);
-        MinecraftForge.EVENT_BUS.post(evt);
+        EventTimings.post(evt);
         return evt;
     }
 
     public static PlayerInteractEvent.RightClickBlock onRightClickBlock(Player player, InteractionHand hand, BlockPos pos, BlockHitResult hitVec)
     {
         PlayerInteractEvent.RightClickBlock evt = new PlayerInteractEvent.RightClickBlock(player, hand, pos, hitVec);
-        MinecraftForge.EVENT_BUS.post(evt);
+        EventTimings.post(evt);
         return evt;
     }
 
     public static void onEmptyClick(Player player, InteractionHand hand)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerInteractEvent.RightClickEmpty(player, hand));
+        EventTimings.post(new PlayerInteractEvent.RightClickEmpty(player, hand));
     }
 
     public static void onEmptyLeftClick(Player player)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerInteractEvent.LeftClickEmpty(player));
+        EventTimings.post(new PlayerInteractEvent.LeftClickEmpty(player));
     }
 
     /**
@@ -813,7 +841,7 @@ public class ForgeHooks
         if (currentGameType != newGameType)
         {
             PlayerEvent.PlayerChangeGameModeEvent evt = new PlayerEvent.PlayerChangeGameModeEvent(player, currentGameType, newGameType);
-            MinecraftForge.EVENT_BUS.post(evt);
+            EventTimings.post(evt);
             return evt.isCanceled() ? null : evt.getNewGameMode();
         }
         return newGameType;
@@ -990,20 +1018,20 @@ public class ForgeHooks
     public static boolean onCropsGrowPre(Level level, BlockPos pos, BlockState state, boolean def)
     {
         BlockEvent ev = new BlockEvent.CropGrowEvent.Pre(level,pos,state);
-        MinecraftForge.EVENT_BUS.post(ev);
+        EventTimings.post(ev);
         return (ev.getResult() == net.minecraftforge.eventbus.api.Event.Result.ALLOW || (ev.getResult() == net.minecraftforge.eventbus.api.Event.Result.DEFAULT && def));
     }
 
     public static void onCropsGrowPost(Level level, BlockPos pos, BlockState state)
     {
-        MinecraftForge.EVENT_BUS.post(new BlockEvent.CropGrowEvent.Post(level, pos, state, level.getBlockState(pos)));
+        EventTimings.post(new BlockEvent.CropGrowEvent.Post(level, pos, state, level.getBlockState(pos)));
     }
 
     @Nullable
     public static CriticalHitEvent getCriticalHit(Player player, Entity target, boolean vanillaCritical, float damageModifier)
     {
         CriticalHitEvent hitResult = new CriticalHitEvent(player, target, damageModifier, vanillaCritical);
-        MinecraftForge.EVENT_BUS.post(hitResult);
+        EventTimings.post(hitResult);
         if (hitResult.getResult() == net.minecraftforge.eventbus.api.Event.Result.ALLOW || (vanillaCritical && hitResult.getResult() == net.minecraftforge.eventbus.api.Event.Result.DEFAULT))
         {
             return hitResult;
@@ -1013,7 +1041,7 @@ public class ForgeHooks
 
     public static void onAdvancement(ServerPlayer player, Advancement advancement)
     {
-        MinecraftForge.EVENT_BUS.post(new AdvancementEvent(player, advancement));
+        EventTimings.post(new AdvancementEvent(player, advancement));
     }
 
     /**
@@ -1022,7 +1050,7 @@ public class ForgeHooks
     public static Multimap<Attribute,AttributeModifier> getAttributeModifiers(ItemStack stack, EquipmentSlot equipmentSlot, Multimap<Attribute,AttributeModifier> attributes)
     {
         ItemAttributeModifierEvent event = new ItemAttributeModifierEvent(stack, equipmentSlot, attributes);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.getModifiers();
     }
 
@@ -1032,7 +1060,7 @@ public class ForgeHooks
     public static ItemStack getProjectile(LivingEntity entity, ItemStack projectileWeaponItem, ItemStack projectile)
     {
         LivingGetProjectileEvent event = new LivingGetProjectileEvent(entity, projectileWeaponItem, projectile);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.getProjectileItemStack();
     }
 
@@ -1086,7 +1114,7 @@ public class ForgeHooks
         if (entity.canTrample(state, pos, fallDistance))
         {
             BlockEvent.FarmlandTrampleEvent event = new BlockEvent.FarmlandTrampleEvent(level, pos, state, fallDistance, entity);
-            MinecraftForge.EVENT_BUS.post(event);
+            EventTimings.post(event);
             return !event.isCanceled();
         }
         return false;
@@ -1094,7 +1122,7 @@ public class ForgeHooks
 
     public static int onNoteChange(Level level, BlockPos pos, BlockState state, int old, int _new) {
         NoteBlockEvent.Change event = new NoteBlockEvent.Change(level, pos, state, old, _new);
-        if (MinecraftForge.EVENT_BUS.post(event))
+        if (EventTimings.post(event))
             return -1;
         return event.getVanillaNoteId();
     }
@@ -1284,13 +1312,16 @@ public class ForgeHooks
 
     public static void onEntityEnterSection(Entity entity, long packedOldPos, long packedNewPos)
     {
-        MinecraftForge.EVENT_BUS.post(new EntityEvent.EnteringSection(entity, packedOldPos, packedNewPos));
+        if (entity instanceof ServerPlayer player)
+            NearbyPlayerIndex.move(player, packedNewPos);
+        if (ENTERING_SECTION.hasListeners())
+            EventTimings.post(new EntityEvent.EnteringSection(entity, packedOldPos, packedNewPos));
     }
 
     public static ShieldBlockEvent onShieldBlock(LivingEntity blocker, DamageSource source, float blocked)
     {
         ShieldBlockEvent e = new ShieldBlockEvent(blocker, source, blocked);
-        MinecraftForge.EVENT_BUS.post(e);
+        EventTimings.post(e);
         return e;
     }
 
@@ -1427,12 +1458,12 @@ public class ForgeHooks
 
     public static boolean shouldSuppressEnderManAnger(EnderMan enderMan, Player player, ItemStack mask)
     {
-        return mask.isEnderMask(player, enderMan) || MinecraftForge.EVENT_BUS.post(new EnderManAngerEvent(enderMan, player));
+        return mask.isEnderMask(player, enderMan) || EventTimings.post(new EnderManAngerEvent(enderMan, player));
     }
 
     private static final Lazy<Map<String, StructuresBecomeConfiguredFix.Conversion>> FORGE_CONVERSION_MAP = Lazy.concurrentOf(() -> {
         Map<String, StructuresBecomeConfiguredFix.Conversion> map = new HashMap<>();
-        MinecraftForge.EVENT_BUS.post(new RegisterStructureConversionsEvent(map));
+        EventTimings.post(new RegisterStructureConversionsEvent(map));
         return ImmutableMap.copyOf(map);
     });
 
@@ -11,11 +11,13 @@ import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.server.TickTask;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraftforge.common.loot.LootModifierManager;
 import net.minecraftforge.common.util.FakePlayerFactory;
 import net.minecraftforge.event.AddReloadListenerEvent;
 import net.minecraftforge.event.RegisterCommandsEvent;
 import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.level.ChunkEvent;
 import net.minecraftforge.event.level.LevelEvent;
@@ -27,8 +29,11 @@ import net.minecraftforge.event.TickEvent.ClientTickEvent;
 import net.minecraftforge.event.TickEvent.ServerTickEvent;
 import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.common.util.LogicalSidedProvider;
+import net.minecraftforge.network.NearbyPlayerIndex;
+import net.minecraftforge.network.simple.MessageBatcher;
 import net.minecraftforge.server.command.ForgeCommand;
 import net.minecraftforge.server.command.ConfigCommand;
+import net.minecraftforge.server.pregen.PregenWorker;
 
 public class ForgeInternalHandler
 {
@@ -55,17 +60,50 @@ public class ForgeInternalHandler
     }
 
 
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onPlayerJoinLevel(EntityJoinLevelEvent event)
+    {
+        if (event.getEntity() instanceof ServerPlayer player)
+            NearbyPlayerIndex.add(player);
+    }
+
+    @SubscribeEvent
+    public void onPlayerLeaveLevel(EntityLeaveLevelEvent event)
+    {
+        if (event.getEntity() instanceof ServerPlayer player)
+            NearbyPlayerIndex.remove(player);
+    }
+
+    @SubscribeEvent
+    public void onDimensionLoad(LevelEvent.Load event)
+    {
+        if (event.getLevel() instanceof ServerLevel level)
+            PregenWorker.resume(level);
+    }
+
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onDimensionUnload(LevelEvent.Unload event)
     {
         if (event.getLevel() instanceof ServerLevel)
+        {
             FakePlayerFactory.unloadLevel((ServerLevel) event.getLevel());
+            NearbyPlayerIndex.unload((ServerLevel) event.getLevel());
+        }
     }
 
     @SubscribeEvent
     public void onServerTick(ServerTickEvent event)
     {
         WorldWorkerManager.tick(event.phase == TickEvent.Phase.START);
+        if (event.phase == TickEvent.Phase.END)
+            MessageBatcher.flushAll();
+    }
+
+    @SubscribeEvent
+    public void onClientTick(ClientTickEvent event)
+    {
+        if (event.phase == TickEvent.Phase.END)
+            MessageBatcher.flushAll();
     }
 
     @SubscribeEvent
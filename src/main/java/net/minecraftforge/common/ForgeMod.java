@@ -74,6 +74,7 @@ import net.minecraftforge.data.event.GatherDataEvent;
 import net.minecraftforge.network.filters.VanillaPacketSplitter;
 import net.minecraftforge.server.command.EnumArgument;
 import net.minecraftforge.server.command.ModIdArgument;
+import net.minecraftforge.server.pregen.PregenWorker;
 import net.minecraftforge.server.permission.events.PermissionGatherEvent;
 import net.minecraftforge.server.permission.nodes.PermissionNode;
 import net.minecraftforge.server.permission.nodes.PermissionTypes;
@@ -481,6 +482,7 @@ public class ForgeMod
 
     public void serverStopping(ServerStoppingEvent evt)
     {
+        PregenWorker.onServerStopping();
         WorldWorkerManager.clear();
     }
 
@@ -59,11 +59,22 @@ public class Capability<T>
 
     // INTERNAL
     private final String name;
+    private final int id;
     List<Consumer<Capability<T>>> listeners = new ArrayList<>();
 
-    Capability(String name)
+    Capability(String name, int id)
     {
         this.name = name;
+        this.id = id;
+    }
+
+    /**
+     * Dense index assigned by the {@link CapabilityManager} in creation order, used by
+     * {@link CapabilityDispatcher} to look up providers without walking all of them.
+     */
+    int getId()
+    {
+        return this.id;
     }
 
     void onRegister()
@@ -7,11 +7,16 @@ package net.minecraftforge.common.capabilities;
 
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 import net.minecraft.MethodsReturnNonnullByDefault;
 import net.minecraft.nbt.Tag;
@@ -31,6 +36,9 @@ import org.jetbrains.annotations.Nullable;
  *
  * Internally the handlers are baked into arrays for fast iteration.
  * The ResourceLocations will be used for the NBT Key when serializing.
+ *
+ * Providers that declared the capabilities they expose are additionally indexed
+ * by {@link Capability} id, so a lookup only queries the providers that can answer it.
  */
 @ParametersAreNonnullByDefault
 @MethodsReturnNonnullByDefault
@@ -40,16 +48,25 @@ public final class CapabilityDispatcher implements INBTSerializable<CompoundTag>
     private INBTSerializable<Tag>[] writers;
     private String[] names;
     private final List<Runnable> listeners;
+    // Indexed by Capability id, null entries fall back to 'undeclared'. Null when no provider declared anything.
+    private final ICapabilityProvider[][] index;
+    private final ICapabilityProvider[] undeclared;
 
     public CapabilityDispatcher(Map<ResourceLocation, ICapabilityProvider> list, List<Runnable> listeners)
     {
         this(list, listeners, null);
     }
 
-    @SuppressWarnings("unchecked")
     public CapabilityDispatcher(Map<ResourceLocation, ICapabilityProvider> list, List<Runnable> listeners, @Nullable ICapabilityProvider parent)
+    {
+        this(list, Collections.emptyMap(), listeners, parent);
+    }
+
+    @SuppressWarnings("unchecked")
+    public CapabilityDispatcher(Map<ResourceLocation, ICapabilityProvider> list, Map<ResourceLocation, Set<Capability<?>>> exposed, List<Runnable> listeners, @Nullable ICapabilityProvider parent)
     {
         List<ICapabilityProvider> lstCaps = Lists.newArrayList();
+        List<Set<Capability<?>>> lstExposed = Lists.newArrayList();
         List<INBTSerializable<Tag>> lstWriters = Lists.newArrayList();
         List<String> lstNames = Lists.newArrayList();
         this.listeners = listeners;
@@ -57,6 +74,7 @@ public final class CapabilityDispatcher implements INBTSerializable<CompoundTag>
         if (parent != null) // Parents go first!
         {
             lstCaps.add(parent);
+            lstExposed.add(null);
             if (parent instanceof INBTSerializable)
             {
                 lstWriters.add((INBTSerializable<Tag>)parent);
@@ -68,6 +86,7 @@ public final class CapabilityDispatcher implements INBTSerializable<CompoundTag>
         {
             ICapabilityProvider prov = entry.getValue();
             lstCaps.add(prov);
+            lstExposed.add(exposed.get(entry.getKey()));
             if (prov instanceof INBTSerializable)
             {
                 lstWriters.add((INBTSerializable<Tag>)prov);
@@ -78,13 +97,62 @@ public final class CapabilityDispatcher implements INBTSerializable<CompoundTag>
         caps = lstCaps.toArray(new ICapabilityProvider[lstCaps.size()]);
         writers = lstWriters.toArray(new INBTSerializable[lstWriters.size()]);
         names = lstNames.toArray(new String[lstNames.size()]);
+
+        if (exposed.isEmpty())
+        {
+            index = null;
+            undeclared = caps;
+        }
+        else
+        {
+            List<ICapabilityProvider> lstUndeclared = Lists.newArrayList();
+            Set<Capability<?>> declared = Sets.newIdentityHashSet();
+            int maxId = -1;
+            for (int x = 0; x < caps.length; x++)
+            {
+                Set<Capability<?>> exp = lstExposed.get(x);
+                if (exp == null)
+                {
+                    lstUndeclared.add(caps[x]);
+                    continue;
+                }
+                for (Capability<?> cap : exp)
+                {
+                    declared.add(cap);
+                    maxId = Math.max(maxId, cap.getId());
+                }
+            }
+
+            undeclared = lstUndeclared.toArray(new ICapabilityProvider[lstUndeclared.size()]);
+            index = new ICapabilityProvider[maxId + 1][];
+            for (Capability<?> cap : declared)
+            {
+                // Keep the original provider order so the first present result is the same as a linear walk
+                List<ICapabilityProvider> lstIndexed = Lists.newArrayList();
+                for (int x = 0; x < caps.length; x++)
+                {
+                    Set<Capability<?>> exp = lstExposed.get(x);
+                    if (exp == null || exp.contains(cap))
+                        lstIndexed.add(caps[x]);
+                }
+                index[cap.getId()] = lstIndexed.toArray(new ICapabilityProvider[lstIndexed.size()]);
+            }
+        }
     }
 
+    private ICapabilityProvider[] getProviders(Capability<?> cap)
+    {
+        if (index == null)
+            return caps;
+        int id = cap.getId();
+        ICapabilityProvider[] ret = id < index.length ? index[id] : null;
+        return ret == null ? undeclared : ret;
+    }
 
     @Override
     public <T> LazyOptional<T> getCapability(Capability<T> cap, @Nullable Direction side)
     {
-        for (ICapabilityProvider c : caps)
+        for (ICapabilityProvider c : getProviders(cap))
         {
             LazyOptional<T> ret = c.getCapability(cap, side);
             //noinspection ConstantConditions
@@ -133,7 +201,24 @@ public final class CapabilityDispatcher implements INBTSerializable<CompoundTag>
     {                                                        // Only compares serializeable caps.
         if (other == null) return this.writers.length == 0;  // Done this way so we can do some pre-checks before doing the costly NBT serialization and compare
         if (this.writers.length == 0) return other.writers.length == 0;
-        return this.serializeNBT().equals(other.serializeNBT());
+        if (!Arrays.equals(this.names, other.names))         // Different layouts, only the full tags can tell
+            return this.serializeNBT().equals(other.serializeNBT());
+
+        for (int x = 0; x < writers.length; x++)
+        {
+            if (!isStateEqual(this.writers[x], other.writers[x]))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isStateEqual(INBTSerializable<Tag> a, INBTSerializable<Tag> b)
+    {
+        if (a == b)
+            return true;
+        if (a instanceof ICapabilityComparable<?> ca && b instanceof ICapabilityComparable<?> cb)
+            return ca.getStateHash() == cb.getStateHash() && ca.isStateEqual(cb);
+        return Objects.equals(a.serializeNBT(), b.serializeNBT()); // Fallback for providers that can't compare themselves
     }
 
     public void invalidate()
@@ -11,12 +11,20 @@ import com.google.common.annotations.VisibleForTesting;
 import net.minecraft.MethodsReturnNonnullByDefault;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.core.Direction;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.common.ForgeConfig;
 import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.event.EventListenerPresence;
 import net.minecraftforge.event.ForgeEventFactory;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 @MethodsReturnNonnullByDefault
@@ -26,6 +34,12 @@ public abstract class CapabilityProvider<B extends ICapabilityProviderImpl<B>> i
     @VisibleForTesting
     static boolean SUPPORTS_LAZY_CAPABILITIES = true;
 
+    // Items whose stacks have been seen to get no capabilities at all, see ForgeConfig.Common#memoizeEmptyItemCapabilities.
+    // Only valid for the listeners that were registered when they were seen, see #getItemsWithoutCapabilities.
+    private static final Set<Item> ITEMS_WITHOUT_CAPABILITIES = ConcurrentHashMap.newKeySet();
+    private static volatile @Nullable Object itemsWithoutCapabilitiesGeneration;
+    private static @Nullable EventListenerPresence attachCapabilities;
+
     private final @NotNull Class<B> baseClass;
     private @Nullable CapabilityDispatcher capabilities;
     private boolean valid = true;
@@ -69,8 +83,67 @@ public abstract class CapabilityProvider<B extends ICapabilityProviderImpl<B>> i
 
     private void doGatherCapabilities(@Nullable ICapabilityProvider parent)
     {
+        final Item item = parent == null && shouldMemoizeEmptyItems() && getProvider() instanceof ItemStack stack ? stack.getItem() : null;
+        final Object generation = item == null ? null : getItemsWithoutCapabilitiesGeneration();
+        if (generation != null && ITEMS_WITHOUT_CAPABILITIES.contains(item))
+        {
+            this.capabilities = null;
+            this.initialized = true;
+            return;
+        }
+
         this.capabilities = ForgeEventFactory.gatherCapabilities(baseClass, getProvider(), parent);
         this.initialized = true;
+
+        // A listener registered while the event was posted may not have seen this stack, so only remember it if nothing changed
+        if (generation != null && this.capabilities == null && getItemsWithoutCapabilitiesGeneration() == generation)
+            ITEMS_WITHOUT_CAPABILITIES.add(item);
+    }
+
+    /**
+     * Forgets which items were seen without capabilities, so their stacks fire {@link net.minecraftforge.event.AttachCapabilitiesEvent} again.
+     */
+    @ApiStatus.Internal
+    public static void clearItemsWithoutCapabilities()
+    {
+        itemsWithoutCapabilitiesGeneration = null;
+        ITEMS_WITHOUT_CAPABILITIES.clear();
+    }
+
+    /**
+     * Clears the memoized items whenever listeners to {@link net.minecraftforge.event.AttachCapabilitiesEvent} were
+     * registered or unregistered since they were memoized.
+     *
+     * @return the current listener generation, or null if it can't be tracked and nothing should be memoized
+     */
+    private static @Nullable Object getItemsWithoutCapabilitiesGeneration()
+    {
+        if (attachCapabilities == null)
+            attachCapabilities = EventListenerPresence.of(AttachCapabilitiesEvent.class);
+        final Object generation = attachCapabilities.getListenerGeneration();
+        if (generation != itemsWithoutCapabilitiesGeneration)
+        {
+            synchronized (ITEMS_WITHOUT_CAPABILITIES)
+            {
+                if (generation != itemsWithoutCapabilitiesGeneration)
+                {
+                    ITEMS_WITHOUT_CAPABILITIES.clear();
+                    itemsWithoutCapabilitiesGeneration = generation;
+                }
+            }
+        }
+        return generation;
+    }
+
+    private static boolean shouldMemoizeEmptyItems()
+    {
+        // Stacks are created long before configs are loaded, keep firing the event until then.
+        return ForgeConfig.isCommonLoaded() && ForgeConfig.COMMON.memoizeEmptyItemCapabilities.get();
+    }
+
+    private boolean isLazyUninitialized()
+    {
+        return isLazy && !initialized;
     }
 
     @SuppressWarnings("unchecked")
@@ -96,6 +169,14 @@ public abstract class CapabilityProvider<B extends ICapabilityProviderImpl<B>> i
 
     public final boolean areCapsCompatible(CapabilityProvider<B> other)
     {
+        // Two lazy providers that were never queried would be gathered the same way from the same data,
+        // so comparing that data is enough and spares firing the attach event for both.
+        if (isLazyUninitialized() && other.isLazyUninitialized())
+        {
+            if (lazyData == null || lazyData.isEmpty())
+                return other.lazyData == null || other.lazyData.isEmpty();
+            return lazyData.equals(other.lazyData);
+        }
         return areCapsCompatible(other.getCapabilities());
     }
 
@@ -121,7 +202,7 @@ public abstract class CapabilityProvider<B extends ICapabilityProviderImpl<B>> i
 
     protected final @Nullable CompoundTag serializeCaps()
     {
-        if (isLazy && !initialized)
+        if (isLazyUninitialized())
         {
             return lazyData;
         }
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.common.capabilities;
+
+import net.minecraft.nbt.Tag;
+import net.minecraftforge.common.util.INBTSerializable;
+
+/**
+ * Optional contract for serializable capability providers that can compare their state directly.
+ * When two objects such as ItemStacks are compared for stacking, the {@link CapabilityDispatcher}
+ * uses this instead of serializing both providers to NBT and comparing the tags.
+ *
+ * Implementations must be consistent with {@link INBTSerializable#serializeNBT()}: two providers are
+ * state-equal exactly when their serialized tags are equal.
+ *
+ * @see CapabilityDispatcher#areCompatible(CapabilityDispatcher)
+ */
+public interface ICapabilityComparable<T extends Tag> extends ICapabilitySerializable<T>
+{
+    /**
+     * A hash of the serializable state, equal for any two state-equal providers.
+     * This is called on every comparison, so implementations with non-trivial state
+     * should cache it and recompute it only when their state changes.
+     */
+    int getStateHash();
+
+    /**
+     * @param other The provider attached under the same key on the other object.
+     *   It is usually, but not necessarily, of the same class as this.
+     * @return true if both providers would serialize to equal tags.
+     */
+    boolean isStateEqual(ICapabilityComparable<?> other);
+}
@@ -8,9 +8,12 @@ package net.minecraftforge.event;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ICapabilityProvider;
 import net.minecraftforge.eventbus.api.GenericEvent;
 
@@ -26,6 +29,8 @@ public class AttachCapabilitiesEvent<T> extends GenericEvent<T>
     private final T obj;
     private final Map<ResourceLocation, ICapabilityProvider> caps = Maps.newLinkedHashMap();
     private final Map<ResourceLocation, ICapabilityProvider> view = Collections.unmodifiableMap(caps);
+    private final Map<ResourceLocation, Set<Capability<?>>> exposed = Maps.newHashMap();
+    private final Map<ResourceLocation, Set<Capability<?>>> exposedView = Collections.unmodifiableMap(exposed);
     private final List<Runnable> listeners = Lists.newArrayList();
     private final List<Runnable> listenersView = Collections.unmodifiableList(listeners);
 
@@ -58,6 +63,21 @@ public class AttachCapabilitiesEvent<T> extends GenericEvent<T>
         this.caps.put(key, cap);
     }
 
+    /**
+     * Adds a capability to be attached to this object, declaring up front every capability the provider can return.
+     * The dispatcher will only ever query this provider for the declared capabilities, which lets it index lookups
+     * instead of asking every attached provider in turn. Returning a capability that was not declared is not supported.
+     *
+     * @param key The name of owner of this capability provider.
+     * @param cap The capability provider
+     * @param exposedCaps Every capability the provider may return a non-empty value for, on any side.
+     */
+    public void addCapability(ResourceLocation key, ICapabilityProvider cap, Set<Capability<?>> exposedCaps)
+    {
+        addCapability(key, cap);
+        this.exposed.put(key, ImmutableSet.copyOf(exposedCaps));
+    }
+
     /**
      * A unmodifiable view of the capabilities that will be attached to this object.
      */
@@ -66,6 +86,15 @@ public class AttachCapabilitiesEvent<T> extends GenericEvent<T>
         return view;
     }
 
+    /**
+     * A unmodifiable view of the capabilities declared through {@link #addCapability(ResourceLocation, ICapabilityProvider, Set)},
+     * keyed by provider name. Providers attached without a declaration are absent.
+     */
+    public Map<ResourceLocation, Set<Capability<?>>> getExposedCapabilities()
+    {
+        return exposedView;
+    }
+
     /**
      * Adds a callback that is fired when the attached object is invalidated.
      * Such as a Entity/TileEntity being removed from world.
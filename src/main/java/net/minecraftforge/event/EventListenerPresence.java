@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.event;
+
+import java.lang.reflect.Field;
+
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.eventbus.ListenerList;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventListenerHelper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Cheap check for whether anything listens to an event type on {@link MinecraftForge#EVENT_BUS}.
+ * Hot hooks use this to skip allocating and posting events nobody would see.
+ * <p>
+ * The answer comes from the bus' own listener list for the event type, which already includes listeners
+ * to parent event types and is rebuilt by the bus whenever listeners are registered or unregistered,
+ * so it never goes stale. If the bus internals can't be accessed, every type is reported as having listeners.
+ */
+public final class EventListenerPresence
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int BUS_ID = findBusId();
+
+    @Nullable
+    private final ListenerList listeners;
+
+    private EventListenerPresence(@Nullable ListenerList listeners)
+    {
+        this.listeners = listeners;
+    }
+
+    public static EventListenerPresence of(Class<? extends Event> type)
+    {
+        return new EventListenerPresence(BUS_ID < 0 ? null : EventListenerHelper.getListenerList(type));
+    }
+
+    /**
+     * @return false if posting an event of this type right now would not reach any listener
+     */
+    public boolean hasListeners()
+    {
+        return listeners == null || listeners.getListeners(BUS_ID).length > 0;
+    }
+
+    /**
+     * The bus hands out the same listener array until listeners of this type change, so the returned object can be
+     * compared by identity to find out whether anything was registered or unregistered since it was last read.
+     *
+     * @return the current listeners of this type, or null if they can't be tracked
+     */
+    @Nullable
+    public Object getListenerGeneration()
+    {
+        return listeners == null ? null : listeners.getListeners(BUS_ID);
+    }
+
+    private static int findBusId()
+    {
+        try
+        {
+            Field field = MinecraftForge.EVENT_BUS.getClass().getDeclaredField("busID");
+            field.setAccessible(true);
+            return field.getInt(MinecraftForge.EVENT_BUS);
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            LOGGER.debug("Could not determine the id of the Forge event bus, events will always be posted", e);
+            return -1;
+        }
+    }
+}
@@ -73,7 +73,6 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.storage.ServerLevelData;
 import net.minecraft.world.level.storage.PlayerDataStorage;
 import net.minecraft.world.phys.Vec3;
-import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.ToolAction;
 import net.minecraftforge.common.capabilities.CapabilityDispatcher;
 import net.minecraftforge.common.capabilities.ICapabilityProvider;
@@ -129,84 +128,92 @@ import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.eventbus.api.Event;
 import net.minecraftforge.eventbus.api.Event.Result;
 import net.minecraftforge.fml.LogicalSide;
+import net.minecraftforge.server.timings.EventTimings;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 public class ForgeEventFactory
 {
+    // Fired for every mob or item user on every tick, skipped entirely when nothing listens
+    private static final EventListenerPresence CHECK_SPAWN = EventListenerPresence.of(LivingSpawnEvent.CheckSpawn.class);
+    private static final EventListenerPresence ALLOW_DESPAWN = EventListenerPresence.of(AllowDespawn.class);
+    private static final EventListenerPresence USE_ITEM_TICK = EventListenerPresence.of(LivingEntityUseItemEvent.Tick.class);
+    private static final EventListenerPresence MOB_GRIEFING = EventListenerPresence.of(EntityMobGriefingEvent.class);
 
     public static boolean onMultiBlockPlace(@Nullable Entity entity, List<BlockSnapshot> blockSnapshots, Direction direction)
     {
         BlockSnapshot snap = blockSnapshots.get(0);
         BlockState placedAgainst = snap.getLevel().getBlockState(snap.getPos().relative(direction.getOpposite()));
         EntityMultiPlaceEvent event = new EntityMultiPlaceEvent(blockSnapshots, placedAgainst, entity);
-        return MinecraftForge.EVENT_BUS.post(event);
+        return EventTimings.post(event);
     }
 
     public static boolean onBlockPlace(@Nullable Entity entity, @NotNull BlockSnapshot blockSnapshot, @NotNull Direction direction)
     {
         BlockState placedAgainst = blockSnapshot.getLevel().getBlockState(blockSnapshot.getPos().relative(direction.getOpposite()));
         EntityPlaceEvent event = new BlockEvent.EntityPlaceEvent(blockSnapshot, placedAgainst, entity);
-        return MinecraftForge.EVENT_BUS.post(event);
+        return EventTimings.post(event);
     }
 
     public static NeighborNotifyEvent onNeighborNotify(Level level, BlockPos pos, BlockState state, EnumSet<Direction> notifiedSides, boolean forceRedstoneUpdate)
     {
         NeighborNotifyEvent event = new NeighborNotifyEvent(level, pos, state, notifiedSides, forceRedstoneUpdate);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event;
     }
 
     public static boolean doPlayerHarvestCheck(Player player, BlockState state, boolean success)
     {
         PlayerEvent.HarvestCheck event = new PlayerEvent.HarvestCheck(player, state, success);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.canHarvest();
     }
 
     public static float getBreakSpeed(Player player, BlockState state, float original, BlockPos pos)
     {
         PlayerEvent.BreakSpeed event = new PlayerEvent.BreakSpeed(player, state, original, pos);
-        return (MinecraftForge.EVENT_BUS.post(event) ? -1 : event.getNewSpeed());
+        return (EventTimings.post(event) ? -1 : event.getNewSpeed());
     }
 
     public static void onPlayerDestroyItem(Player player, @NotNull ItemStack stack, @Nullable InteractionHand hand)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerDestroyItemEvent(player, stack, hand));
+        EventTimings.post(new PlayerDestroyItemEvent(player, stack, hand));
     }
 
     public static Result canEntitySpawn(Mob entity, LevelAccessor level, double x, double y, double z, BaseSpawner spawner, MobSpawnType spawnReason)
     {
-        if (entity == null)
+        if (entity == null || !CHECK_SPAWN.hasListeners())
             return Result.DEFAULT;
         LivingSpawnEvent.CheckSpawn event = new LivingSpawnEvent.CheckSpawn(entity, level, x, y, z, spawner, spawnReason);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.getResult();
     }
 
     public static boolean doSpecialSpawn(Mob entity, LevelAccessor level, float x, float y, float z, BaseSpawner spawner, MobSpawnType spawnReason)
     {
-        return MinecraftForge.EVENT_BUS.post(new LivingSpawnEvent.SpecialSpawn(entity, level, x, y, z, spawner, spawnReason));
+        return EventTimings.post(new LivingSpawnEvent.SpecialSpawn(entity, level, x, y, z, spawner, spawnReason));
     }
 
     public static Result canEntityDespawn(Mob entity)
     {
+        if (!ALLOW_DESPAWN.hasListeners())
+            return Result.DEFAULT;
         AllowDespawn event = new AllowDespawn(entity);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.getResult();
     }
 
     public static int getItemBurnTime(@NotNull ItemStack itemStack, int burnTime, @Nullable RecipeType<?> recipeType)
     {
         FurnaceFuelBurnTimeEvent event = new FurnaceFuelBurnTimeEvent(itemStack, burnTime, recipeType);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.getBurnTime();
     }
 
     public static int getExperienceDrop(LivingEntity entity, Player attackingPlayer, int originalExperience)
     {
        LivingExperienceDropEvent event = new LivingExperienceDropEvent(entity, attackingPlayer, originalExperience);
-       if (MinecraftForge.EVENT_BUS.post(event))
+       if (EventTimings.post(event))
        {
            return 0;
        }
@@ -216,110 +223,112 @@ public class ForgeEventFactory
     public static int getMaxSpawnPackSize(Mob entity)
     {
         LivingPackSizeEvent maxCanSpawnEvent = new LivingPackSizeEvent(entity);
-        MinecraftForge.EVENT_BUS.post(maxCanSpawnEvent);
+        EventTimings.post(maxCanSpawnEvent);
         return maxCanSpawnEvent.getResult() == Result.ALLOW ? maxCanSpawnEvent.getMaxPackSize() : entity.getMaxSpawnClusterSize();
     }
 
     public static Component getPlayerDisplayName(Player player, Component username)
     {
         PlayerEvent.NameFormat event = new PlayerEvent.NameFormat(player, username);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.getDisplayname();
     }
 
     public static Component getPlayerTabListDisplayName(Player player)
     {
         PlayerEvent.TabListNameFormat event = new PlayerEvent.TabListNameFormat(player);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.getDisplayName();
     }
 
     public static BlockState fireFluidPlaceBlockEvent(LevelAccessor level, BlockPos pos, BlockPos liquidPos, BlockState state)
     {
         BlockEvent.FluidPlaceBlockEvent event = new BlockEvent.FluidPlaceBlockEvent(level, pos, liquidPos, state);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.getNewState();
     }
 
     public static ItemTooltipEvent onItemTooltip(ItemStack itemStack, @Nullable Player entityPlayer, List<Component> list, TooltipFlag flags)
     {
         ItemTooltipEvent event = new ItemTooltipEvent(itemStack, entityPlayer, list, flags);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event;
     }
 
     public static SummonAidEvent fireZombieSummonAid(Zombie zombie, Level level, int x, int y, int z, LivingEntity attacker, double summonChance)
     {
         SummonAidEvent summonEvent = new SummonAidEvent(zombie, level, x, y, z, attacker, summonChance);
-        MinecraftForge.EVENT_BUS.post(summonEvent);
+        EventTimings.post(summonEvent);
         return summonEvent;
     }
 
     public static boolean onEntityStruckByLightning(Entity entity, LightningBolt bolt)
     {
-        return MinecraftForge.EVENT_BUS.post(new EntityStruckByLightningEvent(entity, bolt));
+        return EventTimings.post(new EntityStruckByLightningEvent(entity, bolt));
     }
 
     public static int onItemUseStart(LivingEntity entity, ItemStack item, int duration)
     {
         LivingEntityUseItemEvent event = new LivingEntityUseItemEvent.Start(entity, item, duration);
-        return MinecraftForge.EVENT_BUS.post(event) ? -1 : event.getDuration();
+        return EventTimings.post(event) ? -1 : event.getDuration();
     }
 
     public static int onItemUseTick(LivingEntity entity, ItemStack item, int duration)
     {
+        if (!USE_ITEM_TICK.hasListeners())
+            return duration;
         LivingEntityUseItemEvent event = new LivingEntityUseItemEvent.Tick(entity, item, duration);
-        return MinecraftForge.EVENT_BUS.post(event) ? -1 : event.getDuration();
+        return EventTimings.post(event) ? -1 : event.getDuration();
     }
 
     public static boolean onUseItemStop(LivingEntity entity, ItemStack item, int duration)
     {
-        return MinecraftForge.EVENT_BUS.post(new LivingEntityUseItemEvent.Stop(entity, item, duration));
+        return EventTimings.post(new LivingEntityUseItemEvent.Stop(entity, item, duration));
     }
 
     public static ItemStack onItemUseFinish(LivingEntity entity, ItemStack item, int duration, ItemStack result)
     {
         LivingEntityUseItemEvent.Finish event = new LivingEntityUseItemEvent.Finish(entity, item, duration, result);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.getResultStack();
     }
 
     public static void onStartEntityTracking(Entity entity, Player player)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerEvent.StartTracking(player, entity));
+        EventTimings.post(new PlayerEvent.StartTracking(player, entity));
     }
 
     public static void onStopEntityTracking(Entity entity, Player player)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerEvent.StopTracking(player, entity));
+        EventTimings.post(new PlayerEvent.StopTracking(player, entity));
     }
 
     public static void firePlayerLoadingEvent(Player player, File playerDirectory, String uuidString)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerEvent.LoadFromFile(player, playerDirectory, uuidString));
+        EventTimings.post(new PlayerEvent.LoadFromFile(player, playerDirectory, uuidString));
     }
 
     public static void firePlayerSavingEvent(Player player, File playerDirectory, String uuidString)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerEvent.SaveToFile(player, playerDirectory, uuidString));
+        EventTimings.post(new PlayerEvent.SaveToFile(player, playerDirectory, uuidString));
     }
 
     public static void firePlayerLoadingEvent(Player player, PlayerDataStorage playerFileData, String uuidString)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerEvent.LoadFromFile(player, playerFileData.getPlayerDataFolder(), uuidString));
+        EventTimings.post(new PlayerEvent.LoadFromFile(player, playerFileData.getPlayerDataFolder(), uuidString));
     }
 
     @Nullable
     public static BlockState onToolUse(BlockState originalState, UseOnContext context, ToolAction toolAction, boolean simulate)
     {
         BlockToolModificationEvent event = new BlockToolModificationEvent(originalState, context, toolAction, simulate);
-        return MinecraftForge.EVENT_BUS.post(event) ? null : event.getFinalState();
+        return EventTimings.post(event) ? null : event.getFinalState();
     }
 
     public static int onApplyBonemeal(@NotNull Player player, @NotNull Level level, @NotNull BlockPos pos, @NotNull BlockState state, @NotNull ItemStack stack)
     {
         BonemealEvent event = new BonemealEvent(player, level, pos, state, stack);
-        if (MinecraftForge.EVENT_BUS.post(event)) return -1;
+        if (EventTimings.post(event)) return -1;
         if (event.getResult() == Result.ALLOW)
         {
             if (!level.isClientSide)
@@ -333,7 +342,7 @@ public class ForgeEventFactory
     public static InteractionResultHolder<ItemStack> onBucketUse(@NotNull Player player, @NotNull Level level, @NotNull ItemStack stack, @Nullable HitResult target)
     {
         FillBucketEvent event = new FillBucketEvent(player, stack, level, target);
-        if (MinecraftForge.EVENT_BUS.post(event)) return new InteractionResultHolder<ItemStack>(InteractionResult.FAIL, stack);
+        if (EventTimings.post(event)) return new InteractionResultHolder<ItemStack>(InteractionResult.FAIL, stack);
 
         if (event.getResult() == Result.ALLOW)
         {
@@ -355,7 +364,7 @@ public class ForgeEventFactory
     public static PlayLevelSoundEvent.AtEntity onPlaySoundAtEntity(Entity entity, SoundEvent name, SoundSource category, float volume, float pitch)
     {
         PlayLevelSoundEvent.AtEntity event = new PlayLevelSoundEvent.AtEntity(entity, name, category, volume, pitch);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event;
     }
 
@@ -363,7 +372,7 @@ public class ForgeEventFactory
     public static PlayLevelSoundEvent.AtPosition onPlaySoundAtPosition(Level level, double x, double y, double z, SoundEvent name, SoundSource category, float volume, float pitch)
     {
         PlayLevelSoundEvent.AtPosition event = new PlayLevelSoundEvent.AtPosition(level, new Vec3(x, y, z), name, category, volume, pitch);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event;
     }
 
@@ -371,20 +380,20 @@ public class ForgeEventFactory
     {
         if (item.isEmpty()) return -1;
         ItemExpireEvent event = new ItemExpireEvent(entity, (item.isEmpty() ? 6000 : item.getItem().getEntityLifespan(item, entity.level)));
-        if (!MinecraftForge.EVENT_BUS.post(event)) return -1;
+        if (!EventTimings.post(event)) return -1;
         return event.getExtraLife();
     }
 
     public static int onItemPickup(ItemEntity entityItem, Player player)
     {
         Event event = new EntityItemPickupEvent(player, entityItem);
-        if (MinecraftForge.EVENT_BUS.post(event)) return -1;
+        if (EventTimings.post(event)) return -1;
         return event.getResult() == Result.ALLOW ? 1 : 0;
     }
 
     public static boolean canMountEntity(Entity entityMounting, Entity entityBeingMounted, boolean isMounting)
     {
-        boolean isCanceled = MinecraftForge.EVENT_BUS.post(new EntityMountEvent(entityMounting, entityBeingMounted, entityMounting.level, isMounting));
+        boolean isCanceled = EventTimings.post(new EntityMountEvent(entityMounting, entityBeingMounted, entityMounting.level, isMounting));
 
         if(isCanceled)
         {
@@ -397,39 +406,39 @@ public class ForgeEventFactory
 
     public static boolean onAnimalTame(Animal animal, Player tamer)
     {
-        return MinecraftForge.EVENT_BUS.post(new AnimalTameEvent(animal, tamer));
+        return EventTimings.post(new AnimalTameEvent(animal, tamer));
     }
 
     public static Player.BedSleepingProblem onPlayerSleepInBed(Player player, Optional<BlockPos> pos)
     {
         PlayerSleepInBedEvent event = new PlayerSleepInBedEvent(player, pos);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.getResultStatus();
     }
 
     public static void onPlayerWakeup(Player player, boolean wakeImmediately, boolean updateLevel)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerWakeUpEvent(player, wakeImmediately, updateLevel));
+        EventTimings.post(new PlayerWakeUpEvent(player, wakeImmediately, updateLevel));
     }
 
     public static void onPlayerFall(Player player, float distance, float multiplier)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerFlyableFallEvent(player, distance, multiplier));
+        EventTimings.post(new PlayerFlyableFallEvent(player, distance, multiplier));
     }
 
     public static boolean onPlayerSpawnSet(Player player, ResourceKey<Level> levelKey, BlockPos pos, boolean forced)
     {
-        return MinecraftForge.EVENT_BUS.post(new PlayerSetSpawnEvent(player, levelKey, pos, forced));
+        return EventTimings.post(new PlayerSetSpawnEvent(player, levelKey, pos, forced));
     }
 
     public static void onPlayerClone(Player player, Player oldPlayer, boolean wasDeath)
     {
-        MinecraftForge.EVENT_BUS.post(new net.minecraftforge.event.entity.player.PlayerEvent.Clone(player, oldPlayer, wasDeath));
+        EventTimings.post(new net.minecraftforge.event.entity.player.PlayerEvent.Clone(player, oldPlayer, wasDeath));
     }
 
     public static boolean onExplosionStart(Level level, Explosion explosion)
     {
-        return MinecraftForge.EVENT_BUS.post(new ExplosionEvent.Start(level, explosion));
+        return EventTimings.post(new ExplosionEvent.Start(level, explosion));
     }
 
     public static void onExplosionDetonate(Level level, Explosion explosion, List<Entity> list, double diameter)
@@ -445,18 +454,18 @@ public class ForgeEventFactory
             if (e.isImmuneToExplosions() || dist > 1.0F) itr.remove();
         }
         */
-        MinecraftForge.EVENT_BUS.post(new ExplosionEvent.Detonate(level, explosion, list));
+        EventTimings.post(new ExplosionEvent.Detonate(level, explosion, list));
     }
 
     public static boolean onCreateWorldSpawn(Level level, ServerLevelData settings)
     {
-        return MinecraftForge.EVENT_BUS.post(new LevelEvent.CreateSpawnPosition(level, settings));
+        return EventTimings.post(new LevelEvent.CreateSpawnPosition(level, settings));
     }
 
     public static float onLivingHeal(LivingEntity entity, float amount)
     {
         LivingHealEvent event = new LivingHealEvent(entity, amount);
-        return (MinecraftForge.EVENT_BUS.post(event) ? 0 : event.getAmount());
+        return (EventTimings.post(event) ? 0 : event.getAmount());
     }
 
     public static boolean onPotionAttemptBrew(NonNullList<ItemStack> stacks)
@@ -466,7 +475,7 @@ public class ForgeEventFactory
             tmp.set(x, stacks.get(x).copy());
 
         PotionBrewEvent.Pre event = new PotionBrewEvent.Pre(tmp);
-        if (MinecraftForge.EVENT_BUS.post(event))
+        if (EventTimings.post(event))
         {
             boolean changed = false;
             for (int x = 0; x < stacks.size(); x++)
@@ -483,12 +492,12 @@ public class ForgeEventFactory
 
     public static void onPotionBrewed(NonNullList<ItemStack> brewingItemStacks)
     {
-        MinecraftForge.EVENT_BUS.post(new PotionBrewEvent.Post(brewingItemStacks));
+        EventTimings.post(new PotionBrewEvent.Post(brewingItemStacks));
     }
 
     public static void onPlayerBrewedPotion(Player player, ItemStack stack)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerBrewedPotionEvent(player, stack));
+        EventTimings.post(new PlayerBrewedPotionEvent(player, stack));
     }
 
     @Nullable
@@ -507,14 +516,14 @@ public class ForgeEventFactory
     @Nullable
     private static CapabilityDispatcher gatherCapabilities(AttachCapabilitiesEvent<?> event, @Nullable ICapabilityProvider parent)
     {
-        MinecraftForge.EVENT_BUS.post(event);
-        return event.getCapabilities().size() > 0 || parent != null ? new CapabilityDispatcher(event.getCapabilities(), event.getListeners(), parent) : null;
+        EventTimings.post(event);
+        return event.getCapabilities().size() > 0 || parent != null ? new CapabilityDispatcher(event.getCapabilities(), event.getExposedCapabilities(), event.getListeners(), parent) : null;
     }
 
     public static boolean fireSleepingLocationCheck(LivingEntity player, BlockPos sleepingLocation)
     {
         SleepingLocationCheckEvent evt = new SleepingLocationCheckEvent(player, sleepingLocation);
-        MinecraftForge.EVENT_BUS.post(evt);
+        EventTimings.post(evt);
 
         Result canContinueSleep = evt.getResult();
         if (canContinueSleep == Result.DEFAULT)
@@ -531,7 +540,7 @@ public class ForgeEventFactory
     public static boolean fireSleepingTimeCheck(Player player, Optional<BlockPos> sleepingLocation)
     {
         SleepingTimeCheckEvent evt = new SleepingTimeCheckEvent(player, sleepingLocation);
-        MinecraftForge.EVENT_BUS.post(evt);
+        EventTimings.post(evt);
 
         Result canContinueSleep = evt.getResult();
         if (canContinueSleep == Result.DEFAULT)
@@ -543,7 +552,7 @@ public class ForgeEventFactory
     public static InteractionResultHolder<ItemStack> onArrowNock(ItemStack item, Level level, Player player, InteractionHand hand, boolean hasAmmo)
     {
         ArrowNockEvent event = new ArrowNockEvent(player, item, hand, level, hasAmmo);
-        if (MinecraftForge.EVENT_BUS.post(event))
+        if (EventTimings.post(event))
             return new InteractionResultHolder<ItemStack>(InteractionResult.FAIL, item);
         return event.getAction();
     }
@@ -551,20 +560,20 @@ public class ForgeEventFactory
     public static int onArrowLoose(ItemStack stack, Level level, Player player, int charge, boolean hasAmmo)
     {
         ArrowLooseEvent event = new ArrowLooseEvent(player, stack, level, charge, hasAmmo);
-        if (MinecraftForge.EVENT_BUS.post(event))
+        if (EventTimings.post(event))
             return -1;
         return event.getCharge();
     }
 
     public static boolean onProjectileImpact(Projectile projectile, HitResult ray)
     {
-        return MinecraftForge.EVENT_BUS.post(new ProjectileImpactEvent(projectile, ray));
+        return EventTimings.post(new ProjectileImpactEvent(projectile, ray));
     }
 
     public static LootTable loadLootTable(ResourceLocation name, LootTable table, LootTables lootTableManager)
     {
         LootTableLoadEvent event = new LootTableLoadEvent(name, table, lootTableManager);
-        if (MinecraftForge.EVENT_BUS.post(event))
+        if (EventTimings.post(event))
             return LootTable.EMPTY;
         return event.getTable();
     }
@@ -572,7 +581,7 @@ public class ForgeEventFactory
     public static boolean canCreateFluidSource(LevelReader level, BlockPos pos, BlockState state, boolean def)
     {
         CreateFluidSourceEvent evt = new CreateFluidSourceEvent(level, pos, state);
-        MinecraftForge.EVENT_BUS.post(evt);
+        EventTimings.post(evt);
 
         Result result = evt.getResult();
         return result == Result.DEFAULT ? def : result == Result.ALLOW;
@@ -581,25 +590,27 @@ public class ForgeEventFactory
     public static Optional<PortalShape> onTrySpawnPortal(LevelAccessor level, BlockPos pos, Optional<PortalShape> size)
     {
         if (!size.isPresent()) return size;
-        return !MinecraftForge.EVENT_BUS.post(new BlockEvent.PortalSpawnEvent(level, pos, level.getBlockState(pos), size.get())) ? size : Optional.empty();
+        return !EventTimings.post(new BlockEvent.PortalSpawnEvent(level, pos, level.getBlockState(pos), size.get())) ? size : Optional.empty();
     }
 
     public static int onEnchantmentLevelSet(Level level, BlockPos pos, int enchantRow, int power, ItemStack itemStack, int enchantmentLevel)
     {
         net.minecraftforge.event.enchanting.EnchantmentLevelSetEvent e = new net.minecraftforge.event.enchanting.EnchantmentLevelSetEvent(level, pos, enchantRow, power, itemStack, enchantmentLevel);
-        net.minecraftforge.common.MinecraftForge.EVENT_BUS.post(e);
+        net.minecraftforge.common.EventTimings.post(e);
         return e.getEnchantLevel();
     }
 
     public static boolean onEntityDestroyBlock(LivingEntity entity, BlockPos pos, BlockState state)
     {
-        return !MinecraftForge.EVENT_BUS.post(new LivingDestroyBlockEvent(entity, pos, state));
+        return !EventTimings.post(new LivingDestroyBlockEvent(entity, pos, state));
     }
 
     public static boolean getMobGriefingEvent(Level level, Entity entity)
     {
+        if (!MOB_GRIEFING.hasListeners())
+            return level.getGameRules().getBoolean(GameRules.RULE_MOBGRIEFING);
         EntityMobGriefingEvent event = new EntityMobGriefingEvent(entity);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
 
         Result result = event.getResult();
         return result == Result.DEFAULT ? level.getGameRules().getBoolean(GameRules.RULE_MOBGRIEFING) : result == Result.ALLOW;
@@ -608,112 +619,112 @@ public class ForgeEventFactory
     public static boolean saplingGrowTree(LevelAccessor level, RandomSource randomSource, BlockPos pos)
     {
         SaplingGrowTreeEvent event = new SaplingGrowTreeEvent(level, randomSource, pos);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.getResult() != Result.DENY;
     }
 
     public static void fireChunkTicketLevelUpdated(ServerLevel level, long chunkPos, int oldTicketLevel, int newTicketLevel, @Nullable ChunkHolder chunkHolder)
     {
         if (oldTicketLevel != newTicketLevel)
-            MinecraftForge.EVENT_BUS.post(new ChunkTicketLevelUpdatedEvent(level, chunkPos, oldTicketLevel, newTicketLevel, chunkHolder));
+            EventTimings.post(new ChunkTicketLevelUpdatedEvent(level, chunkPos, oldTicketLevel, newTicketLevel, chunkHolder));
     }
 
     public static void fireChunkWatch(ServerPlayer entity, LevelChunk chunk, ServerLevel level)
     {
-        MinecraftForge.EVENT_BUS.post(new ChunkWatchEvent.Watch(entity, chunk, level));
+        EventTimings.post(new ChunkWatchEvent.Watch(entity, chunk, level));
     }
 
     public static void fireChunkUnWatch(ServerPlayer entity, ChunkPos chunkpos, ServerLevel level)
     {
-        MinecraftForge.EVENT_BUS.post(new ChunkWatchEvent.UnWatch(entity, chunkpos, level));
+        EventTimings.post(new ChunkWatchEvent.UnWatch(entity, chunkpos, level));
     }
 
     public static boolean onPistonMovePre(Level level, BlockPos pos, Direction direction, boolean extending)
     {
-        return MinecraftForge.EVENT_BUS.post(new PistonEvent.Pre(level, pos, direction, extending ? PistonEvent.PistonMoveType.EXTEND : PistonEvent.PistonMoveType.RETRACT));
+        return EventTimings.post(new PistonEvent.Pre(level, pos, direction, extending ? PistonEvent.PistonMoveType.EXTEND : PistonEvent.PistonMoveType.RETRACT));
     }
 
     public static boolean onPistonMovePost(Level level, BlockPos pos, Direction direction, boolean extending)
     {
-        return MinecraftForge.EVENT_BUS.post(new PistonEvent.Post(level, pos, direction, extending ? PistonEvent.PistonMoveType.EXTEND : PistonEvent.PistonMoveType.RETRACT));
+        return EventTimings.post(new PistonEvent.Post(level, pos, direction, extending ? PistonEvent.PistonMoveType.EXTEND : PistonEvent.PistonMoveType.RETRACT));
     }
 
     public static long onSleepFinished(ServerLevel level, long newTime, long minTime)
     {
         SleepFinishedTimeEvent event = new SleepFinishedTimeEvent(level, newTime, minTime);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.getNewTime();
     }
 
     public static List<PreparableReloadListener> onResourceReload(ReloadableServerResources serverResources)
     {
         AddReloadListenerEvent event = new AddReloadListenerEvent(serverResources);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event.getListeners();
     }
 
     public static void onCommandRegister(CommandDispatcher<CommandSourceStack> dispatcher, Commands.CommandSelection environment, CommandBuildContext context)
     {
         RegisterCommandsEvent event = new RegisterCommandsEvent(dispatcher, environment, context);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
     }
 
     public static net.minecraftforge.event.entity.EntityEvent.Size getEntitySizeForge(Entity entity, Pose pose, EntityDimensions size, float eyeHeight)
     {
         EntityEvent.Size evt = new EntityEvent.Size(entity, pose, size, eyeHeight);
-        MinecraftForge.EVENT_BUS.post(evt);
+        EventTimings.post(evt);
         return evt;
     }
 
     public static net.minecraftforge.event.entity.EntityEvent.Size getEntitySizeForge(Entity entity, Pose pose, EntityDimensions oldSize, EntityDimensions newSize, float newEyeHeight)
     {
         EntityEvent.Size evt = new EntityEvent.Size(entity, pose, oldSize, newSize, entity.getEyeHeight(), newEyeHeight);
-        MinecraftForge.EVENT_BUS.post(evt);
+        EventTimings.post(evt);
         return evt;
     }
 
     public static boolean canLivingConvert(LivingEntity entity, EntityType<? extends LivingEntity> outcome, Consumer<Integer> timer)
     {
-        return !MinecraftForge.EVENT_BUS.post(new LivingConversionEvent.Pre(entity, outcome, timer));
+        return !EventTimings.post(new LivingConversionEvent.Pre(entity, outcome, timer));
     }
 
     public static void onLivingConvert(LivingEntity entity, LivingEntity outcome)
     {
-        MinecraftForge.EVENT_BUS.post(new LivingConversionEvent.Post(entity, outcome));
+        EventTimings.post(new LivingConversionEvent.Post(entity, outcome));
     }
 
     public static EntityTeleportEvent.TeleportCommand onEntityTeleportCommand(Entity entity, double targetX, double targetY, double targetZ)
     {
         EntityTeleportEvent.TeleportCommand event = new EntityTeleportEvent.TeleportCommand(entity, targetX, targetY, targetZ);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event;
     }
 
     public static EntityTeleportEvent.SpreadPlayersCommand onEntityTeleportSpreadPlayersCommand(Entity entity, double targetX, double targetY, double targetZ)
     {
         EntityTeleportEvent.SpreadPlayersCommand event = new EntityTeleportEvent.SpreadPlayersCommand(entity, targetX, targetY, targetZ);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event;
     }
 
     public static EntityTeleportEvent.EnderEntity onEnderTeleport(LivingEntity entity, double targetX, double targetY, double targetZ)
     {
         EntityTeleportEvent.EnderEntity event = new EntityTeleportEvent.EnderEntity(entity, targetX, targetY, targetZ);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event;
     }
 
     public static EntityTeleportEvent.EnderPearl onEnderPearlLand(ServerPlayer entity, double targetX, double targetY, double targetZ, ThrownEnderpearl pearlEntity, float attackDamage)
     {
         EntityTeleportEvent.EnderPearl event = new EntityTeleportEvent.EnderPearl(entity, targetX, targetY, targetZ, pearlEntity, attackDamage);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event;
     }
 
     public static EntityTeleportEvent.ChorusFruit onChorusFruitTeleport(LivingEntity entity, double targetX, double targetY, double targetZ)
     {
         EntityTeleportEvent.ChorusFruit event = new EntityTeleportEvent.ChorusFruit(entity, targetX, targetY, targetZ);
-        MinecraftForge.EVENT_BUS.post(event);
+        EventTimings.post(event);
         return event;
     }
 
@@ -723,100 +734,100 @@ public class ForgeEventFactory
         ServerPlayer player = playerList.getPlayer(gameProfile.getId());
         if (newLevel != oldLevel && player != null)
         {
-            return MinecraftForge.EVENT_BUS.post(new PermissionsChangedEvent(player, newLevel, oldLevel));
+            return EventTimings.post(new PermissionsChangedEvent(player, newLevel, oldLevel));
         }
         return false;
     }
 
     public static void firePlayerChangedDimensionEvent(Player player, ResourceKey<Level> fromDim, ResourceKey<Level> toDim)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerEvent.PlayerChangedDimensionEvent(player, fromDim, toDim));
+        EventTimings.post(new PlayerEvent.PlayerChangedDimensionEvent(player, fromDim, toDim));
     }
 
     public static void firePlayerLoggedIn(Player player)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerEvent.PlayerLoggedInEvent(player));
+        EventTimings.post(new PlayerEvent.PlayerLoggedInEvent(player));
     }
 
     public static void firePlayerLoggedOut(Player player)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerEvent.PlayerLoggedOutEvent(player));
+        EventTimings.post(new PlayerEvent.PlayerLoggedOutEvent(player));
     }
 
     public static void firePlayerRespawnEvent(Player player, boolean endConquered)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerEvent.PlayerRespawnEvent(player, endConquered));
+        EventTimings.post(new PlayerEvent.PlayerRespawnEvent(player, endConquered));
     }
 
     public static void firePlayerItemPickupEvent(Player player, ItemEntity item, ItemStack clone)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerEvent.ItemPickupEvent(player, item, clone));
+        EventTimings.post(new PlayerEvent.ItemPickupEvent(player, item, clone));
     }
 
     public static void firePlayerCraftingEvent(Player player, ItemStack crafted, Container craftMatrix)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerEvent.ItemCraftedEvent(player, crafted, craftMatrix));
+        EventTimings.post(new PlayerEvent.ItemCraftedEvent(player, crafted, craftMatrix));
     }
 
     public static void firePlayerSmeltedEvent(Player player, ItemStack smelted)
     {
-        MinecraftForge.EVENT_BUS.post(new PlayerEvent.ItemSmeltedEvent(player, smelted));
+        EventTimings.post(new PlayerEvent.ItemSmeltedEvent(player, smelted));
     }
 
     public static void onRenderTickStart(float timer)
     {
-        MinecraftForge.EVENT_BUS.post(new TickEvent.RenderTickEvent(TickEvent.Phase.START, timer));
+        EventTimings.post(new TickEvent.RenderTickEvent(TickEvent.Phase.START, timer));
     }
 
     public static void onRenderTickEnd(float timer)
     {
-        MinecraftForge.EVENT_BUS.post(new TickEvent.RenderTickEvent(TickEvent.Phase.END, timer));
+        EventTimings.post(new TickEvent.RenderTickEvent(TickEvent.Phase.END, timer));
     }
 
     public static void onPlayerPreTick(Player player)
     {
-        MinecraftForge.EVENT_BUS.post(new TickEvent.PlayerTickEvent(TickEvent.Phase.START, player));
+        EventTimings.post(new TickEvent.PlayerTickEvent(TickEvent.Phase.START, player));
     }
 
     public static void onPlayerPostTick(Player player)
     {
-        MinecraftForge.EVENT_BUS.post(new TickEvent.PlayerTickEvent(TickEvent.Phase.END, player));
+        EventTimings.post(new TickEvent.PlayerTickEvent(TickEvent.Phase.END, player));
     }
 
     public static void onPreLevelTick(Level level, BooleanSupplier haveTime)
     {
-        MinecraftForge.EVENT_BUS.post(new TickEvent.LevelTickEvent(LogicalSide.SERVER, TickEvent.Phase.START, level, haveTime));
+        EventTimings.post(new TickEvent.LevelTickEvent(LogicalSide.SERVER, TickEvent.Phase.START, level, haveTime));
     }
 
     public static void onPostLevelTick(Level level, BooleanSupplier haveTime)
     {
-        MinecraftForge.EVENT_BUS.post(new TickEvent.LevelTickEvent(LogicalSide.SERVER, TickEvent.Phase.END, level, haveTime));
+        EventTimings.post(new TickEvent.LevelTickEvent(LogicalSide.SERVER, TickEvent.Phase.END, level, haveTime));
     }
 
     public static void onPreClientTick()
     {
-        MinecraftForge.EVENT_BUS.post(new TickEvent.ClientTickEvent(TickEvent.Phase.START));
+        EventTimings.post(new TickEvent.ClientTickEvent(TickEvent.Phase.START));
     }
 
     public static void onPostClientTick()
     {
-        MinecraftForge.EVENT_BUS.post(new TickEvent.ClientTickEvent(TickEvent.Phase.END));
+        EventTimings.post(new TickEvent.ClientTickEvent(TickEvent.Phase.END));
     }
 
     public static void onPreServerTick(BooleanSupplier haveTime, MinecraftServer server)
     {
-        MinecraftForge.EVENT_BUS.post(new TickEvent.ServerTickEvent(TickEvent.Phase.START, haveTime, server));
+        EventTimings.post(new TickEvent.ServerTickEvent(TickEvent.Phase.START, haveTime, server));
     }
 
     public static void onPostServerTick(BooleanSupplier haveTime, MinecraftServer server)
     {
-        MinecraftForge.EVENT_BUS.post(new TickEvent.ServerTickEvent(TickEvent.Phase.END, haveTime, server));
+        EventTimings.post(new TickEvent.ServerTickEvent(TickEvent.Phase.END, haveTime, server));
     }
 
     public static WeightedRandomList<MobSpawnSettings.SpawnerData> getPotentialSpawns(LevelAccessor level, MobCategory category, BlockPos pos, WeightedRandomList<MobSpawnSettings.SpawnerData> oldList)
     {
         LevelEvent.PotentialSpawns event = new LevelEvent.PotentialSpawns(level, category, pos, oldList);
-        if (MinecraftForge.EVENT_BUS.post(event))
+        if (EventTimings.post(event))
             return WeightedRandomList.create();
         return WeightedRandomList.create(event.getSpawnerDataList());
     }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.network;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Computes and applies the changes between two versions of a config, which is how {@link ConfigSync} sends reloaded
+ * server configs to clients without resending whole files.
+ */
+public final class ConfigDelta
+{
+    private ConfigDelta() {}
+
+    /**
+     * @return All values of the config and its sub configs, by their path
+     */
+    public static Map<List<String>, Object> flatten(UnmodifiableConfig config)
+    {
+        Map<List<String>, Object> ret = new LinkedHashMap<>();
+        flatten(config, new ArrayList<>(), ret);
+        return ret;
+    }
+
+    private static void flatten(UnmodifiableConfig config, List<String> parent, Map<List<String>, Object> ret)
+    {
+        for (UnmodifiableConfig.Entry entry : config.entrySet())
+        {
+            List<String> path = new ArrayList<>(parent);
+            path.add(entry.getKey());
+            if (entry.getValue() instanceof UnmodifiableConfig sub)
+                flatten(sub, path, ret);
+            else
+                ret.put(List.copyOf(path), entry.getValue());
+        }
+    }
+
+    /**
+     * @return A config holding the values of {@code current} which differ from {@code previous}, or null if values were
+     *         added or removed, in which case the whole config has to be sent
+     */
+    @Nullable
+    public static CommentedConfig diff(Map<List<String>, Object> previous, Map<List<String>, Object> current)
+    {
+        if (!previous.keySet().equals(current.keySet()))
+            return null;
+
+        CommentedConfig changes = CommentedConfig.inMemory();
+        current.forEach((path, value) -> {
+            if (!Objects.equals(previous.get(path), value))
+                changes.set(path, value);
+        });
+        return changes;
+    }
+
+    /**
+     * Sets every value of {@code changes} on the target config.
+     */
+    public static void apply(Config target, UnmodifiableConfig changes)
+    {
+        flatten(changes).forEach(target::set);
+    }
+}
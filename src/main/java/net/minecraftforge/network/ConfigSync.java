@@ -5,25 +5,68 @@
 
 package net.minecraftforge.network;
 
-import net.minecraft.client.Minecraft;
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.electronwill.nightconfig.toml.TomlFormat;
+import com.google.common.hash.Hashing;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.Connection;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.MinecraftServer;
 import net.minecraftforge.fml.config.ConfigTracker;
 import net.minecraftforge.fml.config.ModConfig;
+import net.minecraftforge.fml.loading.FMLPaths;
+import net.minecraftforge.server.ServerLifecycleHooks;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.ApiStatus;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Sends the server configs to clients.
+ * <p>
+ * Clients keep every server config they receive in a cache keyed by the hash of its contents, and report the hashes they
+ * have in {@link HandshakeMessages.C2SModListReply}. On login the server then only sends the files the client does not have
+ * yet, and a {@link HandshakeMessages.S2CConfigReference} for the others.
+ * <p>
+ * When a server config file changes while the server is running, only the values which changed are sent to the players
+ * whose clients support it.
+ */
 public class ConfigSync {
+    private static final Logger LOGGER = LogManager.getLogger();
+    /**
+     * The number of config files clients keep in their cache. The least recently used ones are removed first.
+     */
+    private static final int MAX_CACHED_CONFIGS = 512;
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
     public static final ConfigSync INSTANCE = new ConfigSync(ConfigTracker.INSTANCE);
     private final ConfigTracker tracker;
+    // The values last sent to clients on the server, by file name
+    private final Map<String, Map<List<String>, Object>> syncedValues = new ConcurrentHashMap<>();
+    // The contents last received from the server on the client, by file name
+    private final Map<String, byte[]> receivedConfigs = new ConcurrentHashMap<>();
 
     private ConfigSync(final ConfigTracker tracker) {
         this.tracker = tracker;
+        tracker.addReloadListener(this::onConfigReloaded);
     }
 
     public List<Pair<String, HandshakeMessages.S2CConfigData>> syncConfigs(boolean isLocal) {
@@ -37,9 +80,203 @@ public class ConfigSync {
         return configData.entrySet().stream().map(e->Pair.of("Config "+e.getKey(), new HandshakeMessages.S2CConfigData(e.getKey(), e.getValue()))).collect(Collectors.toList());
     }
 
+    /**
+     * Builds the login payloads syncing the server configs to a client, leaving out the contents of the files the client
+     * already has in its cache.
+     *
+     * @param cachedHashes The hashes of the configs the client has cached
+     */
+    @ApiStatus.Internal
+    public List<NetworkRegistry.LoginPayload> gatherConfigPayloads(final Set<String> cachedHashes, boolean isLocal) {
+        // The client of a local server shares the server's configs
+        if (isLocal)
+            return List.of();
+
+        List<NetworkRegistry.LoginPayload> ret = new ArrayList<>();
+        for (ModConfig mc : tracker.configSets().get(ModConfig.Type.SERVER)) {
+            final byte[] data;
+            try {
+                data = Files.readAllBytes(mc.getFullPath());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            // Replaced on each login, as a previous server may have had a config with the same name
+            this.syncedValues.put(mc.getFileName(), ConfigDelta.flatten(parse(data)));
+
+            final String hash = hash(data);
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            if (cachedHashes.contains(hash)) {
+                NetworkConstants.handshakeChannel.encodeMessage(new HandshakeMessages.S2CConfigReference(mc.getFileName(), hash), buf);
+                ret.add(new NetworkRegistry.LoginPayload(buf, NetworkConstants.FML_HANDSHAKE_RESOURCE, "Cached config " + mc.getFileName()));
+            } else {
+                NetworkConstants.handshakeChannel.encodeMessage(new HandshakeMessages.S2CConfigData(mc.getFileName(), data), buf);
+                ret.add(new NetworkRegistry.LoginPayload(buf, NetworkConstants.FML_HANDSHAKE_RESOURCE, "Config " + mc.getFileName()));
+            }
+        }
+        return ret;
+    }
+
+    private void onConfigReloaded(final ModConfig mc) {
+        if (mc.getType() != ModConfig.Type.SERVER || mc.getConfigData() == null)
+            return;
+        final MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null)
+            return;
+        server.execute(() -> sendChanges(mc, server.getPlayerList().getPlayers().stream().map(player -> player.connection.connection).toList()));
+    }
+
+    /**
+     * Sends the values of a server config which changed since they were last sent to those of the given connections
+     * whose clients support it.
+     */
+    @ApiStatus.Internal
+    public void sendChanges(final ModConfig mc, final Collection<Connection> connections) {
+        final Map<List<String>, Object> previous = this.syncedValues.get(mc.getFileName());
+        // Without previous values no client has received this config yet, so there is nothing to update
+        if (previous == null || mc.getConfigData() == null)
+            return;
+
+        final Map<List<String>, Object> current = ConfigDelta.flatten(mc.getConfigData());
+        this.syncedValues.put(mc.getFileName(), current);
+        final CommentedConfig changes = ConfigDelta.diff(previous, current);
+        final PlayMessages.SyncConfig msg;
+        if (changes == null) {
+            msg = new PlayMessages.SyncConfig(mc.getFileName(), false, write(mc.getConfigData()));
+        } else if (!changes.isEmpty()) {
+            LOGGER.debug(HandshakeHandler.FMLHSMARKER, "Sending {} changed values of config {}", changes.size(), mc.getFileName());
+            msg = new PlayMessages.SyncConfig(mc.getFileName(), true, write(changes));
+        } else {
+            return;
+        }
+        // Older clients don't know the message, they only get the new values when they reconnect
+        final List<Connection> recipients = connections.stream()
+                .filter(connection -> connection.channel() != null && connection.channel().attr(NetworkConstants.FML_CONFIG_DELTAS).get() == Boolean.TRUE)
+                .toList();
+        NetworkConstants.playChannel.send(PacketDistributor.NMLIST.with(() -> recipients), msg);
+    }
+
     public void receiveSyncedConfig(final HandshakeMessages.S2CConfigData s2CConfigData, final Supplier<NetworkEvent.Context> contextSupplier) {
-        if (!Minecraft.getInstance().isLocalServer()) {
+        // The client of a local server shares the server's configs
+        if (!contextSupplier.get().getNetworkManager().isMemoryConnection()) {
             Optional.ofNullable(tracker.fileMap().get(s2CConfigData.getFileName())).ifPresent(mc-> mc.acceptSyncedConfig(s2CConfigData.getBytes()));
+            this.receivedConfigs.put(s2CConfigData.getFileName(), s2CConfigData.getBytes());
+            cacheConfig(s2CConfigData.getBytes());
+        }
+    }
+
+    /**
+     * Loads a config the server told us to take from the cache.
+     *
+     * @param isLocal Whether the server is the local one, whose configs the client shares
+     * @return false if the config is no longer cached
+     */
+    boolean receiveConfigReference(final HandshakeMessages.S2CConfigReference reference, boolean isLocal) {
+        if (isLocal)
+            return true;
+        // The hash comes from the server and names a file, anything else could point outside of the cache
+        if (!isHash(reference.getHash())) {
+            LOGGER.error(HandshakeHandler.FMLHSMARKER, "Server referenced config {} by an invalid hash", reference.getFileName());
+            return false;
+        }
+        final Path file = getCacheDir().resolve(reference.getHash());
+        final byte[] data;
+        try {
+            data = Files.readAllBytes(file);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            LOGGER.error(HandshakeHandler.FMLHSMARKER, "Failed to read cached config {} for {}", reference.getHash(), reference.getFileName(), e);
+            return false;
         }
+        if (!reference.getHash().equals(hash(data))) {
+            LOGGER.error(HandshakeHandler.FMLHSMARKER, "Cached config {} for {} is corrupt", reference.getHash(), reference.getFileName());
+            return false;
+        }
+        Optional.ofNullable(tracker.fileMap().get(reference.getFileName())).ifPresent(mc -> mc.acceptSyncedConfig(data));
+        this.receivedConfigs.put(reference.getFileName(), data);
+        return true;
+    }
+
+    void receiveConfigChanges(final PlayMessages.SyncConfig msg, boolean isLocal) {
+        if (isLocal)
+            return;
+        final ModConfig mc = tracker.fileMap().get(msg.getFileName());
+        if (mc == null)
+            return;
+
+        byte[] data = msg.getData();
+        if (msg.isDelta()) {
+            final byte[] previous = this.receivedConfigs.get(msg.getFileName());
+            if (previous == null) {
+                LOGGER.warn(HandshakeHandler.FMLHSMARKER, "Received changes to config {}, which the server never sent", msg.getFileName());
+                return;
+            }
+            final CommentedConfig config = parse(previous);
+            ConfigDelta.apply(config, parse(data));
+            data = write(config);
+        }
+        // Not cached, the server hashes its files as they are on disk rather than the merged contents
+        this.receivedConfigs.put(msg.getFileName(), data);
+        mc.acceptSyncedConfig(data);
+    }
+
+    /**
+     * @return The hashes of all configs cached on this client
+     */
+    Set<String> getCachedConfigHashes() {
+        final Path dir = getCacheDir();
+        if (!Files.isDirectory(dir))
+            return Set.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString()).filter(ConfigSync::isHash).collect(Collectors.toSet());
+        } catch (IOException e) {
+            LOGGER.warn(HandshakeHandler.FMLHSMARKER, "Failed to list cached configs", e);
+            return Set.of();
+        }
+    }
+
+    private void cacheConfig(final byte[] data) {
+        final Path dir = getCacheDir();
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve(hash(data)), data);
+            try (Stream<Path> files = Files.list(dir)) {
+                final List<Path> cached = files.sorted(Comparator.comparing(ConfigSync::lastModified).reversed()).toList();
+                for (Path old : cached.subList(Math.min(cached.size(), MAX_CACHED_CONFIGS), cached.size()))
+                    Files.deleteIfExists(old);
+            }
+        } catch (IOException e) {
+            LOGGER.warn(HandshakeHandler.FMLHSMARKER, "Failed to cache config", e);
+        }
+    }
+
+    private static FileTime lastModified(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static Path getCacheDir() {
+        return FMLPaths.GAMEDIR.get().resolve("caches").resolve("serverconfig");
+    }
+
+    private static String hash(final byte[] data) {
+        return Hashing.sha256().hashBytes(data).toString();
+    }
+
+    /**
+     * @return Whether the given string is formatted like the result of {@link #hash(byte[])}
+     */
+    private static boolean isHash(final String hash) {
+        return HASH_PATTERN.matcher(hash).matches();
+    }
+
+    private static CommentedConfig parse(final byte[] data) {
+        return TomlFormat.instance().createParser().parse(new ByteArrayInputStream(data));
+    }
+
+    private static byte[] write(final CommentedConfig config) {
+        return TomlFormat.instance().createWriter().writeToString(config).getBytes(StandardCharsets.UTF_8);
     }
 }
@@ -77,6 +77,12 @@ import static net.minecraftforge.registries.ForgeRegistry.REGISTRIES;
  *
  * <p>Once all packets have been dispatched, we wait for all replies to be received. Once all replies are received, the
  * final login phase will commence.
+ *
+ * <p>When both sides support it, announced by {@link HandshakeMessages.S2CModList#supportsPipelining()} and
+ * {@link HandshakeMessages.C2SModListReply#supportsPipelining()}, the handshake is pipelined: as soon as the client's
+ * mod list reply arrives, all remaining packets are sent at once and larger ones compressed, and the client acknowledges
+ * all registries with a single {@link HandshakeMessages.C2SBulkAcknowledge}. Older clients and servers keep using the
+ * sequential handshake.
  */
 public class HandshakeHandler
 {
@@ -106,7 +112,8 @@ public class HandshakeHandler
 
     private List<NetworkRegistry.LoginPayload> messageList;
 
-    private List<Integer> sentMessages = new ArrayList<>();
+    // Replies are handled on the network thread while the server thread sends
+    private List<Integer> sentMessages = Collections.synchronizedList(new ArrayList<>());
 
     private final NetworkDirection direction;
     private final Connection manager;
@@ -115,6 +122,10 @@ public class HandshakeHandler
     private Set<ResourceLocation> registriesToReceive;
     private Map<ResourceLocation, String> registryHashes;
     private boolean negotiationStarted = false;
+    private volatile boolean pipelined = false;
+    // Built once the client's mod list reply tells us which configs it has cached
+    private volatile List<NetworkRegistry.LoginPayload> configPayloads;
+    private final List<Integer> pendingRegistryAcks = new ArrayList<>();
     private final List<Future<Void>> pendingFutures = new ArrayList<>();
 
     private HandshakeHandler(Connection networkManager, NetworkDirection side)
@@ -122,13 +133,13 @@ public class HandshakeHandler
         this.direction = side;
         this.manager = networkManager;
         if (networkManager.isMemoryConnection()) {
-            this.messageList = NetworkRegistry.gatherLoginPayloads(this.direction, true);
+            this.messageList = new ArrayList<>(NetworkRegistry.gatherLoginPayloads(this.direction, true));
             LOGGER.debug(FMLHSMARKER, "Starting local connection.");
         } else if (NetworkHooks.getConnectionType(()->this.manager)== ConnectionType.VANILLA) {
             this.messageList = Collections.emptyList();
             LOGGER.debug(FMLHSMARKER, "Starting new vanilla impl connection.");
         } else {
-            this.messageList = NetworkRegistry.gatherLoginPayloads(this.direction, false);
+            this.messageList = new ArrayList<>(NetworkRegistry.gatherLoginPayloads(this.direction, false));
             LOGGER.debug(FMLHSMARKER, "Starting new modded impl connection. Found {} messages to dispatch.", this.messageList.size());
         }
     }
@@ -218,6 +229,7 @@ public class HandshakeHandler
 
         this.registriesToReceive = new HashSet<>(serverModList.getRegistries());
         this.registrySnapshots = Maps.newHashMap();
+        this.pipelined = serverModList.supportsPipelining();
         LOGGER.debug(REGISTRIES, "Expecting {} registries: {}", ()->this.registriesToReceive.size(), ()->this.registriesToReceive);
     }
 
@@ -247,9 +259,17 @@ public class HandshakeHandler
             LOGGER.error(FMLHSMARKER, "Terminating connection with client, mismatched mod list");
             NetworkConstants.handshakeChannel.reply(new HandshakeMessages.S2CChannelMismatchData(mismatchedChannels), c.get());
             c.get().getNetworkManager().disconnect(Component.literal("Connection closed - mismatched mod channel list"));
+            handleIndexedMessage(clientModList, c);
             return;
         }
         LOGGER.debug(FMLHSMARKER, "Accepted client connection mod list");
+        this.pipelined = clientModList.supportsPipelining();
+        final Set<String> cachedConfigs = clientModList.getCachedConfigs();
+        if (cachedConfigs != null)
+            c.get().getNetworkManager().channel().attr(NetworkConstants.FML_CONFIG_DELTAS).set(true);
+        this.configPayloads = ConfigSync.INSTANCE.gatherConfigPayloads(cachedConfigs == null ? Set.of() : cachedConfigs, this.manager.isMemoryConnection());
+        // Only now, as the handshake completes once no replies are pending
+        handleIndexedMessage(clientModList, c);
     }
 
     void handleModMismatchData(HandshakeMessages.S2CChannelMismatchData modMismatchData, Supplier<NetworkEvent.Context> c)
@@ -279,8 +299,15 @@ public class HandshakeHandler
         contextSupplier.get().setPacketHandled(true);
         if (!continueHandshake) {
             LOGGER.error(FMLHSMARKER, "Connection closed, not continuing handshake");
-        } else {
+        } else if (!this.pipelined) {
             NetworkConstants.handshakeChannel.reply(new HandshakeMessages.C2SAcknowledge(), contextSupplier.get());
+        } else if (!this.registriesToReceive.isEmpty()) {
+            // Acknowledged together with the last registry
+            this.pendingRegistryAcks.add(registryPacket.getAsInt());
+        } else {
+            int[] indices = this.pendingRegistryAcks.stream().mapToInt(Integer::intValue).toArray();
+            this.pendingRegistryAcks.clear();
+            NetworkConstants.handshakeChannel.reply(new HandshakeMessages.C2SBulkAcknowledge(indices), contextSupplier.get());
         }
     }
 
@@ -323,18 +350,42 @@ public class HandshakeHandler
         contextSupplier.get().setPacketHandled(true);
     }
 
+    void handleClientBulkAck(final HandshakeMessages.C2SBulkAcknowledge msg, final Supplier<NetworkEvent.Context> contextSupplier) {
+        LOGGER.debug(FMLHSMARKER, "Received bulk acknowledgement of {} more packets from client", msg.getIndices().length);
+        for (int index : msg.getIndices()) {
+            if (!this.sentMessages.remove((Integer) index)) {
+                LOGGER.error(FMLHSMARKER, "Recieved unexpected index {} in client reply", index);
+            }
+        }
+        contextSupplier.get().setPacketHandled(true);
+    }
+
     void handleConfigSync(final HandshakeMessages.S2CConfigData msg, final Supplier<NetworkEvent.Context> contextSupplier) {
         LOGGER.debug(FMLHSMARKER, "Received config sync from server");
         ConfigSync.INSTANCE.receiveSyncedConfig(msg, contextSupplier);
         contextSupplier.get().setPacketHandled(true);
         NetworkConstants.handshakeChannel.reply(new HandshakeMessages.C2SAcknowledge(), contextSupplier.get());
     }
+
+    void handleConfigReference(final HandshakeMessages.S2CConfigReference msg, final Supplier<NetworkEvent.Context> contextSupplier) {
+        LOGGER.debug(FMLHSMARKER, "Received cached config reference from server");
+        contextSupplier.get().setPacketHandled(true);
+        if (!ConfigSync.INSTANCE.receiveConfigReference(msg, this.manager.isMemoryConnection())) {
+            this.manager.disconnect(Component.literal("Failed to load cached server config " + msg.getFileName() + ", please reconnect"));
+            return;
+        }
+        NetworkConstants.handshakeChannel.reply(new HandshakeMessages.C2SAcknowledge(), contextSupplier.get());
+    }
+
     /**
      * FML will send packets, from Server to Client, from the messages queue until the queue is drained. Each message
      * will be indexed, and placed into the "pending acknowledgement" queue.
      *
      * As indexed packets are received at the server, they will be removed from the "pending acknowledgement" queue.
      *
+     * One message is sent per tick, until the client has announced support for the pipelined handshake. From then on all
+     * remaining messages are sent in the same tick.
+     *
      * Once the pending queue is drained, this method returns true - indicating that login processing can proceed to
      * the next step.
      *
@@ -349,14 +400,22 @@ public class HandshakeHandler
             negotiationStarted = true;
         }
 
-        if (packetPosition < messageList.size()) {
+        final List<NetworkRegistry.LoginPayload> configs = this.configPayloads;
+        if (configs != null) {
+            this.configPayloads = null;
+            this.messageList.addAll(configs);
+        }
+
+        while (packetPosition < messageList.size()) {
             NetworkRegistry.LoginPayload message = messageList.get(packetPosition);
 
             LOGGER.debug(FMLHSMARKER, "Sending ticking packet info '{}' to '{}' sequence {}", message.getMessageContext(), message.getChannelName(), packetPosition);
             if (message.needsResponse())
                 sentMessages.add(packetPosition);
-            loginWrapper.sendServerToClientLoginPacket(message.getChannelName(), message.getData(), packetPosition, this.manager);
+            loginWrapper.sendServerToClientLoginPacket(message.getChannelName(), message.getData(), packetPosition, this.manager, pipelined);
             packetPosition++;
+            if (!pipelined)
+                break;
         }
 
         pendingFutures.removeIf(future -> {
@@ -376,7 +435,7 @@ public class HandshakeHandler
         });
 
         // we're done when sentMessages is empty
-        if (sentMessages.isEmpty() && packetPosition >= messageList.size()-1 && pendingFutures.isEmpty()) {
+        if (sentMessages.isEmpty() && packetPosition >= messageList.size()-1 && pendingFutures.isEmpty() && configPayloads == null) {
             // clear ourselves - we're done!
             this.manager.channel().attr(NetworkConstants.FML_HANDSHAKE_HANDLER).set(null);
             LOGGER.debug(FMLHSMARKER, "Handshake complete!");
@@ -17,6 +17,7 @@ import net.minecraftforge.registries.RegistryManager;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -56,6 +57,7 @@ public class HandshakeMessages
         private Map<ResourceLocation, String> channels;
         private List<ResourceLocation> registries;
         private final List<ResourceKey<? extends Registry<?>>> dataPackRegistries;
+        private final boolean pipelined;
 
         public S2CModList()
         {
@@ -63,14 +65,16 @@ public class HandshakeMessages
             this.channels = NetworkRegistry.buildChannelVersions();
             this.registries = RegistryManager.getRegistryNamesForSyncToClient();
             this.dataPackRegistries = List.copyOf(DataPackRegistriesHooks.getSyncedCustomRegistries());
+            this.pipelined = true;
         }
 
-        private S2CModList(List<String> mods, Map<ResourceLocation, String> channels, List<ResourceLocation> registries, List<ResourceKey<? extends Registry<?>>> dataPackRegistries)
+        private S2CModList(List<String> mods, Map<ResourceLocation, String> channels, List<ResourceLocation> registries, List<ResourceKey<? extends Registry<?>>> dataPackRegistries, boolean pipelined)
         {
             this.mods = mods;
             this.channels = channels;
             this.registries = registries;
             this.dataPackRegistries = dataPackRegistries;
+            this.pipelined = pipelined;
         }
 
         public static S2CModList decode(FriendlyByteBuf input)
@@ -91,7 +95,9 @@ public class HandshakeMessages
                 registries.add(input.readResourceLocation());
 
             List<ResourceKey<? extends Registry<?>>> dataPackRegistries = input.readCollection(ArrayList::new, buf -> ResourceKey.createRegistryKey(buf.readResourceLocation()));
-            return new S2CModList(mods, channels, registries, dataPackRegistries);
+            // Older servers don't send this flag, and older clients ignore it
+            boolean pipelined = input.isReadable() && input.readBoolean();
+            return new S2CModList(mods, channels, registries, dataPackRegistries, pipelined);
         }
 
         public void encode(FriendlyByteBuf output)
@@ -110,6 +116,8 @@ public class HandshakeMessages
 
             Set<ResourceKey<? extends Registry<?>>> dataPackRegistries = DataPackRegistriesHooks.getSyncedCustomRegistries();
             output.writeCollection(dataPackRegistries, (buf, key) -> buf.writeResourceLocation(key.location()));
+
+            output.writeBoolean(pipelined);
         }
 
         public List<String> getModList() {
@@ -130,6 +138,13 @@ public class HandshakeMessages
         public List<ResourceKey<? extends Registry<?>>> getCustomDataPackRegistries() {
             return this.dataPackRegistries;
         }
+
+        /**
+         * @return whether the server understands {@link C2SBulkAcknowledge}, so the client may acknowledge registries in bulk.
+         */
+        public boolean supportsPipelining() {
+            return this.pipelined;
+        }
     }
 
     /**
@@ -175,19 +190,26 @@ public class HandshakeMessages
         private List<String> mods;
         private Map<ResourceLocation, String> channels;
         private Map<ResourceLocation, String> registries;
+        private final boolean pipelined;
+        @Nullable
+        private final Set<String> cachedConfigs;
 
         public C2SModListReply()
         {
             this.mods = ModList.get().getMods().stream().map(IModInfo::getModId).collect(Collectors.toList());
             this.channels = NetworkRegistry.buildChannelVersions();
             this.registries = Maps.newHashMap(); //TODO: Fill with known hashes, which requires keeping a file cache
+            this.pipelined = true;
+            this.cachedConfigs = ConfigSync.INSTANCE.getCachedConfigHashes();
         }
 
-        private C2SModListReply(List<String> mods, Map<ResourceLocation, String> channels, Map<ResourceLocation, String> registries)
+        private C2SModListReply(List<String> mods, Map<ResourceLocation, String> channels, Map<ResourceLocation, String> registries, boolean pipelined, @Nullable Set<String> cachedConfigs)
         {
             this.mods = mods;
             this.channels = channels;
             this.registries = registries;
+            this.pipelined = pipelined;
+            this.cachedConfigs = cachedConfigs;
         }
 
         public static C2SModListReply decode(FriendlyByteBuf input)
@@ -207,7 +229,11 @@ public class HandshakeMessages
             for (int x = 0; x < len; x++)
                 registries.put(input.readResourceLocation(), input.readUtf(0x100));
 
-            return new C2SModListReply(mods, channels, registries);
+            // Older clients don't send this flag, and older servers ignore it
+            boolean pipelined = input.isReadable() && input.readBoolean();
+            // Older clients don't send their cached configs, and older servers ignore them
+            Set<String> cachedConfigs = input.isReadable() ? input.readCollection(HashSet::new, buf -> buf.readUtf(0x100)) : null;
+            return new C2SModListReply(mods, channels, registries, pipelined, cachedConfigs);
         }
 
         public void encode(FriendlyByteBuf output)
@@ -226,6 +252,9 @@ public class HandshakeMessages
                 output.writeResourceLocation(k);
                 output.writeUtf(v, 0x100);
             });
+
+            output.writeBoolean(pipelined);
+            output.writeCollection(cachedConfigs == null ? Set.of() : cachedConfigs, (buf, hash) -> buf.writeUtf(hash, 0x100));
         }
 
         public List<String> getModList() {
@@ -239,6 +268,22 @@ public class HandshakeMessages
         public Map<ResourceLocation, String> getChannels() {
             return this.channels;
         }
+
+        /**
+         * @return whether the client accepts the remaining login payloads all at once and compressed.
+         */
+        public boolean supportsPipelining() {
+            return this.pipelined;
+        }
+
+        /**
+         * @return the hashes of the server configs the client has cached, or null if the client does not support
+         *         {@link S2CConfigReference} and {@link PlayMessages.SyncConfig}.
+         */
+        @Nullable
+        public Set<String> getCachedConfigs() {
+            return this.cachedConfigs;
+        }
     }
 
     public static class C2SAcknowledge extends LoginIndexedMessage {
@@ -251,6 +296,30 @@ public class HandshakeMessages
         }
     }
 
+    /**
+     * Acknowledges several login payloads at once, on top of the one it is the reply to.
+     * Only sent to servers which announced support for it in {@link S2CModList}.
+     */
+    public static class C2SBulkAcknowledge extends LoginIndexedMessage {
+        private final int[] indices;
+
+        public C2SBulkAcknowledge(int[] indices) {
+            this.indices = indices;
+        }
+
+        public void encode(FriendlyByteBuf buf) {
+            buf.writeVarIntArray(indices);
+        }
+
+        public static C2SBulkAcknowledge decode(FriendlyByteBuf buf) {
+            return new C2SBulkAcknowledge(buf.readVarIntArray());
+        }
+
+        public int[] getIndices() {
+            return indices;
+        }
+    }
+
     public static class S2CRegistry extends LoginIndexedMessage {
         private ResourceLocation registryName;
         @Nullable
@@ -318,6 +387,37 @@ public class HandshakeMessages
         }
     }
 
+    /**
+     * Tells the client to use the server config it has cached under the given hash, instead of sending it again.
+     * Only sent for hashes the client reported in {@link C2SModListReply#getCachedConfigs()}.
+     */
+    public static class S2CConfigReference extends LoginIndexedMessage {
+        private final String fileName;
+        private final String hash;
+
+        public S2CConfigReference(final String configFileName, final String hash) {
+            this.fileName = configFileName;
+            this.hash = hash;
+        }
+
+        void encode(final FriendlyByteBuf buffer) {
+            buffer.writeUtf(this.fileName);
+            buffer.writeUtf(this.hash, 0x100);
+        }
+
+        public static S2CConfigReference decode(final FriendlyByteBuf buffer) {
+            return new S2CConfigReference(buffer.readUtf(32767), buffer.readUtf(0x100));
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+    }
+
     /**
      * Notifies the client of a channel mismatch on the server, so a {@link net.minecraftforge.client.gui.ModMismatchDisconnectedScreen} is used to notify the user of the disconnection.
      * This packet also sends the data of a channel mismatch (currently, the ids and versions of the mismatched channels) to the client for it to display the correct information in said screen.
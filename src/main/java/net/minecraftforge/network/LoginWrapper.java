@@ -5,6 +5,10 @@
 
 package net.minecraftforge.network;
 
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
 import io.netty.buffer.Unpooled;
 import net.minecraft.network.Connection;
 import net.minecraft.network.FriendlyByteBuf;
@@ -24,6 +28,11 @@ public class LoginWrapper
     private static final Logger LOGGER = LogManager.getLogger();
     @ApiStatus.Internal
     public static final ResourceLocation WRAPPER = new ResourceLocation("fml:loginwrapper");
+    /**
+     * Payloads smaller than this are never compressed, as deflating them saves next to nothing.
+     */
+    private static final int COMPRESSION_THRESHOLD = 256;
+    private static final int MAX_INFLATED_SIZE = 16 * 1024 * 1024;
     private EventNetworkChannel wrapperChannel;
 
     LoginWrapper() {
@@ -45,13 +54,18 @@ public class LoginWrapper
         if (payload != null) {
             targetNetworkReceiver = payload.readResourceLocation();
             final int payloadLength = payload.readVarInt();
-            data = new FriendlyByteBuf(payload.readBytes(payloadLength));
+            if (payloadLength < 0) {
+                data = inflate(payload, -payloadLength);
+            } else {
+                // The wrapped packet is dispatched before the payload goes away, so a view of it is enough
+                data = new FriendlyByteBuf(payload.readSlice(payloadLength));
+            }
         }
         final int loginSequence = packet.getLoginIndex();
         LOGGER.debug(HandshakeHandler.FMLHSMARKER, "Recieved login wrapper packet event for channel {} with index {}", targetNetworkReceiver, loginSequence);
         final NetworkEvent.Context context = new NetworkEvent.Context(wrappedContext.getNetworkManager(), wrappedContext.getDirection(), (rl, buf) -> {
             LOGGER.debug(HandshakeHandler.FMLHSMARKER, "Dispatching wrapped packet reply for channel {} with index {}", rl, loginSequence);
-            wrappedContext.getPacketDispatcher().sendPacket(WRAPPER, this.wrapPacket(rl, buf));
+            wrappedContext.getPacketDispatcher().sendPacket(WRAPPER, wrapPacket(rl, buf));
         });
         final NetworkEvent.LoginPayloadEvent loginPayloadEvent = new NetworkEvent.LoginPayloadEvent(data, () -> context, loginSequence);
         NetworkRegistry.findTarget(targetNetworkReceiver).ifPresent(ni -> {
@@ -60,16 +74,77 @@ public class LoginWrapper
         });
     }
 
-    private FriendlyByteBuf wrapPacket(final ResourceLocation rl, final FriendlyByteBuf buf) {
-        FriendlyByteBuf pb = new FriendlyByteBuf(Unpooled.buffer(buf.capacity()));
+    /**
+     * Wraps a payload without copying it. The wrapper holds its own reference to the payload, so the caller still owns
+     * the buffer it passed in, and releasing the wrapper only releases that reference.
+     */
+    @ApiStatus.Internal
+    public static FriendlyByteBuf wrapPacket(final ResourceLocation rl, final FriendlyByteBuf buf) {
+        FriendlyByteBuf header = new FriendlyByteBuf(Unpooled.buffer());
+        header.writeResourceLocation(rl);
+        header.writeVarInt(buf.readableBytes());
+        return new FriendlyByteBuf(Unpooled.wrappedBuffer(header, buf.retainedSlice()));
+    }
+
+    /**
+     * Wraps a payload with its length negated, followed by the deflated payload. Only clients which announced support
+     * for the pipelined handshake understand this.
+     */
+    private FriendlyByteBuf wrapCompressedPacket(final ResourceLocation rl, final FriendlyByteBuf buf) {
+        byte[] input = new byte[buf.readableBytes()];
+        buf.getBytes(buf.readerIndex(), input);
+        FriendlyByteBuf pb = new FriendlyByteBuf(Unpooled.buffer(input.length / 2 + 64));
         pb.writeResourceLocation(rl);
-        pb.writeVarInt(buf.readableBytes());
-        pb.writeBytes(buf);
+        pb.writeVarInt(-input.length);
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(chunk);
+                pb.writeBytes(chunk, 0, length);
+            }
+        } finally {
+            deflater.end();
+        }
         return pb;
     }
 
+    private static FriendlyByteBuf inflate(final FriendlyByteBuf payload, final int length) {
+        if (length > MAX_INFLATED_SIZE)
+            throw new IllegalStateException("Compressed login payload of " + length + " bytes is too large");
+        byte[] input = new byte[payload.readableBytes()];
+        payload.readBytes(input);
+        byte[] output = new byte[length];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int count = inflater.inflate(output, read, length - read);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    break;
+                read += count;
+            }
+            if (read != length)
+                throw new IllegalStateException("Compressed login payload is truncated, expected " + length + " bytes but got " + read);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Badly compressed login payload", e);
+        } finally {
+            inflater.end();
+        }
+        return new FriendlyByteBuf(Unpooled.wrappedBuffer(output));
+    }
+
     void sendServerToClientLoginPacket(final ResourceLocation resourceLocation, final FriendlyByteBuf buffer, final int index, final Connection manager) {
-        FriendlyByteBuf pb = wrapPacket(resourceLocation, buffer);
+        sendServerToClientLoginPacket(resourceLocation, buffer, index, manager, false);
+    }
+
+    void sendServerToClientLoginPacket(final ResourceLocation resourceLocation, final FriendlyByteBuf buffer, final int index, final Connection manager, final boolean compress) {
+        // Login traffic is sent before vanilla enables compression on the connection
+        FriendlyByteBuf pb = compress && !manager.isMemoryConnection() && buffer.readableBytes() >= COMPRESSION_THRESHOLD
+                ? wrapCompressedPacket(resourceLocation, buffer) : wrapPacket(resourceLocation, buffer);
         manager.send(NetworkDirection.LOGIN_TO_CLIENT.buildPacket(Pair.of(pb, index), WRAPPER).getThis());
     }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.network;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Players of every server level bucketed by the chunk they are in, so {@link PacketDistributor#NEAR} only has to look at the
+ * players in the chunks its radius covers instead of the whole player list.
+ * <p>
+ * The buckets are updated when players are added to or removed from a level and whenever they move into another entity section.
+ * The index is only used on the server thread, which is the only thread moving players.
+ */
+public final class NearbyPlayerIndex
+{
+    private static final Map<ResourceKey<Level>, Grid> GRIDS = new HashMap<>();
+
+    private NearbyPlayerIndex() {}
+
+    @ApiStatus.Internal
+    public static void add(ServerPlayer player)
+    {
+        GRIDS.computeIfAbsent(player.level.dimension(), k -> new Grid()).add(player, player.chunkPosition().toLong());
+    }
+
+    @ApiStatus.Internal
+    public static void remove(ServerPlayer player)
+    {
+        // Removals are fired before a player changing dimensions gets its new level, but don't rely on it
+        for (Grid grid : GRIDS.values())
+            grid.remove(player);
+    }
+
+    @ApiStatus.Internal
+    public static void move(ServerPlayer player, long packedNewSection)
+    {
+        Grid grid = GRIDS.get(player.level.dimension());
+        if (grid != null)
+            grid.move(player, ChunkPos.asLong(SectionPos.x(packedNewSection), SectionPos.z(packedNewSection)));
+    }
+
+    @ApiStatus.Internal
+    public static void unload(ServerLevel level)
+    {
+        GRIDS.remove(level.dimension());
+    }
+
+    /**
+     * Collects the players of a dimension within the given distance of a point, the same players
+     * {@link net.minecraft.server.players.PlayerList#broadcast} would send to.
+     *
+     * @param excluded A player to leave out, or null
+     */
+    public static List<ServerPlayer> getPlayersNear(MinecraftServer server, ResourceKey<Level> dimension, double x, double y, double z, double radius, @Nullable ServerPlayer excluded)
+    {
+        List<ServerPlayer> ret = new ArrayList<>();
+        Grid grid = server.isSameThread() ? GRIDS.get(dimension) : null;
+        double chunkRadius = Math.ceil(radius / 16);
+        if (grid == null || (2 * chunkRadius + 1) * (2 * chunkRadius + 1) > server.getPlayerCount())
+        {
+            // Off the server thread the index can't be used, and for large radii scanning the player list is cheaper than visiting every chunk in range
+            for (ServerPlayer player : server.getPlayerList().getPlayers())
+            {
+                if (player.level.dimension() == dimension)
+                    addIfNear(ret, player, x, y, z, radius, excluded);
+            }
+            return ret;
+        }
+
+        int range = (int)chunkRadius;
+        int centerX = SectionPos.blockToSectionCoord(Mth.floor(x));
+        int centerZ = SectionPos.blockToSectionCoord(Mth.floor(z));
+        for (int cx = centerX - range; cx <= centerX + range; cx++)
+        {
+            for (int cz = centerZ - range; cz <= centerZ + range; cz++)
+            {
+                List<ServerPlayer> players = grid.chunks.get(ChunkPos.asLong(cx, cz));
+                if (players == null)
+                    continue;
+                for (ServerPlayer player : players)
+                {
+                    if (!player.isRemoved() && player.level.dimension() == dimension)
+                        addIfNear(ret, player, x, y, z, radius, excluded);
+                }
+            }
+        }
+        return ret;
+    }
+
+    private static void addIfNear(List<ServerPlayer> ret, ServerPlayer player, double x, double y, double z, double radius, @Nullable ServerPlayer excluded)
+    {
+        if (player == excluded)
+            return;
+        double dx = x - player.getX();
+        double dy = y - player.getY();
+        double dz = z - player.getZ();
+        if (dx * dx + dy * dy + dz * dz < radius * radius)
+            ret.add(player);
+    }
+
+    private static final class Grid
+    {
+        private final Long2ObjectOpenHashMap<List<ServerPlayer>> chunks = new Long2ObjectOpenHashMap<>();
+        private final Reference2LongOpenHashMap<ServerPlayer> players = new Reference2LongOpenHashMap<>();
+
+        private void add(ServerPlayer player, long chunk)
+        {
+            if (players.containsKey(player))
+                remove(player);
+            players.put(player, chunk);
+            chunks.computeIfAbsent(chunk, k -> new ArrayList<>(2)).add(player);
+        }
+
+        private void remove(ServerPlayer player)
+        {
+            if (!players.containsKey(player))
+                return;
+            long chunk = players.removeLong(player);
+            List<ServerPlayer> bucket = chunks.get(chunk);
+            if (bucket != null)
+            {
+                bucket.remove(player);
+                if (bucket.isEmpty())
+                    chunks.remove(chunk);
+            }
+        }
+
+        private void move(ServerPlayer player, long chunk)
+        {
+            // Section changes along the y axis keep the player in the same chunk
+            if (players.containsKey(player) && players.getLong(player) != chunk)
+                add(player, chunk);
+        }
+    }
+}
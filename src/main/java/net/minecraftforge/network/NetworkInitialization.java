@@ -29,6 +29,13 @@ class NetworkInitialization {
                 consumerNetworkThread(HandshakeHandler.indexFirst(HandshakeHandler::handleClientAck)).
                 add();
 
+        handshakeChannel.messageBuilder(HandshakeMessages.C2SBulkAcknowledge.class, 98, NetworkDirection.LOGIN_TO_SERVER).
+                loginIndex(HandshakeMessages.LoginIndexedMessage::getLoginIndex, HandshakeMessages.LoginIndexedMessage::setLoginIndex).
+                decoder(HandshakeMessages.C2SBulkAcknowledge::decode).
+                encoder(HandshakeMessages.C2SBulkAcknowledge::encode).
+                consumerNetworkThread(HandshakeHandler.indexFirst(HandshakeHandler::handleClientBulkAck)).
+                add();
+
         handshakeChannel.messageBuilder(HandshakeMessages.S2CModData.class, 5, NetworkDirection.LOGIN_TO_CLIENT).
                 loginIndex(HandshakeMessages.LoginIndexedMessage::getLoginIndex, HandshakeMessages.LoginIndexedMessage::setLoginIndex).
                 decoder(HandshakeMessages.S2CModData::decode).
@@ -50,7 +57,8 @@ class NetworkInitialization {
                 loginIndex(HandshakeMessages.LoginIndexedMessage::getLoginIndex, HandshakeMessages.LoginIndexedMessage::setLoginIndex).
                 decoder(HandshakeMessages.C2SModListReply::decode).
                 encoder(HandshakeMessages.C2SModListReply::encode).
-                consumerNetworkThread(HandshakeHandler.indexFirst(HandshakeHandler::handleClientModListOnServer)).
+                // Indexed at the end of the handler, so the handshake can't complete before the config payloads are queued
+                consumerNetworkThread(HandshakeHandler.biConsumerFor(HandshakeHandler::handleClientModListOnServer)).
                 add();
 
         handshakeChannel.messageBuilder(HandshakeMessages.S2CRegistry.class, 3, NetworkDirection.LOGIN_TO_CLIENT).
@@ -65,10 +73,16 @@ class NetworkInitialization {
                 loginIndex(HandshakeMessages.LoginIndexedMessage::getLoginIndex, HandshakeMessages.LoginIndexedMessage::setLoginIndex).
                 decoder(HandshakeMessages.S2CConfigData::decode).
                 encoder(HandshakeMessages.S2CConfigData::encode).
-                buildLoginPacketList(ConfigSync.INSTANCE::syncConfigs).
                 consumerNetworkThread(HandshakeHandler.biConsumerFor(HandshakeHandler::handleConfigSync)).
                 add();
 
+        handshakeChannel.messageBuilder(HandshakeMessages.S2CConfigReference.class, 7, NetworkDirection.LOGIN_TO_CLIENT).
+                loginIndex(HandshakeMessages.LoginIndexedMessage::getLoginIndex, HandshakeMessages.LoginIndexedMessage::setLoginIndex).
+                decoder(HandshakeMessages.S2CConfigReference::decode).
+                encoder(HandshakeMessages.S2CConfigReference::encode).
+                consumerNetworkThread(HandshakeHandler.biConsumerFor(HandshakeHandler::handleConfigReference)).
+                add();
+
         handshakeChannel.messageBuilder(HandshakeMessages.S2CChannelMismatchData.class, 6, NetworkDirection.LOGIN_TO_CLIENT).
                 loginIndex(HandshakeMessages.LoginIndexedMessage::getLoginIndex, HandshakeMessages.LoginIndexedMessage::setLoginIndex).
                 decoder(HandshakeMessages.S2CChannelMismatchData::decode).
@@ -99,6 +113,12 @@ class NetworkInitialization {
                 consumerNetworkThread(PlayMessages.OpenContainer::handle).
                 add();
 
+        playChannel.messageBuilder(PlayMessages.SyncConfig.class, 2, NetworkDirection.PLAY_TO_CLIENT).
+                decoder(PlayMessages.SyncConfig::decode).
+                encoder(PlayMessages.SyncConfig::encode).
+                consumerNetworkThread(PlayMessages.SyncConfig::handle).
+                add();
+
         return playChannel;
     }
 
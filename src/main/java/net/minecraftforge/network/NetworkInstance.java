@@ -11,6 +11,7 @@ import net.minecraftforge.eventbus.api.BusBuilder;
 import net.minecraftforge.eventbus.api.Event;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.eventbus.api.IEventListener;
+import net.minecraftforge.network.simple.MessageBatcher;
 
 import java.util.List;
 import java.util.function.Consumer;
@@ -29,6 +30,8 @@ public class NetworkInstance
     private final Predicate<String> clientAcceptedVersions;
     private final Predicate<String> serverAcceptedVersions;
     private final IEventBus networkEventBus;
+    private final NetworkMetrics.Channel metrics;
+    private boolean batched;
 
     NetworkInstance(ResourceLocation channelName, Supplier<String> networkProtocolVersion, Predicate<String> clientAcceptedVersions, Predicate<String> serverAcceptedVersions)
     {
@@ -37,6 +40,7 @@ public class NetworkInstance
         this.clientAcceptedVersions = clientAcceptedVersions;
         this.serverAcceptedVersions = serverAcceptedVersions;
         this.networkEventBus = BusBuilder.builder().setExceptionHandler(this::handleError).useModLauncher().build();
+        this.metrics = NetworkMetrics.register(channelName);
     }
 
     private void handleError(IEventBus iEventBus, Event event, IEventListener[] iEventListeners, int i, Throwable throwable)
@@ -64,11 +68,33 @@ public class NetworkInstance
 
     boolean dispatch(final NetworkDirection side, final ICustomPacket<?> packet, final Connection manager)
     {
+        this.metrics.record(true, packet.getInternalData());
         final NetworkEvent.Context context = new NetworkEvent.Context(manager, side, packet.getIndex());
         this.networkEventBus.post(side.getEvent(packet, () -> context));
         return context.getPacketHandled();
     }
 
+    void enableBatching() {
+        this.batched = true;
+        MessageBatcher.enable(channelName);
+    }
+
+    /**
+     * Returns true if messages sent on this channel are batched per tick.
+     * @see NetworkRegistry.ChannelBuilder#batchMessages()
+     */
+    public boolean isBatched() {
+        return batched;
+    }
+
+    /**
+     * Returns the traffic counters of this channel.
+     * @see NetworkMetrics
+     */
+    public NetworkMetrics.Channel getMetrics() {
+        return metrics;
+    }
+
     String getNetworkProtocolVersion() {
         return networkProtocolVersion;
     }
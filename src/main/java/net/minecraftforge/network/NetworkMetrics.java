@@ -0,0 +1,408 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.network;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.fml.loading.FMLPaths;
+import net.minecraftforge.logging.PacketDump;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Always-on traffic counters for every channel registered with the {@link NetworkRegistry}.
+ * <p>
+ * Channel counters count every custom payload sent on or received from a connection, so a message sent to
+ * several players is counted once per player. Message counters are kept by {@link net.minecraftforge.network.simple.SimpleChannel}s
+ * for each message index and count encodes and decodes instead, together with the time spent in the message's encoder and decoder.
+ * <p>
+ * All counters are {@link LongAdder}s which are only ever added to, so recording never blocks the network threads.
+ * The metrics of a JVM running both a client and a server, like singleplayer, include the traffic of both sides.
+ */
+public final class NetworkMetrics
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final Marker CAPTURE = MarkerManager.getMarker("NETCAPTURE");
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Map<ResourceLocation, Channel> CHANNELS = new ConcurrentHashMap<>();
+
+    private NetworkMetrics() {}
+
+    static Channel register(ResourceLocation name)
+    {
+        return CHANNELS.computeIfAbsent(name, Channel::new);
+    }
+
+    /**
+     * @return The metrics of the given channel, or null if no such channel is registered
+     */
+    @Nullable
+    public static Channel get(ResourceLocation channel)
+    {
+        return CHANNELS.get(channel);
+    }
+
+    /**
+     * @return The metrics of all channels, sorted by the total bytes sent and received, highest first
+     */
+    public static List<Channel> getChannels()
+    {
+        List<Channel> ret = new ArrayList<>(CHANNELS.values());
+        ret.sort(Comparator.comparingLong(Channel::getTotalBytes).reversed());
+        return ret;
+    }
+
+    /**
+     * Clears the counters of all channels and messages.
+     */
+    public static void reset()
+    {
+        CHANNELS.values().forEach(Channel::reset);
+    }
+
+    /**
+     * Counts a custom payload sent on a connection. Called from the pipeline of every connection.
+     */
+    public static void recordSent(ResourceLocation channel, ByteBuf payload)
+    {
+        Channel metrics = CHANNELS.get(channel);
+        if (metrics != null)
+            metrics.record(false, payload);
+    }
+
+    /**
+     * Writes all counters to the debug folder of the game directory.
+     *
+     * @return The file written, or null if it could not be written
+     */
+    @Nullable
+    public static Path dump()
+    {
+        Path file = FMLPaths.GAMEDIR.get().resolve("debug").resolve("forge-network-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss", Locale.ROOT)) + ".json");
+        JsonArray channels = new JsonArray();
+        for (Channel channel : getChannels())
+        {
+            JsonObject obj = new JsonObject();
+            obj.addProperty("channel", channel.getName().toString());
+            obj.addProperty("messagesIn", channel.messagesIn.sum());
+            obj.addProperty("bytesIn", channel.bytesIn.sum());
+            obj.addProperty("messagesOut", channel.messagesOut.sum());
+            obj.addProperty("bytesOut", channel.bytesOut.sum());
+            JsonArray messages = new JsonArray();
+            for (Message message : channel.getMessages())
+            {
+                JsonObject msg = new JsonObject();
+                msg.addProperty("index", message.getIndex());
+                msg.addProperty("type", message.getType());
+                msg.addProperty("encoded", message.encodeTime.getCount());
+                msg.addProperty("encodedBytes", message.encodedBytes.sum());
+                msg.add("encodeTime", message.encodeTime.toJson());
+                msg.addProperty("decoded", message.decodeTime.getCount());
+                msg.addProperty("decodedBytes", message.decodedBytes.sum());
+                msg.add("decodeTime", message.decodeTime.toJson());
+                messages.add(msg);
+            }
+            obj.add("messages", messages);
+            channels.add(obj);
+        }
+
+        try
+        {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8))
+            {
+                GSON.toJson(channels, writer);
+            }
+            return file;
+        }
+        catch (IOException e)
+        {
+            LOGGER.error("Failed to write network metrics to {}", file, e);
+            return null;
+        }
+    }
+
+    public static final class Channel
+    {
+        private final ResourceLocation name;
+        private final LongAdder messagesIn = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder messagesOut = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+        private final AtomicReferenceArray<Message> messages = new AtomicReferenceArray<>(256);
+        private final AtomicInteger capture = new AtomicInteger();
+
+        private Channel(ResourceLocation name)
+        {
+            this.name = name;
+        }
+
+        /**
+         * Creates the counters of the message with the given index.
+         */
+        public Message message(int index, Class<?> type)
+        {
+            Message message = new Message(index & 0xff, type.getName());
+            messages.set(index & 0xff, message);
+            return message;
+        }
+
+        /**
+         * Logs the hex dump of the next payloads sent or received on this channel.
+         *
+         * @param count The number of payloads to log, or 0 to stop logging them
+         */
+        public void capture(int count)
+        {
+            capture.set(count);
+        }
+
+        void record(boolean inbound, @Nullable ByteBuf payload)
+        {
+            int size = payload == null ? 0 : payload.readableBytes();
+            (inbound ? messagesIn : messagesOut).increment();
+            (inbound ? bytesIn : bytesOut).add(size);
+            if (payload != null && capture.get() > 0 && capture.getAndDecrement() > 0)
+                LOGGER.info(CAPTURE, "{} payload on channel {}, {} bytes:\n{}", inbound ? "Received" : "Sent", name, size, PacketDump.getContentDump(payload.slice()));
+        }
+
+        private void reset()
+        {
+            messagesIn.reset();
+            bytesIn.reset();
+            messagesOut.reset();
+            bytesOut.reset();
+            for (int i = 0; i < messages.length(); i++)
+            {
+                Message message = messages.get(i);
+                if (message != null)
+                    message.reset();
+            }
+        }
+
+        public ResourceLocation getName()
+        {
+            return name;
+        }
+
+        public long getMessagesIn()
+        {
+            return messagesIn.sum();
+        }
+
+        public long getBytesIn()
+        {
+            return bytesIn.sum();
+        }
+
+        public long getMessagesOut()
+        {
+            return messagesOut.sum();
+        }
+
+        public long getBytesOut()
+        {
+            return bytesOut.sum();
+        }
+
+        public long getTotalBytes()
+        {
+            return getBytesIn() + getBytesOut();
+        }
+
+        /**
+         * @return The metrics of the messages registered on this channel, by index
+         */
+        public List<Message> getMessages()
+        {
+            List<Message> ret = new ArrayList<>();
+            for (int i = 0; i < messages.length(); i++)
+            {
+                Message message = messages.get(i);
+                if (message != null)
+                    ret.add(message);
+            }
+            return ret;
+        }
+    }
+
+    public static final class Message
+    {
+        private final int index;
+        private final String type;
+        private final LongAdder encodedBytes = new LongAdder();
+        private final LongAdder decodedBytes = new LongAdder();
+        private final TimeHistogram encodeTime = new TimeHistogram();
+        private final TimeHistogram decodeTime = new TimeHistogram();
+
+        private Message(int index, String type)
+        {
+            this.index = index;
+            this.type = type;
+        }
+
+        /**
+         * Counters for a message of a channel which is not registered, which are never reported.
+         */
+        public static Message detached(int index, Class<?> type)
+        {
+            return new Message(index & 0xff, type.getName());
+        }
+
+        public void recordEncode(int bytes, long nanos)
+        {
+            encodedBytes.add(bytes);
+            encodeTime.record(nanos);
+        }
+
+        public void recordDecode(int bytes, long nanos)
+        {
+            decodedBytes.add(bytes);
+            decodeTime.record(nanos);
+        }
+
+        private void reset()
+        {
+            encodedBytes.reset();
+            decodedBytes.reset();
+            encodeTime.reset();
+            decodeTime.reset();
+        }
+
+        public int getIndex()
+        {
+            return index;
+        }
+
+        public String getType()
+        {
+            return type;
+        }
+
+        public long getEncodedBytes()
+        {
+            return encodedBytes.sum();
+        }
+
+        public long getDecodedBytes()
+        {
+            return decodedBytes.sum();
+        }
+
+        public TimeHistogram getEncodeTime()
+        {
+            return encodeTime;
+        }
+
+        public TimeHistogram getDecodeTime()
+        {
+            return decodeTime;
+        }
+    }
+
+    /**
+     * A histogram of durations with power of two nanosecond buckets, from 1ns to over a second.
+     */
+    public static final class TimeHistogram
+    {
+        private static final int BUCKETS = 32;
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder total = new LongAdder();
+
+        private TimeHistogram()
+        {
+            for (int i = 0; i < BUCKETS; i++)
+                buckets[i] = new LongAdder();
+        }
+
+        void record(long nanos)
+        {
+            // Bucket i holds the durations in [2^i, 2^(i+1))
+            int bucket = Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(Math.max(1, nanos)));
+            buckets[bucket].increment();
+            total.add(nanos);
+        }
+
+        private void reset()
+        {
+            for (LongAdder bucket : buckets)
+                bucket.reset();
+            total.reset();
+        }
+
+        public long getCount()
+        {
+            long count = 0;
+            for (LongAdder bucket : buckets)
+                count += bucket.sum();
+            return count;
+        }
+
+        public long getTotalNanos()
+        {
+            return total.sum();
+        }
+
+        /**
+         * @param percentile The percentile, between 0 and 1
+         * @return An upper bound of the given percentile in nanoseconds, or 0 if nothing was recorded
+         */
+        public long getPercentile(double percentile)
+        {
+            long[] counts = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++)
+                count += counts[i] = buckets[i].sum();
+            if (count == 0)
+                return 0;
+
+            long target = (long)Math.ceil(count * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++)
+            {
+                seen += counts[i];
+                if (seen >= target)
+                    return 1L << (i + 1);
+            }
+            return 1L << BUCKETS;
+        }
+
+        private JsonObject toJson()
+        {
+            JsonObject obj = new JsonObject();
+            obj.addProperty("totalNanos", getTotalNanos());
+            JsonArray counts = new JsonArray();
+            for (LongAdder bucket : buckets)
+                counts.add(bucket.sum());
+            obj.add("log2Buckets", counts);
+            return obj;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import net.minecraft.network.Connection;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.network.event.EventNetworkChannel;
+import net.minecraftforge.network.simple.MessageBatcher;
 import net.minecraftforge.network.simple.SimpleChannel;
 import net.minecraftforge.registries.DataPackRegistriesHooks;
 
@@ -361,6 +362,7 @@ public class NetworkRegistry
         private Supplier<String> networkProtocolVersion;
         private Predicate<String> clientAcceptedVersions;
         private Predicate<String> serverAcceptedVersions;
+        private boolean batchMessages;
 
         /**
          * The name of the channel. Must be unique.
@@ -415,6 +417,22 @@ public class NetworkRegistry
             return this;
         }
 
+        /**
+         * Batch the messages sent on a {@link SimpleChannel} per connection, and send them as a single payload
+         * at the end of the tick instead of one packet per message. Worthwhile for channels that send many small messages.
+         * <p>
+         * Messages are still delivered in order, but may arrive after packets of other channels that were sent later in the same tick.
+         * The message index {@value MessageBatcher#BATCH_INDEX} is reserved on batched channels.
+         * Both sides have to agree on this setting, so changing it requires changing the {@link #networkProtocolVersion(Supplier)}.
+         *
+         * @return the channel builder
+         */
+        public ChannelBuilder batchMessages()
+        {
+            this.batchMessages = true;
+            return this;
+        }
+
         /**
          * Create the impl instance
          * @return the {@link NetworkInstance}
@@ -429,7 +447,10 @@ public class NetworkRegistry
          * @return A new {@link SimpleChannel}
          */
         public SimpleChannel simpleChannel() {
-            return new SimpleChannel(createNetworkInstance());
+            NetworkInstance instance = createNetworkInstance();
+            if (batchMessages)
+                instance.enableBatching();
+            return new SimpleChannel(instance);
         }
 
         /**
@@ -15,9 +15,13 @@ import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+import net.minecraftforge.common.util.FakePlayer;
 import net.minecraftforge.network.simple.SimpleChannel;
 import net.minecraftforge.server.ServerLifecycleHooks;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -36,25 +40,25 @@ public class PacketDistributor<T> {
      * <br/>
      * {@link #with(Supplier)} Player
      */
-    public static final PacketDistributor<ServerPlayer> PLAYER = new PacketDistributor<>(PacketDistributor::playerConsumer, NetworkDirection.PLAY_TO_CLIENT);
+    public static final PacketDistributor<ServerPlayer> PLAYER = new PacketDistributor<>(PacketDistributor::playerConsumer, PacketDistributor::playerRecipients, NetworkDirection.PLAY_TO_CLIENT);
     /**
      * Send to everyone in the dimension specified in the Supplier
      * <br/>
      * {@link #with(Supplier)} DimensionType
      */
-    public static final PacketDistributor<ResourceKey<Level>> DIMENSION = new PacketDistributor<>(PacketDistributor::playerListDimConsumer, NetworkDirection.PLAY_TO_CLIENT);
+    public static final PacketDistributor<ResourceKey<Level>> DIMENSION = new PacketDistributor<>(PacketDistributor::playerListDimConsumer, PacketDistributor::playerListDimRecipients, NetworkDirection.PLAY_TO_CLIENT);
     /**
      * Send to everyone near the {@link TargetPoint} specified in the Supplier
      * <br/>
      * {@link #with(Supplier)} TargetPoint
      */
-    public static final PacketDistributor<TargetPoint> NEAR = new PacketDistributor<>(PacketDistributor::playerListPointConsumer, NetworkDirection.PLAY_TO_CLIENT);
+    public static final PacketDistributor<TargetPoint> NEAR = new PacketDistributor<>(PacketDistributor::playerListPointConsumer, PacketDistributor::playerListPointRecipients, NetworkDirection.PLAY_TO_CLIENT);
     /**
      * Send to everyone
      * <br/>
      * {@link #noArg()}
      */
-    public static final PacketDistributor<Void> ALL = new PacketDistributor<>(PacketDistributor::playerListAll, NetworkDirection.PLAY_TO_CLIENT);
+    public static final PacketDistributor<Void> ALL = new PacketDistributor<>(PacketDistributor::playerListAll, PacketDistributor::playerListAllRecipients, NetworkDirection.PLAY_TO_CLIENT);
     /**
      * Send to the server (CLIENT to SERVER)
      * <br/>
@@ -78,13 +82,13 @@ public class PacketDistributor<T> {
      * <br/>
      * {@link #with(Supplier)} Chunk
      */
-    public static final PacketDistributor<LevelChunk> TRACKING_CHUNK = new PacketDistributor<>(PacketDistributor::trackingChunk, NetworkDirection.PLAY_TO_CLIENT);
+    public static final PacketDistributor<LevelChunk> TRACKING_CHUNK = new PacketDistributor<>(PacketDistributor::trackingChunk, PacketDistributor::trackingChunkRecipients, NetworkDirection.PLAY_TO_CLIENT);
     /**
      * Send to the supplied list of NetworkManager instances in the Supplier
      * <br/>
      * {@link #with(Supplier)} List of NetworkManager
      */
-    public static final PacketDistributor<List<Connection>> NMLIST = new PacketDistributor<>(PacketDistributor::networkManagerList, NetworkDirection.PLAY_TO_CLIENT);
+    public static final PacketDistributor<List<Connection>> NMLIST = new PacketDistributor<>(PacketDistributor::networkManagerList, PacketDistributor::networkManagerListRecipients, NetworkDirection.PLAY_TO_CLIENT);
 
     public static final class TargetPoint {
 
@@ -156,15 +160,35 @@ public class PacketDistributor<T> {
     public static class PacketTarget {
         private final Consumer<Packet<?>> packetConsumer;
         private final PacketDistributor<?> distributor;
+        @Nullable
+        private final Supplier<List<Connection>> recipients;
         PacketTarget(final Consumer<Packet<?>> packetConsumer, final PacketDistributor<?> distributor) {
+            this(packetConsumer, distributor, null);
+        }
+
+        PacketTarget(final Consumer<Packet<?>> packetConsumer, final PacketDistributor<?> distributor, @Nullable final Supplier<List<Connection>> recipients) {
             this.packetConsumer = packetConsumer;
             this.distributor = distributor;
+            this.recipients = recipients;
         }
 
         public void send(Packet<?> packet) {
             packetConsumer.accept(packet);
         }
 
+        /**
+         * Resolves the connections a packet sent to this target right now would go to, for senders which want to
+         * write the same payload to every one of them themselves.
+         *
+         * @return The connections of the recipients, or null if this target can't list them or they have to be sent to
+         *         through their packet listener
+         * @see SimpleChannel#send(PacketTarget, Object)
+         */
+        @Nullable
+        public List<Connection> getRecipients() {
+            return recipients == null ? null : recipients.get();
+        }
+
         public NetworkDirection getDirection() {
             return distributor.direction;
         }
@@ -172,10 +196,20 @@ public class PacketDistributor<T> {
     }
 
     private final BiFunction<PacketDistributor<T>, Supplier<T>, Consumer<Packet<?>>> functor;
+    @Nullable
+    private final BiFunction<PacketDistributor<T>, Supplier<T>, Supplier<List<Connection>>> recipients;
     private final NetworkDirection direction;
 
     public PacketDistributor(BiFunction<PacketDistributor<T>, Supplier<T>, Consumer<Packet<?>>> functor, NetworkDirection direction) {
+        this(functor, null, direction);
+    }
+
+    /**
+     * @param recipients Resolves the connections the functor would send to, see {@link PacketTarget#getRecipients()}
+     */
+    public PacketDistributor(BiFunction<PacketDistributor<T>, Supplier<T>, Consumer<Packet<?>>> functor, @Nullable BiFunction<PacketDistributor<T>, Supplier<T>, Supplier<List<Connection>>> recipients, NetworkDirection direction) {
         this.functor = functor;
+        this.recipients = recipients;
         this.direction = direction;
     }
 
@@ -185,7 +219,7 @@ public class PacketDistributor<T> {
      * @return A curried instance
      */
     public PacketTarget with(Supplier<T> input) {
-        return new PacketTarget(functor.apply(this, input), this);
+        return new PacketTarget(functor.apply(this, input), this, recipients == null ? null : recipients.apply(this, input));
     }
 
     /**
@@ -196,7 +230,7 @@ public class PacketDistributor<T> {
      * @return A curried instance
      */
     public PacketTarget noArg() {
-        return new PacketTarget(functor.apply(this, ()->null), this);
+        return new PacketTarget(functor.apply(this, ()->null), this, recipients == null ? null : recipients.apply(this, ()->null));
     }
 
     private Consumer<Packet<?>> playerConsumer(final Supplier<ServerPlayer> entityPlayerMPSupplier) {
@@ -217,7 +251,7 @@ public class PacketDistributor<T> {
     private Consumer<Packet<?>> playerListPointConsumer(final Supplier<TargetPoint> targetPointSupplier) {
         return p -> {
             final TargetPoint tp = targetPointSupplier.get();
-            getServer().getPlayerList().broadcast(tp.excluded, tp.x, tp.y, tp.z, tp.r2, tp.dim, p);
+            NearbyPlayerIndex.getPlayersNear(getServer(), tp.dim, tp.x, tp.y, tp.z, tp.r2, tp.excluded).forEach(player -> player.connection.send(p));
         };
     }
 
@@ -246,6 +280,58 @@ public class PacketDistributor<T> {
         return p -> nmListSupplier.get().forEach(nm->nm.send(p));
     }
 
+    private Supplier<List<Connection>> playerRecipients(final Supplier<ServerPlayer> entityPlayerMPSupplier) {
+        return () -> connections(List.of(entityPlayerMPSupplier.get()));
+    }
+
+    private Supplier<List<Connection>> playerListDimRecipients(final Supplier<ResourceKey<Level>> dimensionTypeSupplier) {
+        return () -> {
+            final ResourceKey<Level> dim = dimensionTypeSupplier.get();
+            return connections(getServer().getPlayerList().getPlayers().stream().filter(player -> player.level.dimension() == dim).toList());
+        };
+    }
+
+    private Supplier<List<Connection>> playerListAllRecipients(final Supplier<Void> voidSupplier) {
+        return () -> connections(getServer().getPlayerList().getPlayers());
+    }
+
+    private Supplier<List<Connection>> playerListPointRecipients(final Supplier<TargetPoint> targetPointSupplier) {
+        return () -> {
+            final TargetPoint tp = targetPointSupplier.get();
+            return connections(NearbyPlayerIndex.getPlayersNear(getServer(), tp.dim, tp.x, tp.y, tp.z, tp.r2, tp.excluded));
+        };
+    }
+
+    private Supplier<List<Connection>> trackingChunkRecipients(final Supplier<LevelChunk> chunkPosSupplier) {
+        return () -> {
+            final LevelChunk chunk = chunkPosSupplier.get();
+            return connections(((ServerChunkCache)chunk.getLevel().getChunkSource()).chunkMap.getPlayers(chunk.getPos(), false));
+        };
+    }
+
+    private Supplier<List<Connection>> networkManagerListRecipients(final Supplier<List<Connection>> nmListSupplier) {
+        return nmListSupplier;
+    }
+
+    /**
+     * @return The connections of the players, or null if a player's listener may handle packets itself, in which case
+     *         they have to be sent through the listener
+     */
+    @Nullable
+    private static List<Connection> connections(List<ServerPlayer> players) {
+        List<Connection> ret = new ArrayList<>(players.size());
+        for (ServerPlayer player : players) {
+            // Fake players swallow packets in their listener, their connection is never opened and would queue packets forever
+            if (player instanceof FakePlayer || player.connection == null)
+                continue;
+            // Mods' own players may drop or redirect packets in a listener of their own, which writing to the connection would bypass
+            if (player.connection.getClass() != ServerGamePacketListenerImpl.class)
+                return null;
+            ret.add(player.connection.connection);
+        }
+        return ret;
+    }
+
     private MinecraftServer getServer() {
         return ServerLifecycleHooks.getCurrentServer();
     }
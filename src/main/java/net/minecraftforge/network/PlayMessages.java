@@ -322,4 +322,57 @@ public class PlayMessages
             return additionalData;
         }
     }
+
+    /**
+     * Sends a server config which was reloaded while players are online.
+     * If {@link #isDelta()}, only the values which changed are sent, and the client merges them into the config it has.
+     * Only sent to clients which support it, see {@link HandshakeMessages.C2SModListReply#getCachedConfigs()}.
+     */
+    public static class SyncConfig
+    {
+        private final String fileName;
+        private final boolean delta;
+        private final byte[] data;
+
+        SyncConfig(String fileName, boolean delta, byte[] data)
+        {
+            this.fileName = fileName;
+            this.delta = delta;
+            this.data = data;
+        }
+
+        public static void encode(SyncConfig msg, FriendlyByteBuf buf)
+        {
+            buf.writeUtf(msg.fileName);
+            buf.writeBoolean(msg.delta);
+            buf.writeByteArray(msg.data);
+        }
+
+        public static SyncConfig decode(FriendlyByteBuf buf)
+        {
+            return new SyncConfig(buf.readUtf(32767), buf.readBoolean(), buf.readByteArray());
+        }
+
+        public static void handle(SyncConfig msg, Supplier<NetworkEvent.Context> ctx)
+        {
+            final boolean isLocal = ctx.get().getNetworkManager().isMemoryConnection();
+            ctx.get().enqueueWork(() -> ConfigSync.INSTANCE.receiveConfigChanges(msg, isLocal));
+            ctx.get().setPacketHandled(true);
+        }
+
+        public String getFileName()
+        {
+            return fileName;
+        }
+
+        public boolean isDelta()
+        {
+            return delta;
+        }
+
+        public byte[] getData()
+        {
+            return data;
+        }
+    }
 }
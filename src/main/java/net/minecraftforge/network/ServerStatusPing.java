@@ -16,6 +16,7 @@ import net.minecraft.ResourceLocationException;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.util.GsonHelper;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.common.ForgeConfig;
 import net.minecraftforge.fml.IExtensionPoint;
 import net.minecraftforge.fml.ModList;
 import org.apache.commons.lang3.tuple.Pair;
@@ -30,6 +31,9 @@ import java.util.function.Supplier;
 
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * Represents additional data sent by FML when a server is pinged.
@@ -80,6 +84,14 @@ import java.util.stream.StreamSupport;
  * }
  * }</pre>
  *
+ * <p>
+ * When the {@code compressStatusPing} server config option is enabled, the binary data is deflated before it is encoded,
+ * and stored in the "z" property instead of "d". This makes the ping response of large modpacks much smaller,
+ * but clients from before this option existed can no longer read the mod list.
+ *
+ * <p>
+ * The data never changes once a ping has been built, so its serialized form is cached, and only rebuilt when a new ping is
+ * set on the server status or the compression option changes.
  */
 public class ServerStatusPing
 {
@@ -89,6 +101,7 @@ public class ServerStatusPing
     private final transient Map<String, String> mods;
     private final transient int fmlNetworkVer;
     private final transient boolean truncated;
+    private transient volatile Pair<Boolean, JsonObject> serialized;
 
     public ServerStatusPing()
     {
@@ -156,9 +169,13 @@ public class ServerStatusPing
         {
             try
             {
+                if (forgeData.has("z"))
+                {
+                    return deserializeOptimized(forgeData, inflate(decodeOptimized(GsonHelper.getAsString(forgeData, "z"))));
+                }
                 if (forgeData.has("d"))
                 {
-                    return deserializeOptimized(forgeData);
+                    return deserializeOptimized(forgeData, decodeOptimized(GsonHelper.getAsString(forgeData, "d")));
                 }
                 final Map<ResourceLocation, Pair<String, Boolean>> channels = StreamSupport.stream(GsonHelper.getAsJsonArray(forgeData, "channels").spliterator(), false).
                         map(JsonElement::getAsJsonObject).
@@ -174,7 +191,7 @@ public class ServerStatusPing
                 final boolean truncated = GsonHelper.getAsBoolean(forgeData, "truncated", false);
                 return new ServerStatusPing(channels, mods, remoteFMLVersion, truncated);
             }
-            catch (JsonSyntaxException | IndexOutOfBoundsException | ResourceLocationException e)
+            catch (JsonSyntaxException | IndexOutOfBoundsException | ResourceLocationException | IllegalStateException e)
             {
                 LOGGER.debug(NetworkConstants.NETWORK, "Encountered an error parsing status ping data", e);
                 return null;
@@ -183,6 +200,32 @@ public class ServerStatusPing
 
 
         public static JsonObject serialize(ServerStatusPing forgeData)
+        {
+            boolean compress = compressStatusPing();
+            Pair<Boolean, JsonObject> serialized = forgeData.serialized;
+            if (serialized == null || serialized.getLeft() != compress)
+            {
+                serialized = Pair.of(compress, serializeUncached(forgeData, compress));
+                forgeData.serialized = serialized;
+            }
+            // The caller owns the returned object, so hand out a copy of the cached one
+            return serialized.getRight().deepCopy();
+        }
+
+        private static boolean compressStatusPing()
+        {
+            try
+            {
+                return ForgeConfig.SERVER.compressStatusPing.get();
+            }
+            catch (IllegalStateException e)
+            {
+                // The server config is not loaded on clients, or before the server has started
+                return false;
+            }
+        }
+
+        private static JsonObject serializeUncached(ServerStatusPing forgeData, boolean compress)
         {
             // The following techniques are used to keep the size down:
             // 1. Try and group channels by ModID, this relies on the assumption that a mod "examplemod" uses a channel
@@ -261,7 +304,10 @@ public class ServerStatusPing
 
             var obj = new JsonObject();
             obj.addProperty("fmlNetworkVersion", forgeData.fmlNetworkVer);
-            obj.addProperty("d", encodeOptimized(buf));
+            if (compress)
+                obj.addProperty("z", encodeOptimized(deflate(buf)));
+            else
+                obj.addProperty("d", encodeOptimized(buf));
 
             // add dummy properties, so old versions do not crash when deserializing
             obj.add("channels", new JsonArray());
@@ -273,10 +319,10 @@ public class ServerStatusPing
 
         private static final int VERSION_FLAG_IGNORESERVERONLY = 0b1;
 
-        private static ServerStatusPing deserializeOptimized(JsonObject forgeData)
+        private static ServerStatusPing deserializeOptimized(JsonObject forgeData, ByteBuf data)
         {
             int remoteFMLVersion = GsonHelper.getAsInt(forgeData, "fmlNetworkVersion");
-            var buf = new FriendlyByteBuf(decodeOptimized(GsonHelper.getAsString(forgeData, "d")));
+            var buf = new FriendlyByteBuf(data);
 
             boolean truncated;
             Map<ResourceLocation, Pair<String, Boolean>> channels;
@@ -320,6 +366,67 @@ public class ServerStatusPing
             return new ServerStatusPing(channels, mods, remoteFMLVersion, truncated);
         }
 
+        /**
+         * The largest binary data a compressed ping may inflate to, which is well above what {@link #serialize} writes.
+         */
+        private static final int MAX_INFLATED_SIZE = 1024 * 1024;
+
+        private static ByteBuf deflate(ByteBuf buf)
+        {
+            byte[] input = new byte[buf.readableBytes()];
+            buf.readBytes(input);
+            var out = Unpooled.buffer(input.length / 2 + 64);
+            var deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try
+            {
+                deflater.setInput(input);
+                deflater.finish();
+                byte[] chunk = new byte[8192];
+                while (!deflater.finished())
+                {
+                    int length = deflater.deflate(chunk);
+                    out.writeBytes(chunk, 0, length);
+                }
+            }
+            finally
+            {
+                deflater.end();
+            }
+            return out;
+        }
+
+        private static ByteBuf inflate(ByteBuf buf)
+        {
+            byte[] input = new byte[buf.readableBytes()];
+            buf.readBytes(input);
+            buf.release();
+            var out = Unpooled.buffer(input.length * 4);
+            var inflater = new Inflater();
+            try
+            {
+                inflater.setInput(input);
+                byte[] chunk = new byte[8192];
+                while (!inflater.finished())
+                {
+                    int length = inflater.inflate(chunk);
+                    if (length == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                        throw new IllegalStateException("Truncated compressed status ping data");
+                    out.writeBytes(chunk, 0, length);
+                    if (out.readableBytes() > MAX_INFLATED_SIZE)
+                        throw new IllegalStateException("Compressed status ping data is too large");
+                }
+            }
+            catch (DataFormatException e)
+            {
+                throw new IllegalStateException("Badly compressed status ping data", e);
+            }
+            finally
+            {
+                inflater.end();
+            }
+            return out;
+        }
+
         /**
          * Encode given ByteBuf to a String. This is optimized for UTF-16 Code-Point count.
          * Supports at most 2^30 bytes in length
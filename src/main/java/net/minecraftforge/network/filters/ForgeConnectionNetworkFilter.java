@@ -10,6 +10,7 @@ import java.util.Map;
 import java.util.function.BiConsumer;
 
 import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.Connection;
 import net.minecraft.network.protocol.PacketFlow;
@@ -55,6 +56,21 @@ public class ForgeConnectionNetworkFilter extends VanillaPacketFilter
         return !manager.isMemoryConnection() && VanillaPacketSplitter.isRemoteCompatible(manager);
     }
 
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Packet<?> msg, List<Object> out)
+    {
+        if (handlers.containsKey(msg.getClass()))
+        {
+            // Every handler splits, parts are written as soon as they are full so only a few of them are held at once
+            VanillaPacketSplitter.appendPackets(ConnectionProtocol.PLAY, PacketFlow.CLIENTBOUND, msg, out,
+                    part -> ctx.writeAndFlush(part, ctx.voidPromise()));
+        }
+        else
+        {
+            out.add(msg);
+        }
+    }
+
     private static void splitPacket(Packet<?> packet, List<? super Packet<?>> out)
     {
         VanillaPacketSplitter.appendPackets(
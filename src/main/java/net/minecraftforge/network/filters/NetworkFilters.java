@@ -10,6 +10,7 @@ import java.util.function.Function;
 
 import io.netty.channel.ChannelPipeline;
 import net.minecraft.network.Connection;
+import net.minecraftforge.network.simple.MessageBatcher;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -40,6 +41,17 @@ public class NetworkFilters
                 LOGGER.debug("Injected {} into {}", filter, manager);
             }
         });
+
+        // Packets on memory connections are never encoded, so there is nothing to save by batching them
+        if (MessageBatcher.isNecessary() && !manager.isMemoryConnection())
+        {
+            // Added last so it sits closest to the packet handler, and the batches it writes still pass the filters above
+            pipeline.addBefore("packet_handler", "forge:message_batcher", new MessageBatcher());
+            LOGGER.debug("Injected message batcher into {}", manager);
+        }
+
+        // Closest to the packet handler, so batched messages are counted individually
+        pipeline.addBefore("packet_handler", "forge:network_metrics", NetworkMetricsFilter.INSTANCE);
     }
 
     private NetworkFilters()
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.network.filters;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import net.minecraftforge.network.ICustomPacket;
+import net.minecraftforge.network.NetworkMetrics;
+
+/**
+ * Counts the custom payloads written to a connection in the {@link NetworkMetrics} of their channel.
+ */
+@ChannelHandler.Sharable
+public class NetworkMetricsFilter extends ChannelOutboundHandlerAdapter
+{
+    static final NetworkMetricsFilter INSTANCE = new NetworkMetricsFilter();
+
+    private NetworkMetricsFilter()
+    {
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception
+    {
+        if (msg instanceof ICustomPacket<?> packet && packet.getName() != null && packet.getInternalData() != null)
+            NetworkMetrics.recordSent(packet.getName(), packet.getInternalData());
+        ctx.write(msg, promise);
+    }
+}
@@ -5,12 +5,17 @@
 
 package net.minecraftforge.network.filters;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
-import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientPacketListener;
 import net.minecraft.network.*;
@@ -57,56 +62,41 @@ public class VanillaPacketSplitter
      * Otherwise only the packet itself.
      */
     public static void appendPackets(ConnectionProtocol protocol, PacketFlow direction, Packet<?> packet, List<? super Packet<?>> out)
+    {
+        appendPackets(protocol, direction, packet, out, out::add);
+    }
+
+    /**
+     * Append the given packet to the given list, like {@link #appendPackets(ConnectionProtocol, PacketFlow, Packet, List)},
+     * but hand every part except the last one to the given consumer as soon as it is full. When the consumer writes them
+     * to the connection right away, only the parts which haven't been written yet are held in memory.
+     */
+    public static void appendPackets(ConnectionProtocol protocol, PacketFlow direction, Packet<?> packet, List<? super Packet<?>> out, Consumer<? super Packet<?>> partConsumer)
     {
         if (heuristicIsDefinitelySmallEnough(packet))
         {
             out.add(packet);
+            return;
         }
-        else
+
+        PartWriter buf = new PartWriter(protocol.getPacketId(direction, packet), partConsumer);
+        try
         {
-            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
             packet.write(buf);
-            if (buf.readableBytes() <= PROTOCOL_MAX)
+            if (!buf.splitting && buf.readableBytes() <= PROTOCOL_MAX)
             {
-                buf.release();
                 out.add(packet);
+                return;
             }
-            else
-            {
-                int parts = (int)Math.ceil(((double)buf.readableBytes()) / PART_SIZE);
-                if (parts == 1)
-                {
-                    buf.release();
-                    out.add(packet);
-                }
-                else
-                {
-                    for (int part = 0; part < parts; part++)
-                    {
-                        ByteBuf partPrefix;
-                        if (part == 0)
-                        {
-                            partPrefix = Unpooled.buffer(5);
-                            partPrefix.writeByte(STATE_FIRST);
-                            new FriendlyByteBuf(partPrefix).writeVarInt(protocol.getPacketId(direction, packet));
-                        }
-                        else
-                        {
-                            partPrefix = Unpooled.buffer(1);
-                            partPrefix.writeByte(part == parts - 1 ? STATE_LAST : 0);
-                        }
-                        int partSize = Math.min(PART_SIZE, buf.readableBytes());
-                        ByteBuf partBuf = Unpooled.wrappedBuffer(
-                                partPrefix,
-                                buf.retainedSlice(buf.readerIndex(), partSize)
-                        );
-                        buf.skipBytes(partSize);
-                        out.add(new ClientboundCustomPayloadPacket(CHANNEL, new FriendlyByteBuf(partBuf)));
-                    }
-                    // we retained all the slices, so we do not need this one anymore
-                    buf.release();
-                }
-            }
+
+            buf.splitting = true;
+            while (buf.readableBytes() > PART_SIZE)
+                partConsumer.accept(buf.readPart(false));
+            out.add(buf.readPart(true));
+        }
+        finally
+        {
+            buf.release();
         }
     }
 
@@ -115,7 +105,7 @@ public class VanillaPacketSplitter
         return false;
     }
 
-    private static final List<FriendlyByteBuf> receivedBuffers = new ArrayList<>();
+    private static CompositeByteBuf receivedBuffers = null;
 
     @SuppressWarnings("unchecked")
     private static void onClientPacket(NetworkEvent.ServerCustomPayloadEvent event)
@@ -131,32 +121,184 @@ public class VanillaPacketSplitter
         byte state = buf.readByte();
         if (state == STATE_FIRST)
         {
-            if (!receivedBuffers.isEmpty())
+            if (receivedBuffers != null)
             {
                 LOGGER.warn("forge:split received out of order - inbound buffer not empty when receiving first");
-                receivedBuffers.clear();
+                discardReceived();
             }
+            receivedBuffers = Unpooled.compositeBuffer(Integer.MAX_VALUE);
         }
-        buf.retain(); // retain the buffer, it is released after this handler otherwise
-        receivedBuffers.add(buf);
+        else if (receivedBuffers == null)
+        {
+            LOGGER.warn("forge:split received out of order - received a part before the first one");
+            return;
+        }
+        // Keep a view of the part instead of copying it, the payload is released after this handler otherwise
+        receivedBuffers.addComponent(true, buf.retainedSlice());
         if (state == STATE_LAST)
         {
-            FriendlyByteBuf full = new FriendlyByteBuf(Unpooled.wrappedBuffer(receivedBuffers.toArray(new FriendlyByteBuf[0])));
-            int packetId = full.readVarInt();
-            Packet<?> packet = protocol.createPacket(direction, packetId, full);
-            if (packet == null)
+            FriendlyByteBuf full = new FriendlyByteBuf(receivedBuffers);
+            receivedBuffers = null;
+            try
             {
-                LOGGER.error("Received invalid packet ID {} in forge:split", packetId);
+                int packetId = full.readVarInt();
+                Packet<?> packet = protocol.createPacket(direction, packetId, full);
+                if (packet == null)
+                {
+                    LOGGER.error("Received invalid packet ID {} in forge:split", packetId);
+                }
+                else
+                {
+                    ctx.enqueueWork(() -> ((Packet<ClientPacketListener>)packet).handle(Minecraft.getInstance().getConnection()));
+                }
             }
-            else
+            finally
             {
-                receivedBuffers.clear();
                 full.release();
-                ctx.enqueueWork(() -> ((Packet<ClientPacketListener>)packet).handle(Minecraft.getInstance().getConnection()));
             }
         }
     }
 
+    private static void discardReceived()
+    {
+        receivedBuffers.release();
+        receivedBuffers = null;
+    }
+
+    /**
+     * Encodes a packet, cutting parts off the front of it while it is being written.
+     * <p>
+     * Parts are only cut once an entry of the outermost collection or map of the packet has been written, which is how
+     * the packets that get split hold most of their data. The code writing an entry may go back to bytes it wrote
+     * before, which are still in place until the entry is done.
+     */
+    private static class PartWriter extends FriendlyByteBuf
+    {
+        private final ChunkedBuffer chunks;
+        private final int packetId;
+        private final Consumer<? super Packet<?>> partConsumer;
+        private int depth;
+        private boolean splitting;
+        private boolean first = true;
+
+        private PartWriter(int packetId, Consumer<? super Packet<?>> partConsumer)
+        {
+            this(new ChunkedBuffer(), packetId, partConsumer);
+        }
+
+        private PartWriter(ChunkedBuffer chunks, int packetId, Consumer<? super Packet<?>> partConsumer)
+        {
+            super(chunks);
+            this.chunks = chunks;
+            this.packetId = packetId;
+            this.partConsumer = partConsumer;
+        }
+
+        @Override
+        public <T> void writeCollection(Collection<T> collection, BiConsumer<FriendlyByteBuf, T> writer)
+        {
+            boolean outermost = depth++ == 0;
+            try
+            {
+                super.writeCollection(collection, outermost ? (buf, element) -> {
+                    writer.accept(buf, element);
+                    sendFullParts();
+                } : writer);
+            }
+            finally
+            {
+                depth--;
+            }
+        }
+
+        @Override
+        public <K, V> void writeMap(Map<K, V> map, BiConsumer<FriendlyByteBuf, K> keyWriter, BiConsumer<FriendlyByteBuf, V> valueWriter)
+        {
+            boolean outermost = depth++ == 0;
+            try
+            {
+                super.writeMap(map, keyWriter, outermost ? (buf, value) -> {
+                    valueWriter.accept(buf, value);
+                    sendFullParts();
+                } : valueWriter);
+            }
+            finally
+            {
+                depth--;
+            }
+        }
+
+        private void sendFullParts()
+        {
+            if (!splitting && readableBytes() <= PROTOCOL_MAX)
+                return;
+
+            splitting = true;
+            // Whatever is left is sent once the packet has been written, so the last part is known to be the last
+            while (readableBytes() > PART_SIZE)
+                partConsumer.accept(readPart(false));
+            chunks.discardReadComponents();
+        }
+
+        private Packet<?> readPart(boolean last)
+        {
+            int size = Math.min(PART_SIZE, readableBytes());
+            // Copied, the chunks it is read from are freed before the part is sent
+            FriendlyByteBuf part = new FriendlyByteBuf(Unpooled.buffer(6 + size));
+            if (first)
+            {
+                part.writeByte(STATE_FIRST);
+                part.writeVarInt(packetId);
+                first = false;
+            }
+            else
+            {
+                part.writeByte(last ? STATE_LAST : 0);
+            }
+            chunks.readBytes(part, size);
+            return new ClientboundCustomPayloadPacket(CHANNEL, part);
+        }
+    }
+
+    /**
+     * A heap composite buffer that grows by appending fixed size chunks instead of reallocating and copying.
+     * Chunks which have been read can be freed with {@link #discardReadComponents()}.
+     */
+    private static class ChunkedBuffer extends CompositeByteBuf
+    {
+        private static final int CHUNK_SIZE = 64 * 1024;
+        private static final ByteBufAllocator CHUNK_ALLOCATOR = new UnpooledByteBufAllocator(false)
+        {
+            @Override
+            public int calculateNewCapacity(int minNewCapacity, int maxCapacity)
+            {
+                // Grow by as many chunks as needed, not by doubling, so less than one chunk is ever left unused
+                return (int)Math.min(maxCapacity, ((long)minNewCapacity + CHUNK_SIZE - 1) / CHUNK_SIZE * CHUNK_SIZE);
+            }
+        };
+
+        private ChunkedBuffer()
+        {
+            super(CHUNK_ALLOCATOR, false, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public CompositeByteBuf capacity(int newCapacity)
+        {
+            int capacity = capacity();
+            if (newCapacity <= capacity)
+                return super.capacity(newCapacity);
+
+            while (capacity < newCapacity)
+            {
+                // A component only counts towards the capacity with its readable bytes
+                addComponent(false, alloc().heapBuffer(CHUNK_SIZE).setIndex(0, CHUNK_SIZE));
+                capacity += CHUNK_SIZE;
+            }
+            return this;
+        }
+    }
+
     public enum RemoteCompatibility
     {
         ABSENT,
@@ -13,6 +13,7 @@ import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkEvent;
 import net.minecraftforge.network.NetworkHooks;
 import net.minecraftforge.network.NetworkInstance;
+import net.minecraftforge.network.NetworkMetrics;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
@@ -60,6 +61,8 @@ public class IndexedMessageCodec
         private final Optional<NetworkDirection> networkDirection;
         private Optional<BiConsumer<MSG, Integer>> loginIndexSetter;
         private Optional<Function<MSG, Integer>> loginIndexGetter;
+        private boolean decodeOffThread;
+        private final NetworkMetrics.Message metrics;
 
         public MessageHandler(int index, Class<MSG> messageType, BiConsumer<MSG, FriendlyByteBuf> encoder, Function<FriendlyByteBuf, MSG> decoder, BiConsumer<MSG, Supplier<NetworkEvent.Context>> messageConsumer, final Optional<NetworkDirection> networkDirection)
         {
@@ -71,6 +74,7 @@ public class IndexedMessageCodec
             this.networkDirection = networkDirection;
             this.loginIndexGetter = Optional.empty();
             this.loginIndexSetter = Optional.empty();
+            this.metrics = networkInstance != null ? networkInstance.getMetrics().message(index, messageType) : NetworkMetrics.Message.detached(index, messageType);
             indicies.put((short)(index & 0xff), this);
             types.put(messageType, this);
         }
@@ -92,6 +96,10 @@ public class IndexedMessageCodec
             return this.loginIndexGetter;
         }
 
+        void setDecodeOffThread() {
+            this.decodeOffThread = true;
+        }
+
         MSG newInstance() {
             try {
                 return messageType.newInstance();
@@ -104,7 +112,18 @@ public class IndexedMessageCodec
 
     private static <M> void tryDecode(FriendlyByteBuf payload, Supplier<NetworkEvent.Context> context, int payloadIndex, MessageHandler<M> codec)
     {
-        codec.decoder.map(d->d.apply(payload)).
+        // Login messages are answered in the order the handshake expects, so they are always decoded right away
+        if (codec.decodeOffThread && payloadIndex == Integer.MIN_VALUE && codec.decoder.isPresent())
+        {
+            final Function<FriendlyByteBuf, M> decoder = codec.decoder.get();
+            context.get().setPacketHandled(true);
+            OffThreadDecoder.submit(context.get(), payload, buf -> {
+                M message = decode(buf, decoder, codec);
+                return () -> codec.messageConsumer.accept(message, context);
+            });
+            return;
+        }
+        codec.decoder.map(d->decode(payload, d, codec)).
                 map(p->{
                     // Only run the loginIndex function for payloadIndexed packets (login)
                     if (payloadIndex != Integer.MIN_VALUE)
@@ -115,10 +134,22 @@ public class IndexedMessageCodec
                 }).ifPresent(m->codec.messageConsumer.accept(m, context));
     }
 
+    private static <M> M decode(FriendlyByteBuf payload, Function<FriendlyByteBuf, M> decoder, MessageHandler<M> codec)
+    {
+        final int size = payload.readableBytes();
+        final long start = System.nanoTime();
+        M message = decoder.apply(payload);
+        codec.metrics.recordDecode(size, System.nanoTime() - start);
+        return message;
+    }
+
     private static <M> int tryEncode(FriendlyByteBuf target, M message, MessageHandler<M> codec) {
         codec.encoder.ifPresent(encoder->{
             target.writeByte(codec.index & 0xff);
+            final int start = target.writerIndex();
+            final long startTime = System.nanoTime();
             encoder.accept(message, target);
+            codec.metrics.recordEncode(target.writerIndex() - start, System.nanoTime() - startTime);
         });
         return codec.loginIndexGetter.orElse(m -> Integer.MIN_VALUE).apply(message);
     }
@@ -144,6 +175,13 @@ public class IndexedMessageCodec
             return;
         }
         short discriminator = payload.readUnsignedByte();
+        if (discriminator == MessageBatcher.BATCH_INDEX && isBatched()) {
+            while (payload.isReadable()) {
+                int length = payload.readVarInt();
+                consume(new FriendlyByteBuf(payload.readSlice(length)), payloadIndex, context);
+            }
+            return;
+        }
         final MessageHandler<?> messageHandler = indicies.get(discriminator);
         if (messageHandler == null) {
             LOGGER.error(SIMPLENET, "Received invalid discriminator byte {} on channel {}", discriminator, Optional.ofNullable(networkInstance).map(NetworkInstance::getChannelName).map(Objects::toString).orElse("MISSING CHANNEL"));
@@ -153,7 +191,13 @@ public class IndexedMessageCodec
         tryDecode(payload, context, payloadIndex, messageHandler);
     }
 
+    private boolean isBatched() {
+        return networkInstance != null && networkInstance.isBatched();
+    }
+
     <MSG> MessageHandler<MSG> addCodecIndex(int index, Class<MSG> messageType, BiConsumer<MSG, FriendlyByteBuf> encoder, Function<FriendlyByteBuf, MSG> decoder, BiConsumer<MSG, Supplier<NetworkEvent.Context>> messageConsumer, final Optional<NetworkDirection> networkDirection) {
+        if ((index & 0xff) == MessageBatcher.BATCH_INDEX && isBatched())
+            throw new IllegalArgumentException("Message index " + MessageBatcher.BATCH_INDEX + " is reserved on batched channel " + networkInstance.getChannelName());
         return new MessageHandler<>(index, messageType, encoder, decoder, messageConsumer, networkDirection);
     }
 }
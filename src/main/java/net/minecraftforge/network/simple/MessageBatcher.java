@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.network.simple;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.network.ICustomPacket;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkRegistry;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Coalesces the messages sent on channels built with {@link NetworkRegistry.ChannelBuilder#batchMessages()}
+ * into a single custom payload per channel and connection, saving the per packet framing, compression and flush cost
+ * for mods that send many small messages.
+ * <p>
+ * This handler sits in the pipeline of every network connection while any batched channel exists. It holds back the
+ * payloads of batched channels and writes them as one payload at the end of every client and server tick,
+ * or earlier once a batch would exceed {@link #MAX_BATCH_SIZE}. The order of messages within a channel is kept,
+ * but they may be delivered after packets of other channels which were sent later in the same tick.
+ * <p>
+ * A batch is the {@link #BATCH_INDEX} discriminator followed by every message prefixed with its length,
+ * which {@link IndexedMessageCodec} unpacks on the receiving side.
+ */
+public class MessageBatcher extends ChannelOutboundHandlerAdapter
+{
+    /**
+     * The discriminator of batch payloads, which can not be used for messages of batched channels.
+     */
+    public static final int BATCH_INDEX = 0xff;
+    /**
+     * The maximum size of a batch payload, which stays below the vanilla limit for serverbound custom payloads.
+     */
+    public static final int MAX_BATCH_SIZE = 32000;
+
+    private static final Set<ResourceLocation> CHANNELS = ConcurrentHashMap.newKeySet();
+    private static final Set<MessageBatcher> PENDING = ConcurrentHashMap.newKeySet();
+
+    // Only accessed on the event loop of the connection
+    private final Map<ResourceLocation, Batch> batches = new LinkedHashMap<>();
+    private ChannelHandlerContext ctx;
+
+    static void enable(ResourceLocation channel)
+    {
+        CHANNELS.add(channel);
+    }
+
+    public static boolean isNecessary()
+    {
+        return !CHANNELS.isEmpty();
+    }
+
+    /**
+     * Writes out all batches held back so far. Called at the end of every client and server tick.
+     */
+    public static void flushAll()
+    {
+        for (MessageBatcher batcher : PENDING)
+        {
+            PENDING.remove(batcher);
+            batcher.ctx.executor().execute(batcher::flushBatches);
+        }
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx)
+    {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx)
+    {
+        PENDING.remove(this);
+        batches.values().forEach(batch -> batch.promises.forEach(p -> p.tryFailure(new IllegalStateException("Connection closed before the message batch was sent"))));
+        batches.clear();
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception
+    {
+        if (msg instanceof ICustomPacket<?> packet && CHANNELS.contains(packet.getName()) && isPlay(packet.getDirection()) && packet.getInternalData() != null)
+        {
+            int size = messageSize(packet);
+            Batch batch = batches.get(packet.getName());
+            if (batch != null && batch.size + size > MAX_BATCH_SIZE)
+            {
+                writeBatch(packet.getName(), batches.remove(packet.getName()));
+                ctx.flush();
+                batch = null;
+            }
+
+            if (1 + size <= MAX_BATCH_SIZE)
+            {
+                if (batch == null)
+                    batches.put(packet.getName(), batch = new Batch(packet.getDirection()));
+                batch.add(packet, size, promise);
+                PENDING.add(this);
+                return;
+            }
+        }
+        ctx.write(msg, promise);
+    }
+
+    private void flushBatches()
+    {
+        if (batches.isEmpty())
+            return;
+        batches.forEach(this::writeBatch);
+        batches.clear();
+        ctx.flush();
+    }
+
+    private void writeBatch(ResourceLocation channel, Batch batch)
+    {
+        if (batch.packets.size() == 1)
+        {
+            // Nothing to coalesce, send the message as it was
+            ctx.write(batch.packets.get(0), batch.promises.get(0));
+            return;
+        }
+
+        // The batch is only referenced by the packet below, which the encoder has copied out of once the write completes
+        FriendlyByteBuf data = new FriendlyByteBuf(ctx.alloc().buffer(batch.size));
+        data.writeByte(BATCH_INDEX);
+        for (ICustomPacket<?> packet : batch.packets)
+        {
+            FriendlyByteBuf message = packet.getInternalData();
+            data.writeVarInt(message.readableBytes());
+            data.writeBytes(message, message.readerIndex(), message.readableBytes());
+        }
+
+        Packet<?> packet = batch.direction.buildPacket(Pair.of(data, Integer.MIN_VALUE), channel).getThis();
+        List<ChannelPromise> promises = batch.promises;
+        ctx.write(packet).addListener(future -> {
+            data.release();
+            for (ChannelPromise promise : promises)
+            {
+                if (future.isSuccess())
+                    promise.trySuccess();
+                else
+                    promise.tryFailure(future.cause());
+            }
+        });
+    }
+
+    private static boolean isPlay(NetworkDirection direction)
+    {
+        return direction == NetworkDirection.PLAY_TO_CLIENT || direction == NetworkDirection.PLAY_TO_SERVER;
+    }
+
+    private static int messageSize(ICustomPacket<?> packet)
+    {
+        int length = packet.getInternalData().readableBytes();
+        return FriendlyByteBuf.getVarIntSize(length) + length;
+    }
+
+    private static final class Batch
+    {
+        private final NetworkDirection direction;
+        private final List<ICustomPacket<?>> packets = new ArrayList<>();
+        private final List<ChannelPromise> promises = new ArrayList<>();
+        private int size = 1;
+
+        private Batch(NetworkDirection direction)
+        {
+            this.direction = direction;
+        }
+
+        private void add(ICustomPacket<?> packet, int size, ChannelPromise promise)
+        {
+            this.packets.add(packet);
+            this.promises.add(promise);
+            this.size += size;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.network.simple;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.network.Connection;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.chat.Component;
+import net.minecraft.util.thread.BlockableEventLoop;
+import net.minecraftforge.common.util.LogicalSidedProvider;
+import net.minecraftforge.network.NetworkEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Decodes the messages registered with {@link SimpleChannel.MessageBuilder#decodeOffThread()} on a small shared pool,
+ * keeping large decodes off both the network thread and the main thread.
+ * <p>
+ * Every connection numbers its off thread messages as they arrive, and hands them to the main thread in that order,
+ * no matter in which order they finish decoding. While a connection has more than {@link #HIGH_WATER_MARK} bytes waiting
+ * to be decoded, reading from it is paused until it gets below {@link #LOW_WATER_MARK} again.
+ */
+final class OffThreadDecoder
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final AttributeKey<OffThreadDecoder> ATTRIBUTE = AttributeKey.valueOf("forge:off_thread_decoder");
+    private static final long HIGH_WATER_MARK = 8 * 1024 * 1024;
+    private static final long LOW_WATER_MARK = 2 * 1024 * 1024;
+    // Every message counts at least this much towards the water marks, so floods of tiny messages are throttled too
+    private static final int MIN_MESSAGE_COST = 1024;
+    private static final Runnable FAILED = () -> {};
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private final Connection connection;
+    private final Channel channel;
+    private final BlockableEventLoop<?> mainThread;
+    private final AtomicLong pendingBytes = new AtomicLong();
+    // Guarded by itself
+    private final Long2ObjectOpenHashMap<Runnable> decoded = new Long2ObjectOpenHashMap<>();
+    private long nextDelivery;
+    // Only accessed on the network thread
+    private long nextSequence;
+    private boolean paused;
+    // Only accessed on the main thread
+    private boolean failed;
+
+    private OffThreadDecoder(Connection connection, BlockableEventLoop<?> mainThread)
+    {
+        this.connection = connection;
+        this.channel = connection.channel();
+        this.mainThread = mainThread;
+    }
+
+    /**
+     * Decodes the payload on the decoder pool, and runs the handler the decoder returns on the main thread.
+     * Must be called on the network thread of the connection the payload was received on.
+     */
+    static void submit(NetworkEvent.Context context, FriendlyByteBuf payload, Function<FriendlyByteBuf, Runnable> decoder)
+    {
+        Connection connection = context.getNetworkManager();
+        OffThreadDecoder queue = connection.channel().attr(ATTRIBUTE).get();
+        if (queue == null)
+        {
+            queue = new OffThreadDecoder(connection, LogicalSidedProvider.WORKQUEUE.get(context.getDirection().getReceptionSide()));
+            connection.channel().attr(ATTRIBUTE).set(queue);
+        }
+        // The payload is released once the packet has been dispatched, which is long before it is decoded
+        queue.enqueue(payload.retainedSlice(), decoder);
+    }
+
+    private void enqueue(ByteBuf payload, Function<FriendlyByteBuf, Runnable> decoder)
+    {
+        final long sequence = nextSequence++;
+        final int cost = Math.max(MIN_MESSAGE_COST, payload.readableBytes());
+        if (pendingBytes.addAndGet(cost) > HIGH_WATER_MARK && !paused)
+        {
+            paused = true;
+            channel.config().setAutoRead(false);
+        }
+
+        EXECUTOR.execute(() -> {
+            Runnable handler;
+            try
+            {
+                handler = decoder.apply(new FriendlyByteBuf(payload));
+            }
+            catch (Throwable t)
+            {
+                LOGGER.error("Failed to decode message from {}", connection.getRemoteAddress(), t);
+                handler = FAILED;
+            }
+            finally
+            {
+                payload.release();
+            }
+            complete(sequence, handler, cost);
+        });
+    }
+
+    private void complete(long sequence, Runnable handler, int cost)
+    {
+        synchronized (decoded)
+        {
+            decoded.put(sequence, handler);
+            Runnable next;
+            // Handing them over while holding the lock keeps the main thread's queue in sequence order
+            while ((next = decoded.remove(nextDelivery)) != null)
+            {
+                nextDelivery++;
+                final Runnable task = next;
+                mainThread.submitAsync(() -> deliver(task));
+            }
+        }
+
+        long pending = pendingBytes.addAndGet(-cost);
+        if (pending < LOW_WATER_MARK && pending + cost >= LOW_WATER_MARK)
+            channel.eventLoop().execute(this::resume);
+    }
+
+    private void resume()
+    {
+        if (paused && pendingBytes.get() < LOW_WATER_MARK)
+        {
+            paused = false;
+            channel.config().setAutoRead(true);
+        }
+    }
+
+    private void deliver(Runnable handler)
+    {
+        if (failed || !connection.isConnected())
+            return;
+        if (handler == FAILED)
+        {
+            // Like a decoder failing on the network thread, the connection can not continue past a broken message
+            failed = true;
+            connection.disconnect(Component.literal("Invalid packet received, terminating connection"));
+            return;
+        }
+        handler.run();
+    }
+
+    private static ExecutorService createExecutor()
+    {
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("Forge Network Decoder #%d").setDaemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -5,10 +5,12 @@
 
 package net.minecraftforge.network.simple;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import net.minecraft.client.Minecraft;
 import net.minecraft.network.Connection;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.PacketSendListener;
 import net.minecraft.network.protocol.Packet;
 import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkEvent;
@@ -89,7 +91,86 @@ public class SimpleChannel
 
     public <MSG> void sendTo(MSG message, Connection manager, NetworkDirection direction)
     {
-        manager.send(toVanillaPacket(message, direction));
+        sendTo(message, List.of(manager), direction);
+    }
+
+    /**
+     * Send a message to several connections, encoding it only once.
+     * <p>
+     * Every network connection is sent a retained reference to the same payload from the pooled allocator, which is released
+     * once it has been written. Packets on memory connections are handed to the other side as they are, so those are sent
+     * a heap copy instead. Connections which are not open are skipped, as they would queue the packet indefinitely.
+     *
+     * @param message The message to send
+     * @param managers The connections to send the message to
+     * @param direction The direction of the message
+     * @param <MSG> The type of the message
+     */
+    public <MSG> void sendTo(MSG message, Collection<Connection> managers, NetworkDirection direction)
+    {
+        FriendlyByteBuf pooled = null;
+        FriendlyByteBuf heap = null;
+        Packet<?> pooledPacket = null;
+        Packet<?> heapPacket = null;
+        int index = Integer.MIN_VALUE;
+        try
+        {
+            for (Connection manager : managers)
+            {
+                if (!manager.isConnected())
+                    continue;
+                if (manager.isMemoryConnection())
+                {
+                    if (heapPacket == null)
+                    {
+                        heap = new FriendlyByteBuf(Unpooled.buffer());
+                        if (pooled == null)
+                            index = encodeMessage(message, heap);
+                        else
+                            heap.writeBytes(pooled, pooled.readerIndex(), pooled.readableBytes());
+                        heapPacket = direction.buildPacket(Pair.of(heap, index), instance.getChannelName()).getThis();
+                    }
+                    manager.send(heapPacket);
+                    continue;
+                }
+
+                if (pooledPacket == null)
+                {
+                    pooled = new FriendlyByteBuf(manager.channel().alloc().buffer());
+                    if (heap == null)
+                        index = encodeMessage(message, pooled);
+                    else
+                        pooled.writeBytes(heap, heap.readerIndex(), heap.readableBytes());
+                    pooledPacket = direction.buildPacket(Pair.of(pooled, index), instance.getChannelName()).getThis();
+                }
+                manager.send(pooledPacket, releaseOnSent(pooled.retain()));
+            }
+        }
+        finally
+        {
+            // Every send holds its own reference
+            if (pooled != null)
+                pooled.release();
+        }
+    }
+
+    private static PacketSendListener releaseOnSent(ByteBuf buf)
+    {
+        return new PacketSendListener()
+        {
+            @Override
+            public void onSuccess()
+            {
+                buf.release();
+            }
+
+            @Override
+            public Packet<?> onFailure()
+            {
+                buf.release();
+                return null;
+            }
+        };
     }
 
     /**
@@ -104,7 +185,11 @@ public class SimpleChannel
      * @param <MSG> The type of the message
      */
     public <MSG> void send(PacketDistributor.PacketTarget target, MSG message) {
-        target.send(toVanillaPacket(message, target.getDirection()));
+        List<Connection> recipients = target.getRecipients();
+        if (recipients != null)
+            sendTo(message, recipients, target.getDirection());
+        else
+            target.send(toVanillaPacket(message, target.getDirection()));
     }
 
     public <MSG> Packet<?> toVanillaPacket(MSG message, NetworkDirection direction)
@@ -162,6 +247,7 @@ public class SimpleChannel
         private Function<Boolean, List<Pair<String, MSG>>> loginPacketGenerators;
         private Optional<NetworkDirection> networkDirection;
         private boolean needsResponse = true;
+        private boolean decodeOffThread;
 
         private static <MSG> MessageBuilder<MSG> forType(final SimpleChannel channel, final Class<MSG> type, int id, NetworkDirection networkDirection) {
             MessageBuilder<MSG> builder = new MessageBuilder<>();
@@ -237,6 +323,26 @@ public class SimpleChannel
             return this;
         }
 
+        /**
+         * Marks this message as expensive to decode, like messages carrying large amounts of NBT.
+         * <p>
+         * Instead of the network thread, the decoder is called on a small pool of decoder threads, so that neither the
+         * network thread nor the main thread stall on it. The consumer is then called on the main thread, and messages
+         * marked this way are always handled in the order they were received on a connection.
+         * They are not ordered relative to other messages though, which may be handled before an earlier
+         * message marked this way. While too many of these messages are waiting to be decoded, no more packets are read
+         * from the connection.
+         * <p>
+         * The decoder must be thread-safe. Login messages are always decoded on the network thread.
+         *
+         * @return The message builder, for chaining.
+         */
+        public MessageBuilder<MSG> decodeOffThread()
+        {
+            this.decodeOffThread = true;
+            return this;
+        }
+
         /**
          * Set the message consumer, which is called once a message has been decoded.
          * @param consumer The message consumer.
@@ -331,6 +437,9 @@ public class SimpleChannel
             if (this.loginPacketGenerators != null) {
                 this.channel.loginPackets.add(this.loginPacketGenerators);
             }
+            if (this.decodeOffThread) {
+                message.setDecodeOffThread();
+            }
             this.channel.packetsNeedResponse.put(this.type, this.needsResponse);
         }
     }
@@ -83,6 +83,10 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
 
     private V defaultValue = null;
     boolean isFrozen = false;
+    @Nullable
+    private FrozenRegistryTables<V> frozenTables = null;
+    @Nullable
+    private Snapshot syncSnapshot = null;
 
     private final ResourceLocation name;
     private final ResourceKey<Registry<V>> key;
@@ -207,16 +211,26 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
     @Override
     public V getValue(ResourceLocation key)
     {
-        V ret = this.names.get(key);
+        V ret = getByName(key);
         key = this.aliases.get(key);
         while (ret == null && key != null)
         {
-            ret = this.names.get(key);
+            ret = getByName(key);
             key = this.aliases.get(key);
         }
         return ret == null ? this.defaultValue : ret;
     }
 
+    @Nullable
+    private V getByName(ResourceLocation key)
+    {
+        final FrozenRegistryTables<V> frozen = this.frozenTables;
+        if (frozen == null)
+            return this.names.get(key);
+        FrozenRegistryTables.Entry<V> entry = frozen.getEntry(key);
+        return entry == null ? null : entry.value();
+    }
+
     @Override
     public ResourceLocation getKey(V value)
     {
@@ -227,6 +241,13 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
     @Override
     public Optional<ResourceKey<V>> getResourceKey(V value)
     {
+        final FrozenRegistryTables<V> frozen = this.frozenTables;
+        if (frozen != null)
+        {
+            FrozenRegistryTables.Entry<V> entry = frozen.getEntry(value);
+            if (entry != null)
+                return Optional.of(entry.key());
+        }
         // We use 'owners' here because we want to return the key for the inactive overridden items, not just the active set.
         return Optional.ofNullable(this.owners.inverse().get(value)).map(OverrideOwner::key);
     }
@@ -343,6 +364,15 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
 
     public int getID(V value)
     {
+        final FrozenRegistryTables<V> frozen = this.frozenTables;
+        if (frozen != null)
+        {
+            FrozenRegistryTables.Entry<V> entry = frozen.getEntry(value);
+            if (entry == null && this.defaultValue != null)
+                entry = frozen.getEntry(this.defaultValue);
+            return entry == null ? -1 : entry.id();
+        }
+
         Integer ret = this.ids.inverse().get(value);
         if (ret == null && this.defaultValue != null)
             ret = this.ids.inverse().get(this.defaultValue);
@@ -351,7 +381,7 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
 
     public int getID(ResourceLocation name)
     {
-        return getID(this.names.get(name));
+        return getID(getByName(name));
     }
     private int getIDRaw(V value)
     {
@@ -365,7 +395,8 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
 
     public V getValue(int id)
     {
-        V ret = this.ids.get(id);
+        final FrozenRegistryTables<V> frozen = this.frozenTables;
+        V ret = frozen != null ? frozen.getValue(id) : this.ids.get(id);
         return ret == null ? this.defaultValue : ret;
     }
 
@@ -373,6 +404,12 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
     public ResourceKey<V> getKey(int id)
     {
         V value = getValue(id);
+        final FrozenRegistryTables<V> frozen = this.frozenTables;
+        if (frozen != null)
+        {
+            FrozenRegistryTables.Entry<V> entry = frozen.getEntry(value);
+            return entry == null ? null : entry.key();
+        }
         return this.keys.inverse().get(value);
     }
 
@@ -445,6 +482,7 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
         }
 
         ResourceKey<V> rkey = ResourceKey.create(this.key, key);
+        this.dropFrozenData();
         this.names.put(key, value);
         this.keys.put(rkey, value);
         this.ids.put(idToUse, value);
@@ -512,7 +550,7 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
     @Override
     public Optional<Holder.Reference<V>> getDelegate(ResourceKey<V> rkey)
     {
-        return Optional.ofNullable(delegatesByName.get(rkey.location()));
+        return getDelegate(rkey.location());
     }
 
     @NotNull
@@ -526,6 +564,13 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
     @Override
     public Optional<Holder.Reference<V>> getDelegate(ResourceLocation key)
     {
+        final FrozenRegistryTables<V> frozen = this.frozenTables;
+        if (frozen != null)
+        {
+            FrozenRegistryTables.Entry<V> entry = frozen.getEntry(key);
+            if (entry != null && entry.delegate() != null)
+                return Optional.of(entry.delegate());
+        }
         return Optional.ofNullable(delegatesByName.get(key));
     }
 
@@ -540,6 +585,14 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
     @Override
     public Optional<Holder.Reference<V>> getDelegate(V value)
     {
+        final FrozenRegistryTables<V> frozen = this.frozenTables;
+        if (frozen != null)
+        {
+            // Overridden values are not in the frozen tables, they still have their own delegate in the map
+            FrozenRegistryTables.Entry<V> entry = frozen.getEntry(value);
+            if (entry != null && entry.delegate() != null)
+                return Optional.of(entry.delegate());
+        }
         return Optional.ofNullable(delegatesByValue.get(value));
     }
 
@@ -552,6 +605,7 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
 
     private Holder.Reference<V> bindDelegate(ResourceKey<V> rkey, V value)
     {
+        this.dropFrozenData();
         Holder.Reference<V> delegate = delegatesByName.computeIfAbsent(rkey.location(), k -> Holder.Reference.createStandAlone(this.getWrapperOrThrow(), rkey));
         delegate.bind(rkey, value);
         delegatesByValue.put(value, delegate);
@@ -563,11 +617,13 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
         if (!this.hasWrapper)
             return;
 
-        for (Entry<ResourceKey<V>, V> entry : this.keys.entrySet())
-            bindDelegate(entry.getKey(), entry.getValue());
-
         for (Entry<ResourceLocation, V> entry : this.overrides.entries())
             bindDelegate(ResourceKey.create(this.key, entry.getKey()), entry.getValue());
+
+        // Overridden values share the delegate of their name, bind the active values last so it ends on them.
+        // Registries that skip loading a snapshot are frozen with these bindings as they are.
+        for (Entry<ResourceKey<V>, V> entry : this.keys.entrySet())
+            bindDelegate(entry.getKey(), entry.getValue());
     }
 
     V getDefault()
@@ -641,7 +697,7 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
         if (this == from)
             throw new IllegalArgumentException("WTF We are the same!?!?!");
 
-        this.isFrozen = false;
+        this.unfreeze();
 
         if (this.clear != null)
             this.clear.onClear(this, stage);
@@ -723,6 +779,7 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
         this.aliases.clear();
         this.dummies.clear();
 
+        this.dropFrozenData();
         this.ids.clear();
         this.names.clear();
         this.keys.clear();
@@ -738,6 +795,7 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
         if (this.isLocked())
             throw new IllegalStateException("Attempted to remove from the registry to late.");
 
+        this.dropFrozenData();
         V value = this.names.remove(key);
         if (value != null)
         {
@@ -757,6 +815,7 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
 
     void block(int id)
     {
+        this.syncSnapshot = null;
         this.blocked.add(id);
         this.availabilityMap.set(id);
     }
@@ -774,11 +833,20 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
     public void freeze()
     {
         this.isFrozen = true;
+        this.frozenTables = new FrozenRegistryTables<>(this.ids, this.keys.inverse(), this.delegatesByName);
+        this.syncSnapshot = null;
     }
 
     public void unfreeze()
     {
         this.isFrozen = false;
+        this.dropFrozenData();
+    }
+
+    private void dropFrozenData()
+    {
+        this.frozenTables = null;
+        this.syncSnapshot = null;
     }
 
     void dump(ResourceLocation name)
@@ -944,6 +1012,7 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
         if (this.containsKey(key))
         {
             //If the entry already exists, we need to delete it so we can add a dummy...
+            this.dropFrozenData();
             V value = this.names.remove(key);
             if (value == null)
                 throw new IllegalStateException("ContainsKey for " + key + " was true, but removing by name returned no value.. This should never happen unless hackery!");
@@ -968,6 +1037,36 @@ public class ForgeRegistry<V> implements IForgeRegistryInternal<V>, IForgeRegist
         this.dummies.add(key);
     }
 
+    /**
+     * Returns the snapshot sent to connecting clients.
+     * While the registry stays frozen its content can't change, so the snapshot and its encoded packet data are shared between clients.
+     */
+    synchronized Snapshot getSyncSnapshot()
+    {
+        if (!this.isLocked())
+            return makeSnapshot();
+        if (this.syncSnapshot == null)
+            this.syncSnapshot = makeSnapshot();
+        return this.syncSnapshot;
+    }
+
+    /**
+     * @return true if loading the snapshot would leave this registry exactly as it is, so applying it can be skipped.
+     */
+    boolean matchesSnapshot(Snapshot snapshot)
+    {
+        if (!this.dummies.isEmpty() || !snapshot.dummied.isEmpty() || snapshot.ids.size() != this.ids.size())
+            return false;
+        if (!snapshot.blocked.equals(this.blocked) || !snapshot.aliases.equals(this.aliases) || !snapshot.overrides.equals(getOverrideOwners()))
+            return false;
+        for (Map.Entry<ResourceLocation, Integer> entry : snapshot.ids.entrySet())
+        {
+            if (getIDRaw(entry.getKey()) != entry.getValue())
+                return false;
+        }
+        return true;
+    }
+
     //Public for tests
     public Snapshot makeSnapshot()
     {
@@ -18,6 +18,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.stream.Stream;
 
@@ -28,6 +29,9 @@ class ForgeRegistryTag<V> implements ITag<V>
     private HolderSet<V> holderSet;
     @Nullable
     private List<V> contents;
+    // Materialized with the contents, so contains doesn't scan the list
+    @Nullable
+    private Set<V> contentsSet;
 
     ForgeRegistryTag(TagKey<V> key)
     {
@@ -74,7 +78,7 @@ class ForgeRegistryTag<V> implements ITag<V>
     @Override
     public boolean contains(V value)
     {
-        return this.getContents().contains(value);
+        return this.holderSet != null && this.getContentsSet().contains(value);
     }
 
     @Override
@@ -97,10 +101,22 @@ class ForgeRegistryTag<V> implements ITag<V>
         return this.contents == null ? List.of() : this.contents;
     }
 
+    private Set<V> getContentsSet()
+    {
+        Set<V> set = this.contentsSet;
+        if (set == null)
+            this.contentsSet = set = Set.copyOf(this.getContents());
+        return set;
+    }
+
     void bind(@Nullable HolderSet<V> holderSet)
     {
         this.holderSet = holderSet;
         this.contents = null;
+        this.contentsSet = null;
+        // Built right away, the holder set is complete by the time tags are bound
+        if (holderSet != null)
+            this.getContentsSet();
     }
 
     @Override
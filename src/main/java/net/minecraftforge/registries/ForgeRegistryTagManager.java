@@ -27,12 +27,15 @@ class ForgeRegistryTagManager<V> implements ITagManager<V>
 {
     private final ForgeRegistry<V> owner;
     private volatile Map<TagKey<V>, ITag<V>> tags = new IdentityHashMap<>();
+    // The reverse tags of all values in at least one tag, rebuilt whenever tags are bound
+    private volatile Map<V, Optional<IReverseTag<V>>> reverseTags = new IdentityHashMap<>();
 
     ForgeRegistryTagManager(ForgeRegistry<V> owner)
     {
         this.owner = owner;
     }
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     void bind(Map<TagKey<V>, HolderSet.Named<V>> holderTags, Set<TagKey<V>> defaultedTags)
     {
         IdentityHashMap<TagKey<V>, ITag<V>> newTags = new IdentityHashMap<>(this.tags);
@@ -44,7 +47,13 @@ class ForgeRegistryTagManager<V> implements ITagManager<V>
         holderTags.forEach((key, holderSet) ->
                 ((ForgeRegistryTag<V>) newTags.computeIfAbsent(key, ForgeRegistryTag::new)).bind(holderSet));
 
+        // All Holders are implementors of IReverseTag
+        IdentityHashMap<V, Optional<IReverseTag<V>>> newReverseTags = new IdentityHashMap<>();
+        holderTags.values().forEach(holderSet -> holderSet.forEach(holder ->
+                newReverseTags.computeIfAbsent(holder.value(), v -> (Optional<IReverseTag<V>>) (Optional) Optional.of(holder))));
+
         this.tags = newTags;
+        this.reverseTags = newReverseTags;
     }
 
     @NotNull
@@ -75,6 +84,9 @@ class ForgeRegistryTagManager<V> implements ITagManager<V>
     public Optional<IReverseTag<V>> getReverseTag(@NotNull V value)
     {
         Objects.requireNonNull(value);
+        Optional<IReverseTag<V>> reverseTag = this.reverseTags.get(value);
+        if (reverseTag != null)
+            return reverseTag;
         // All Holders are implementors of IReverseTag
         return (Optional<IReverseTag<V>>) (Optional) this.owner.getHolder(value);
     }
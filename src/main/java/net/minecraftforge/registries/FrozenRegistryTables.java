@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.registries;
+
+import java.util.Map;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.Holder;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Read-only lookup tables for a frozen {@link ForgeRegistry}.
+ * While a registry is frozen its hot lookups (id to value, value to id/key/delegate and name to value/delegate)
+ * go through these primitive-friendly tables instead of the boxed {@code BiMap}s used while it is mutable.
+ * An instance is built in {@link ForgeRegistry#freeze()} and dropped on any mutation, so it never goes stale.
+ */
+final class FrozenRegistryTables<V>
+{
+    record Entry<V>(int id, ResourceKey<V> key, V value, @Nullable Holder.Reference<V> delegate) {}
+
+    private final Object[] byId;
+    private final Reference2ObjectOpenHashMap<V, Entry<V>> byValue;
+    private final Object2ObjectOpenHashMap<ResourceLocation, Entry<V>> byName;
+
+    FrozenRegistryTables(Map<Integer, V> ids, Map<V, ResourceKey<V>> keys, Map<ResourceLocation, Holder.Reference<V>> delegates)
+    {
+        int maxId = -1;
+        for (int id : ids.keySet())
+            maxId = Math.max(maxId, id);
+
+        this.byId = new Object[maxId + 1];
+        this.byValue = new Reference2ObjectOpenHashMap<>(ids.size());
+        this.byName = new Object2ObjectOpenHashMap<>(ids.size());
+
+        for (Map.Entry<Integer, V> e : ids.entrySet())
+        {
+            V value = e.getValue();
+            ResourceKey<V> key = keys.get(value);
+            if (key == null)
+                throw new IllegalStateException("Registry entry " + value + " with id " + e.getKey() + " has no key. This should never happen unless hackery!");
+            Entry<V> entry = new Entry<>(e.getKey(), key, value, delegates.get(key.location()));
+            this.byId[entry.id()] = value;
+            this.byValue.put(value, entry);
+            this.byName.put(key.location(), entry);
+        }
+
+        this.byValue.trim();
+        this.byName.trim();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    V getValue(int id)
+    {
+        return id >= 0 && id < byId.length ? (V)byId[id] : null;
+    }
+
+    @Nullable
+    Entry<V> getEntry(V value)
+    {
+        return byValue.get(value);
+    }
+
+    @Nullable
+    Entry<V> getEntry(ResourceLocation name)
+    {
+        return byName.get(name);
+    }
+}
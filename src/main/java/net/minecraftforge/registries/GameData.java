@@ -619,7 +619,7 @@ public class GameData
             ForgeRegistry<T> toRegistry = to.getRegistry(registryName, from);
             toRegistry.sync(registryName, fromRegistry);
             if (freeze)
-                toRegistry.isFrozen = true;
+                toRegistry.freeze();
         }
     }
 
@@ -659,6 +659,13 @@ public class GameData
 
         RegistryManager STAGING = new RegistryManager();
 
+        // Registries whose ids already match the snapshot don't need to go through STAGING at all
+        final Set<ResourceLocation> unchanged = snapshot.entrySet().stream()
+                .filter(e -> matchesSnapshot(e.getKey(), e.getValue(), injectFrozenData))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        LOGGER.debug(REGISTRIES, "{} of {} registries already match the snapshot, skipping them: {}", unchanged.size(), snapshot.size(), unchanged);
+
         final Map<ResourceLocation, Map<ResourceLocation, IdMappingEvent.IdRemapping>> remaps = Maps.newHashMap();
         final LinkedHashMap<ResourceLocation, Map<ResourceLocation, Integer>> missing = Maps.newLinkedHashMap();
         // Load the snapshot into the "STAGING" registry
@@ -666,11 +673,17 @@ public class GameData
         {
             remaps.put(key, Maps.newLinkedHashMap());
             missing.put(key, Maps.newLinkedHashMap());
+            if (unchanged.contains(key))
+                return;
+            long start = System.nanoTime();
             loadPersistentDataToStagingRegistry(RegistryManager.ACTIVE, STAGING, remaps.get(key), missing.get(key), key, value);
+            LOGGER.debug(REGISTRIES, "Registry {}: Snapshot staged in {} ms", key, (System.nanoTime() - start) / 1_000_000);
         });
 
         snapshot.forEach((key, value) ->
         {
+            if (unchanged.contains(key))
+                return;
             value.dummied.forEach(dummy ->
             {
                 Map<ResourceLocation, Integer> m = missing.get(key);
@@ -776,7 +789,8 @@ public class GameData
             // So we load it from the frozen persistent registry
             RegistryManager.ACTIVE.registries.forEach((name, reg) ->
             {
-                loadFrozenDataToStagingRegistry(STAGING, name, remaps.get(name));
+                if (!unchanged.contains(name))
+                    loadFrozenDataToStagingRegistry(STAGING, name, remaps.get(name));
             });
         }
 
@@ -787,7 +801,14 @@ public class GameData
         //for (Map.Entry<ResourceLocation, IForgeRegistry<?>>> r : RegistryManager.ACTIVE.registries.entrySet())
         RegistryManager.ACTIVE.registries.forEach((key, value) ->
         {
+            if (unchanged.contains(key))
+            {
+                value.freeze(); // Delegates were rebound to the active values above, rebuild the lookup tables
+                return;
+            }
+            long start = System.nanoTime();
             loadRegistry(key, STAGING, RegistryManager.ACTIVE, true);
+            LOGGER.debug(REGISTRIES, "Registry {}: Snapshot applied in {} ms", key, (System.nanoTime() - start) / 1_000_000);
         });
 
         RegistryManager.ACTIVE.registries.forEach((name, reg) -> {
@@ -813,6 +834,18 @@ public class GameData
         StartupMessageManager.modLoaderConsumer().ifPresent(s->s.accept("Remap complete"));
     }
 
+    private static boolean matchesSnapshot(ResourceLocation name, ForgeRegistry.Snapshot snap, boolean injectFrozenData)
+    {
+        ForgeRegistry<?> active = RegistryManager.ACTIVE.getRegistry(name);
+        if (active == null || !active.matchesSnapshot(snap))
+            return false;
+        if (!injectFrozenData)
+            return true;
+        // Frozen data is merged on top of the snapshot, it must not add anything either
+        ForgeRegistry<?> frozen = RegistryManager.FROZEN.getRegistry(name);
+        return frozen != null && frozen.matchesSnapshot(snap);
+    }
+
     //Has to be split because of generics, Yay!
     private static <T> void loadPersistentDataToStagingRegistry(RegistryManager pool, RegistryManager to, Map<ResourceLocation, IdMappingEvent.IdRemapping> remaps, Map<ResourceLocation, Integer> missing, ResourceLocation name, ForgeRegistry.Snapshot snap)
     {
@@ -199,8 +199,8 @@ public class RegistryManager
 
     public static List<Pair<String, HandshakeMessages.S2CRegistry>> generateRegistryPackets(boolean isLocal)
     {
-        return !isLocal ? ACTIVE.takeSnapshot(false).entrySet().stream().
-                map(e->Pair.of("Registry " + e.getKey(), new HandshakeMessages.S2CRegistry(e.getKey(), e.getValue()))).
+        return !isLocal ? ACTIVE.synced.stream().
+                map(name->Pair.of("Registry " + name, new HandshakeMessages.S2CRegistry(name, ACTIVE.getRegistry(name).getSyncSnapshot()))).
                 collect(Collectors.toList()) : Collections.emptyList();
     }
 
@@ -5,6 +5,7 @@
 
 package net.minecraftforge.registries.holdersets;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -62,14 +63,33 @@ public class AndHolderSet<T> extends CompositeHolderSet<T>
         }
         if (components.size() == 1)
         {
-            return components.get(0).stream().collect(Collectors.toSet());
+            return components.get(0).stream().collect(Collectors.toCollection(LinkedHashSet::new));
         }
 
-        List<HolderSet<T>> remainingComponents = components.subList(1, components.size());
-        return components.get(0)
+        // Iterate the smallest component and check the others, but don't list the contents of not-sets for it,
+        // as those are usually most of the registry
+        HolderSet<T> smallest = components.get(0);
+        int smallestSize = Integer.MAX_VALUE;
+        for (HolderSet<T> component : components)
+        {
+            if (component instanceof NotHolderSet)
+            {
+                continue;
+            }
+            int size = component.size();
+            if (size < smallestSize)
+            {
+                smallest = component;
+                smallestSize = size;
+            }
+        }
+
+        HolderSet<T> iterated = smallest;
+        List<HolderSet<T>> remainingComponents = components.stream().filter(holderset -> holderset != iterated).toList();
+        return iterated
             .stream()
             .filter(holder -> remainingComponents.stream().allMatch(holderset -> holderset.contains(holder)))
-            .collect(Collectors.toSet());
+            .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
     @Override
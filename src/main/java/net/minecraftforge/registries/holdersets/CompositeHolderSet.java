@@ -25,6 +25,8 @@ import net.minecraft.util.RandomSource;
 /**
  * Composite holdersets have component holdersets and possibly owner holdersets
  * (which have this holderset as a component).
+ * Their contents are computed once, on first use, into an immutable set and list, so contains checks don't have to
+ * consult the components again.
  * When their component holderset(s) invalidate, they clear any cached data and then
  * invalidate their owner holdersets.
  */
@@ -33,10 +35,9 @@ public abstract class CompositeHolderSet<T> implements ICustomHolderSet<T>
     private final List<Runnable> owners = new ArrayList<>();
     private final List<HolderSet<T>> components;
 
+    // May be read from worldgen threads
     @Nullable
-    private Set<Holder<T>> set = null;
-    @Nullable
-    private List<Holder<T>> list = null;
+    private volatile Contents<T> contents = null;
     
     public CompositeHolderSet(List<HolderSet<T>> components)
     {
@@ -48,7 +49,7 @@ public abstract class CompositeHolderSet<T> implements ICustomHolderSet<T>
     }
     
     /**
-     * {@return immutable Set of Holders given this composite holderset's component holdersets}
+     * {@return Set of Holders given this composite holderset's component holdersets, in a consistent iteration order}
      */
     protected abstract Set<Holder<T>> createSet();
     
@@ -59,31 +60,28 @@ public abstract class CompositeHolderSet<T> implements ICustomHolderSet<T>
     
     public Set<Holder<T>> getSet()
     {
-        Set<Holder<T>> thisSet = this.set;
-        if (thisSet == null)
-        {
-            Set<Holder<T>> set = this.createSet();
-            this.set = set;
-            return set;
-        }
-        else
-        {
-            return thisSet;
-        }
+        return this.getContents().set();
     }
     
     public List<Holder<T>> getList()
     {
-        List<Holder<T>> thisList = this.list;
-        if (thisList == null)
+        return this.getContents().list();
+    }
+
+    private Contents<T> getContents()
+    {
+        Contents<T> thisContents = this.contents;
+        if (thisContents == null)
         {
-            List<Holder<T>> list = List.copyOf(this.getSet());
-            this.list = list;
-            return list;
+            Set<Holder<T>> created = this.createSet();
+            // The list keeps the order of the created set, so random picks don't depend on identity hash codes
+            Contents<T> contents = new Contents<>(Set.copyOf(created), List.copyOf(created));
+            this.contents = contents;
+            return contents;
         }
         else
         {
-            return thisList;
+            return thisContents;
         }
     }
     
@@ -95,8 +93,8 @@ public abstract class CompositeHolderSet<T> implements ICustomHolderSet<T>
     
     private void invalidate()
     {
-        this.set = null;
-        this.list = null;
+        // Always pass this on: an owner may be computing its contents from ours on another thread while this has none.
+        this.contents = null;
         for (Runnable runnable : this.owners)
         {
             runnable.run();
@@ -161,4 +159,6 @@ public abstract class CompositeHolderSet<T> implements ICustomHolderSet<T>
     {
         return this.getList().iterator();
     }
+
+    private record Contents<T>(Set<Holder<T>> set, List<Holder<T>> list) {}
 }
\ No newline at end of file
@@ -53,7 +53,7 @@ public class NotHolderSet<T> implements ICustomHolderSet<T>
     private final Registry<T> registry;
     private final HolderSet<T> value;
     @Nullable
-    private List<Holder<T>> list = null;
+    private volatile List<Holder<T>> list = null;
     
     public Registry<T> registry() { return this.registry; }
     public HolderSet<T> value() { return this.value; }
@@ -5,6 +5,7 @@
 
 package net.minecraftforge.registries.holdersets;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -55,7 +56,7 @@ public class OrHolderSet<T> extends CompositeHolderSet<T>
     @Override
     protected Set<Holder<T>> createSet()
     {
-        return this.getComponents().stream().flatMap(HolderSet::stream).collect(Collectors.toSet());
+        return this.getComponents().stream().flatMap(HolderSet::stream).collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
     @Override
@@ -41,6 +41,7 @@ import net.minecraftforge.forgespi.locating.IModFile;
 import net.minecraftforge.registries.ForgeRegistries.Keys;
 import net.minecraftforge.resource.PathPackResources;
 import net.minecraftforge.server.permission.PermissionAPI;
+import net.minecraftforge.server.timings.EventTimings;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
@@ -114,6 +115,7 @@ public class ServerLifecycleHooks
     {
         allowLogins.set(false);
         MinecraftForge.EVENT_BUS.post(new ServerStoppingEvent(server));
+        EventTimings.disable();
     }
 
     public static void expectServerStopped()
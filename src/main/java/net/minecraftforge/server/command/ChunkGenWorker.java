@@ -17,6 +17,10 @@ import net.minecraft.world.level.chunk.ChunkStatus;
 import net.minecraft.world.level.chunk.ChunkAccess;
 import net.minecraftforge.common.WorldWorkerManager.IWorker;
 
+/**
+ * @deprecated Replaced by {@link net.minecraftforge.server.pregen.PregenWorker}, which generates many chunks concurrently and survives restarts.
+ */
+@Deprecated(forRemoval = true, since = "1.19.2")
 public class ChunkGenWorker implements IWorker
 {
     private final CommandSourceStack listener;
@@ -22,6 +22,8 @@ public class ForgeCommand
             .then(DimensionsCommand.register())
             .then(ModListCommand.register())
             .then(TagsCommand.register())
+            .then(ProfileCommand.register())
+            .then(NetworkCommand.register())
         );
     }
 }
@@ -5,6 +5,9 @@
 
 package net.minecraftforge.server.command;
 
+import java.time.Instant;
+import java.util.List;
+
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
@@ -15,8 +18,11 @@ import net.minecraft.commands.Commands;
 import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
 import net.minecraft.commands.arguments.DimensionArgument;
 import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraftforge.common.WorldWorkerManager;
+import net.minecraftforge.server.pregen.PregenShape;
+import net.minecraftforge.server.pregen.PregenTask;
+import net.minecraftforge.server.pregen.PregenWorker;
 
 class GenerateCommand
 {
@@ -34,6 +40,29 @@ class GenerateCommand
                     )
                     .executes(ctx -> execute(ctx.getSource(), BlockPosArgument.getSpawnablePos(ctx, "pos"), getInt(ctx, "count"), ctx.getSource().getLevel(), -1))
                 )
+            )
+            .then(Commands.literal("start")
+                .then(Commands.argument("dim", DimensionArgument.dimension())
+                    .then(Commands.argument("pos", BlockPosArgument.blockPos())
+                        .then(Commands.argument("shape", EnumArgument.enumArgument(PregenShape.class))
+                            .then(Commands.argument("radius", IntegerArgumentType.integer(0))
+                                .executes(ctx -> start(ctx, getInt(ctx, "radius"), getInt(ctx, "radius")))
+                                .then(Commands.argument("radiusZ", IntegerArgumentType.integer(0))
+                                    .executes(ctx -> start(ctx, getInt(ctx, "radius"), getInt(ctx, "radiusZ")))
+                                )
+                            )
+                        )
+                    )
+                )
+            )
+            .then(Commands.literal("stop")
+                .executes(ctx -> stop(ctx.getSource(), ctx.getSource().getLevel()))
+                .then(Commands.argument("dim", DimensionArgument.dimension())
+                    .executes(ctx -> stop(ctx.getSource(), DimensionArgument.getDimension(ctx, "dim")))
+                )
+            )
+            .then(Commands.literal("status")
+                .executes(ctx -> status(ctx.getSource()))
             );
     }
 
@@ -44,12 +73,41 @@ class GenerateCommand
 
     private static int execute(CommandSourceStack source, BlockPos pos, int count, ServerLevel dim, int interval) throws CommandRuntimeException
     {
-        BlockPos chunkpos = new BlockPos(pos.getX() >> 4, 0, pos.getZ() >> 4);
+        // The old spiral, a square just big enough for the requested number of chunks
+        int radius = (int) Math.ceil((Math.sqrt(count) - 1) / 2);
+        PregenTask task = new PregenTask(PregenShape.SQUARE, pos.getX() >> 4, pos.getZ() >> 4, radius, radius, count, Instant.now().getEpochSecond());
+        return start(source, dim, task, interval);
+    }
 
-        ChunkGenWorker worker = new ChunkGenWorker(source, chunkpos, count, dim, interval);
-        source.sendSuccess(worker.getStartMessage(source), true);
-        WorldWorkerManager.addWorker(worker);
+    private static int start(CommandContext<CommandSourceStack> ctx, int radiusX, int radiusZ) throws CommandRuntimeException
+    {
+        BlockPos pos = BlockPosArgument.getSpawnablePos(ctx, "pos");
+        PregenTask task = new PregenTask(ctx.getArgument("shape", PregenShape.class), pos.getX() >> 4, pos.getZ() >> 4, radiusX, radiusZ, -1, Instant.now().getEpochSecond());
+        return start(ctx.getSource(), DimensionArgument.getDimension(ctx, "dim"), task, -1);
+    }
 
+    private static int start(CommandSourceStack source, ServerLevel dim, PregenTask task, int interval)
+    {
+        if (!PregenWorker.start(dim, task, source, interval))
+            source.sendFailure(Component.translatable("commands.forge.gen.pregen.running", dim.dimension().location()));
+        return 0;
+    }
+
+    private static int stop(CommandSourceStack source, ServerLevel dim)
+    {
+        if (PregenWorker.stop(dim))
+            source.sendSuccess(Component.translatable("commands.forge.gen.pregen.stopped", dim.dimension().location()), true);
+        else
+            source.sendFailure(Component.translatable("commands.forge.gen.pregen.not_running", dim.dimension().location()));
+        return 0;
+    }
+
+    private static int status(CommandSourceStack source)
+    {
+        List<PregenWorker> running = PregenWorker.getRunning();
+        if (running.isEmpty())
+            source.sendSuccess(Component.translatable("commands.forge.gen.pregen.none"), false);
+        running.forEach(worker -> worker.sendProgress(source));
         return 0;
     }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.server.command;
+
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.util.List;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.commands.arguments.ResourceLocationArgument;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.network.NetworkMetrics;
+
+class NetworkCommand
+{
+    private static final DecimalFormat SIZE_FORMAT = new DecimalFormat("#####0.0");
+    private static final DecimalFormat TIME_FORMAT = new DecimalFormat("#####0.00");
+
+    static ArgumentBuilder<CommandSourceStack, ?> register()
+    {
+        return Commands.literal("network")
+            .requires(cs->cs.hasPermission(2)) //permission
+            .then(Commands.literal("channels")
+                .executes(ctx -> {
+                    List<NetworkMetrics.Channel> channels = NetworkMetrics.getChannels().stream().filter(c -> c.getTotalBytes() > 0).limit(10).toList();
+                    if (channels.isEmpty())
+                        ctx.getSource().sendSuccess(Component.translatable("commands.forge.tracking.no_data"), true);
+                    channels.forEach(c ->
+                        ctx.getSource().sendSuccess(Component.translatable("commands.forge.network.channel_entry", c.getName().toString(), c.getMessagesIn(), formatSize(c.getBytesIn()), c.getMessagesOut(), formatSize(c.getBytesOut())), true)
+                    );
+                    return channels.size();
+                })
+            )
+            .then(Commands.literal("messages")
+                .then(Commands.argument("channel", ResourceLocationArgument.id())
+                    .suggests((ctx, builder) -> SharedSuggestionProvider.suggestResource(NetworkMetrics.getChannels().stream().map(NetworkMetrics.Channel::getName), builder))
+                    .executes(NetworkCommand::listMessages)
+                )
+            )
+            .then(Commands.literal("capture")
+                .then(Commands.argument("channel", ResourceLocationArgument.id())
+                    .suggests((ctx, builder) -> SharedSuggestionProvider.suggestResource(NetworkMetrics.getChannels().stream().map(NetworkMetrics.Channel::getName), builder))
+                    .executes(ctx -> capture(ctx, 1))
+                    .then(Commands.argument("count", IntegerArgumentType.integer(0, 1000))
+                        .executes(ctx -> capture(ctx, IntegerArgumentType.getInteger(ctx, "count")))
+                    )
+                )
+            )
+            .then(Commands.literal("reset")
+                .executes(ctx -> {
+                    NetworkMetrics.reset();
+                    ctx.getSource().sendSuccess(Component.translatable("commands.forge.network.reset"), true);
+                    return 0;
+                })
+            )
+            .then(Commands.literal("dump")
+                .executes(ctx -> {
+                    Path file = NetworkMetrics.dump();
+                    if (file == null)
+                        ctx.getSource().sendFailure(Component.translatable("commands.forge.network.dump_failed"));
+                    else
+                        ctx.getSource().sendSuccess(Component.translatable("commands.forge.network.dumped", file.toString()), true);
+                    return 0;
+                })
+            );
+    }
+
+    private static int listMessages(CommandContext<CommandSourceStack> ctx)
+    {
+        NetworkMetrics.Channel channel = getChannel(ctx);
+        if (channel == null)
+            return 0;
+
+        List<NetworkMetrics.Message> messages = channel.getMessages();
+        if (messages.isEmpty())
+            ctx.getSource().sendSuccess(Component.translatable("commands.forge.network.no_messages", channel.getName().toString()), true);
+        messages.forEach(m ->
+            ctx.getSource().sendSuccess(Component.translatable("commands.forge.network.message_entry", m.getIndex(), m.getType(),
+                    m.getEncodeTime().getCount(), formatSize(m.getEncodedBytes()), formatTime(m.getEncodeTime().getPercentile(0.5)), formatTime(m.getEncodeTime().getPercentile(0.99)),
+                    m.getDecodeTime().getCount(), formatSize(m.getDecodedBytes()), formatTime(m.getDecodeTime().getPercentile(0.5)), formatTime(m.getDecodeTime().getPercentile(0.99))), true)
+        );
+        return messages.size();
+    }
+
+    private static int capture(CommandContext<CommandSourceStack> ctx, int count)
+    {
+        NetworkMetrics.Channel channel = getChannel(ctx);
+        if (channel == null)
+            return 0;
+
+        channel.capture(count);
+        ctx.getSource().sendSuccess(Component.translatable("commands.forge.network.capture", count, channel.getName().toString()), true);
+        return count;
+    }
+
+    private static NetworkMetrics.Channel getChannel(CommandContext<CommandSourceStack> ctx)
+    {
+        ResourceLocation name = ctx.getArgument("channel", ResourceLocation.class);
+        NetworkMetrics.Channel channel = NetworkMetrics.get(name);
+        if (channel == null)
+            ctx.getSource().sendFailure(Component.translatable("commands.forge.network.unknown_channel", name.toString()));
+        return channel;
+    }
+
+    private static String formatSize(long bytes)
+    {
+        if (bytes < 1024)
+            return bytes + "B";
+        if (bytes < 1024 * 1024)
+            return SIZE_FORMAT.format(bytes / 1024D) + "KiB";
+        return SIZE_FORMAT.format(bytes / (1024D * 1024D)) + "MiB";
+    }
+
+    private static String formatTime(long nanos)
+    {
+        return TIME_FORMAT.format(nanos / 1000D) + "us";
+    }
+}
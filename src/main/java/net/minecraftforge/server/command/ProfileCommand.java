@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.server.command;
+
+import java.text.DecimalFormat;
+import java.util.List;
+import java.util.Map;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraftforge.server.timings.EventTimings;
+
+class ProfileCommand
+{
+    private static final DecimalFormat TIME_FORMAT = new DecimalFormat("#####0.00");
+
+    static ArgumentBuilder<CommandSourceStack, ?> register()
+    {
+        return Commands.literal("profile")
+            .requires(cs->cs.hasPermission(2)) //permission
+            .then(Commands.literal("events")
+                .then(Commands.literal("start")
+                    .executes(ctx -> start(ctx.getSource(), 0))
+                    .then(Commands.argument("dumpInterval", IntegerArgumentType.integer(0))
+                        .executes(ctx -> start(ctx.getSource(), IntegerArgumentType.getInteger(ctx, "dumpInterval")))
+                    )
+                )
+                .then(Commands.literal("stop")
+                    .executes(ctx -> {
+                        EventTimings.disable();
+                        ctx.getSource().sendSuccess(Component.translatable("commands.forge.profile.events.stopped"), true);
+                        return 0;
+                    })
+                )
+                .then(Commands.literal("reset")
+                    .executes(ctx -> {
+                        EventTimings.reset();
+                        ctx.getSource().sendSuccess(Component.translatable("commands.forge.profile.events.reset"), true);
+                        return 0;
+                    })
+                )
+                .then(Commands.literal("listeners")
+                    .executes(ctx -> {
+                        List<EventTimings.Entry> entries = EventTimings.getTimingData();
+                        if (entries.isEmpty())
+                            ctx.getSource().sendSuccess(Component.translatable("commands.forge.tracking.no_data"), true);
+                        entries.stream().limit(10).forEach(e ->
+                            ctx.getSource().sendSuccess(Component.translatable("commands.forge.profile.events.listener_entry", e.eventType().getSimpleName(), e.owner(), e.listener(), e.count(), formatTime(e.nanos())), true)
+                        );
+                        return 0;
+                    })
+                )
+                .then(Commands.literal("mods")
+                    .executes(ctx -> {
+                        List<Map.Entry<String, Long>> entries = EventTimings.getTimingsByOwner();
+                        if (entries.isEmpty())
+                            ctx.getSource().sendSuccess(Component.translatable("commands.forge.tracking.no_data"), true);
+                        entries.stream().limit(10).forEach(e ->
+                            ctx.getSource().sendSuccess(Component.translatable("commands.forge.profile.events.mod_entry", e.getKey(), formatTime(e.getValue())), true)
+                        );
+                        return 0;
+                    })
+                )
+                .then(Commands.literal("dump")
+                    .then(Commands.argument("format", EnumArgument.enumArgument(EventTimings.Format.class))
+                        .executes(ctx -> {
+                            CommandSourceStack source = ctx.getSource();
+                            // Written on the dump thread, the result is reported back on the server thread
+                            EventTimings.dump(ctx.getArgument("format", EventTimings.Format.class)).thenAcceptAsync(file -> {
+                                if (file == null)
+                                    source.sendFailure(Component.translatable("commands.forge.profile.events.dump_failed"));
+                                else
+                                    source.sendSuccess(Component.translatable("commands.forge.profile.events.dumped", file.toString()), true);
+                            }, source.getServer());
+                            return 0;
+                        })
+                    )
+                )
+            );
+    }
+
+    private static int start(CommandSourceStack source, int dumpInterval)
+    {
+        EventTimings.enable(dumpInterval);
+        source.sendSuccess(Component.translatable("commands.forge.profile.events.started"), true);
+        return 0;
+    }
+
+    private static String formatTime(long nanos)
+    {
+        double millis = nanos / 1_000_000D;
+        return TIME_FORMAT.format(millis) + "ms";
+    }
+}
@@ -7,6 +7,8 @@ package net.minecraftforge.server.command;
 
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -23,10 +25,14 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraftforge.registries.ForgeRegistries;
 import net.minecraftforge.server.timings.ForgeTimings;
+import net.minecraftforge.server.timings.TickTimingsRecorder;
 import net.minecraftforge.server.timings.TimeTracker;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 class TrackCommand
 {
+    private static final Logger LOGGER = LogManager.getLogger();
     private static final DecimalFormat TIME_FORMAT = new DecimalFormat("#####0.00");
 
     static ArgumentBuilder<CommandSourceStack, ?> register()
@@ -36,7 +42,9 @@ class TrackCommand
             .then(ResetTrackingCommand.register())
             .then(TrackResultsEntity.register())
             .then(TrackResultsBlockEntity.register())
-            .then(StartTrackingCommand.register());
+            .then(SampleTrackingCommand.register())
+            .then(TrackResultsTop.register())
+            .then(ExportTrackingCommand.register());
     }
 
     private static class StartTrackingCommand
@@ -93,6 +101,133 @@ class TrackCommand
         }
     }
 
+    private static class SampleTrackingCommand
+    {
+        static ArgumentBuilder<CommandSourceStack, ?> register()
+        {
+            return Commands.literal("sample")
+                .requires(cs->cs.hasPermission(2)) //permission
+                .then(Commands.literal("start")
+                    .executes(ctx -> start(ctx.getSource(), 20))
+                    .then(Commands.argument("rate", IntegerArgumentType.integer(1))
+                        .executes(ctx -> start(ctx.getSource(), IntegerArgumentType.getInteger(ctx, "rate")))
+                    )
+                )
+                .then(Commands.literal("stop")
+                    .executes(ctx -> {
+                        TimeTracker.BLOCK_ENTITY_UPDATE.disableSampling();
+                        TimeTracker.ENTITY_UPDATE.disableSampling();
+                        ctx.getSource().sendSuccess(Component.translatable("commands.forge.tracking.sample.disabled"), true);
+                        return 0;
+                    })
+                )
+                .then(Commands.literal("reset")
+                    .executes(ctx -> {
+                        TimeTracker.BLOCK_ENTITY_UPDATE.clearSamples();
+                        TimeTracker.ENTITY_UPDATE.clearSamples();
+                        ctx.getSource().sendSuccess(Component.translatable("commands.forge.tracking.sample.reset"), true);
+                        return 0;
+                    })
+                );
+        }
+
+        private static int start(CommandSourceStack source, int rate)
+        {
+            TimeTracker.BLOCK_ENTITY_UPDATE.enableSampling(rate);
+            TimeTracker.ENTITY_UPDATE.enableSampling(rate);
+            source.sendSuccess(Component.translatable("commands.forge.tracking.sample.enabled", rate), true);
+            return 0;
+        }
+    }
+
+    private static class ExportTrackingCommand
+    {
+        static ArgumentBuilder<CommandSourceStack, ?> register()
+        {
+            return Commands.literal("export")
+                .requires(cs->cs.hasPermission(2)) //permission
+                .then(Commands.literal("start")
+                    .executes(ctx -> start(ctx.getSource(), 256))
+                    .then(Commands.argument("maxSizeMB", IntegerArgumentType.integer(1))
+                        .executes(ctx -> start(ctx.getSource(), IntegerArgumentType.getInteger(ctx, "maxSizeMB")))
+                    )
+                )
+                .then(Commands.literal("stop")
+                    .executes(ctx -> {
+                        Path file = TickTimingsRecorder.stop();
+                        if (file == null)
+                            ctx.getSource().sendFailure(Component.translatable("commands.forge.tracking.export.not_running"));
+                        else
+                            ctx.getSource().sendSuccess(Component.translatable("commands.forge.tracking.export.stopped", file.toString()), true);
+                        return 0;
+                    })
+                );
+        }
+
+        private static int start(CommandSourceStack source, int maxSizeMB)
+        {
+            if (TickTimingsRecorder.isRecording())
+            {
+                source.sendFailure(Component.translatable("commands.forge.tracking.export.running"));
+                return 0;
+            }
+            try
+            {
+                Path file = TickTimingsRecorder.start(maxSizeMB * 1024L * 1024L);
+                source.sendSuccess(Component.translatable("commands.forge.tracking.export.started", file.toString()), true);
+            }
+            catch (IOException | RuntimeException e)
+            {
+                LOGGER.error("Failed to start exporting tick timings", e);
+                source.sendFailure(Component.translatable("commands.forge.tracking.export.failed"));
+            }
+            return 0;
+        }
+    }
+
+    private static class TrackResultsTop
+    {
+        static ArgumentBuilder<CommandSourceStack, ?> register()
+        {
+            return Commands.literal("top")
+                .then(register("te", TimeTracker.BLOCK_ENTITY_UPDATE))
+                .then(register("entity", TimeTracker.ENTITY_UPDATE));
+        }
+
+        private static ArgumentBuilder<CommandSourceStack, ?> register(String name, TimeTracker<?> tracker)
+        {
+            return Commands.literal(name)
+                .then(register("mods", tracker, TimeTracker.Grouping.MOD))
+                .then(register("types", tracker, TimeTracker.Grouping.TYPE))
+                .then(register("chunks", tracker, TimeTracker.Grouping.CHUNK));
+        }
+
+        private static ArgumentBuilder<CommandSourceStack, ?> register(String name, TimeTracker<?> tracker, TimeTracker.Grouping grouping)
+        {
+            return Commands.literal(name)
+                .executes(ctx -> execute(ctx.getSource(), tracker, grouping, 5))
+                .then(Commands.argument("minutes", IntegerArgumentType.integer(1, TimeTracker.SAMPLE_BUCKETS))
+                    .executes(ctx -> execute(ctx.getSource(), tracker, grouping, IntegerArgumentType.getInteger(ctx, "minutes")))
+                );
+        }
+
+        private static int execute(CommandSourceStack source, TimeTracker<?> tracker, TimeTracker.Grouping grouping, int minutes)
+        {
+            List<TimeTracker.SampledTimings> timingsList = tracker.getSampledTimings(grouping, minutes);
+            if (timingsList.isEmpty())
+            {
+                source.sendSuccess(Component.translatable("commands.forge.tracking.no_data"), true);
+            }
+            else
+            {
+                timingsList.stream()
+                        .limit(10)
+                        .forEach(timings -> source.sendSuccess(Component.translatable("commands.forge.tracking.sample.entry", timings.name(), TIME_FORMAT.format(timings.estimatedNanos() / 1_000_000D) + "ms", timings.samples()), true));
+            }
+            return 0;
+        }
+    }
+
     private static class TrackResults
     {
         /**
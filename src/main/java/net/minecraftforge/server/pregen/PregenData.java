@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.server.pregen;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stores the pregeneration task of a level and how far it got, so it can be resumed after a restart.
+ */
+class PregenData extends SavedData
+{
+    static final String ID = "forge_pregen";
+
+    @Nullable
+    private PregenTask task;
+    private long progress;
+
+    static PregenData get(ServerLevel level)
+    {
+        return level.getDataStorage().computeIfAbsent(PregenData::load, PregenData::new, ID);
+    }
+
+    private static PregenData load(CompoundTag tag)
+    {
+        PregenData data = new PregenData();
+        if (tag.contains("task"))
+        {
+            try
+            {
+                data.task = PregenTask.load(tag.getCompound("task"));
+                data.progress = tag.getLong("progress");
+            }
+            catch (IllegalArgumentException e)
+            {
+                // Unknown shape, drop the task
+                data.task = null;
+            }
+        }
+        return data;
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag)
+    {
+        if (task != null)
+        {
+            tag.put("task", task.save());
+            tag.putLong("progress", progress);
+        }
+        return tag;
+    }
+
+    @Nullable
+    PregenTask getTask()
+    {
+        return task;
+    }
+
+    long getProgress()
+    {
+        return progress;
+    }
+
+    void start(PregenTask task)
+    {
+        this.task = task;
+        this.progress = 0;
+        setDirty();
+    }
+
+    void setProgress(long progress)
+    {
+        if (this.progress != progress)
+        {
+            this.progress = progress;
+            setDirty();
+        }
+    }
+
+    void finish()
+    {
+        this.task = null;
+        this.progress = 0;
+        setDirty();
+    }
+}
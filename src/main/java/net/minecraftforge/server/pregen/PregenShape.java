@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.server.pregen;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import net.minecraft.world.level.ChunkPos;
+
+/**
+ * The shapes of areas that can be pregenerated. Every shape visits its chunks in a fixed order,
+ * so the progress of a task can be stored as the number of chunks visited so far.
+ * <p>
+ * All sizes are in chunks. The radius is the distance from the center chunk to the edge, so a radius of 0 is just the center chunk.
+ */
+public enum PregenShape
+{
+    /**
+     * A square spiralling outwards from the center. Only uses the X radius.
+     */
+    SQUARE
+    {
+        @Override
+        public long size(int centerX, int centerZ, int radiusX, int radiusZ)
+        {
+            long side = 2L * radiusX + 1;
+            return side * side;
+        }
+
+        @Override
+        public PrimitiveIterator.OfLong iterator(int centerX, int centerZ, int radiusX, int radiusZ)
+        {
+            return new SpiralIterator(centerX, centerZ, radiusX, false);
+        }
+    },
+    /**
+     * A circle spiralling outwards from the center. Only uses the X radius.
+     */
+    CIRCLE
+    {
+        @Override
+        public long size(int centerX, int centerZ, int radiusX, int radiusZ)
+        {
+            long ret = 0;
+            for (int x = -radiusX; x <= radiusX; x++)
+                ret += 2L * maxCircleOffset(x, radiusX) + 1;
+            return ret;
+        }
+
+        @Override
+        public PrimitiveIterator.OfLong iterator(int centerX, int centerZ, int radiusX, int radiusZ)
+        {
+            return new SpiralIterator(centerX, centerZ, radiusX, true);
+        }
+    },
+    /**
+     * A rectangle, visited row by row.
+     */
+    RECTANGLE
+    {
+        @Override
+        public long size(int centerX, int centerZ, int radiusX, int radiusZ)
+        {
+            return (2L * radiusX + 1) * (2L * radiusZ + 1);
+        }
+
+        @Override
+        public PrimitiveIterator.OfLong iterator(int centerX, int centerZ, int radiusX, int radiusZ)
+        {
+            return new GridIterator(centerX - radiusX, centerZ - radiusZ, centerX + radiusX, centerZ + radiusZ, 1);
+        }
+    },
+    /**
+     * A rectangle grown to whole region files, visited one region file at a time.
+     * This keeps the number of region files open at once, and the amount of chunks pending saving per file, low.
+     */
+    REGION
+    {
+        @Override
+        public long size(int centerX, int centerZ, int radiusX, int radiusZ)
+        {
+            long regionsX = ((centerX + radiusX) >> 5) - ((centerX - radiusX) >> 5) + 1;
+            long regionsZ = ((centerZ + radiusZ) >> 5) - ((centerZ - radiusZ) >> 5) + 1;
+            return regionsX * regionsZ * 32 * 32;
+        }
+
+        @Override
+        public PrimitiveIterator.OfLong iterator(int centerX, int centerZ, int radiusX, int radiusZ)
+        {
+            return new GridIterator((centerX - radiusX) >> 5, (centerZ - radiusZ) >> 5, (centerX + radiusX) >> 5, (centerZ + radiusZ) >> 5, 32);
+        }
+    };
+
+    /**
+     * @return The number of chunks in this shape
+     */
+    public abstract long size(int centerX, int centerZ, int radiusX, int radiusZ);
+
+    /**
+     * @return An iterator over the {@link ChunkPos#toLong() packed positions} of the chunks in this shape
+     */
+    public abstract PrimitiveIterator.OfLong iterator(int centerX, int centerZ, int radiusX, int radiusZ);
+
+    private static int maxCircleOffset(int offset, int radius)
+    {
+        return (int) Math.sqrt((double) radius * radius - (double) offset * offset);
+    }
+
+    /**
+     * Visits the center, then every ring around it in the same order {@code ChunkGenWorker} did:
+     * down the +X side, along the +Z side, up the -X side and back along the -Z side.
+     */
+    private static final class SpiralIterator implements PrimitiveIterator.OfLong
+    {
+        private final int centerX;
+        private final int centerZ;
+        private final int radius;
+        private final boolean circle;
+        private int ring = 0;
+        private int index = 0;
+        private long next;
+        private boolean hasNext;
+
+        private SpiralIterator(int centerX, int centerZ, int radius, boolean circle)
+        {
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.radius = radius;
+            this.circle = circle;
+            this.next = ChunkPos.asLong(centerX, centerZ);
+            this.hasNext = true;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return hasNext;
+        }
+
+        @Override
+        public long nextLong()
+        {
+            if (!hasNext)
+                throw new NoSuchElementException();
+            long ret = next;
+            advance();
+            return ret;
+        }
+
+        private void advance()
+        {
+            while (true)
+            {
+                if (ring == 0 || ++index == 8 * ring)
+                {
+                    ring++;
+                    index = 0;
+                }
+                if (ring > radius)
+                {
+                    hasNext = false;
+                    return;
+                }
+
+                int side = index / (2 * ring);
+                int q = index % (2 * ring);
+                int x, z;
+                switch (side)
+                {
+                    case 0 -> { x = ring; z = -ring + 1 + q; }
+                    case 1 -> { x = ring - 1 - q; z = ring; }
+                    case 2 -> { x = -ring; z = ring - 1 - q; }
+                    default -> { x = -ring + 1 + q; z = -ring; }
+                }
+
+                if (!circle || Math.abs(z) <= maxCircleOffset(x, radius))
+                {
+                    next = ChunkPos.asLong(centerX + x, centerZ + z);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits cells of a grid row by row, and the chunks within each cell row by row.
+     */
+    private static final class GridIterator implements PrimitiveIterator.OfLong
+    {
+        private final int minX;
+        private final int maxX;
+        private final int maxZ;
+        private final int cellSize;
+        private int cellX;
+        private int cellZ;
+        private int index = 0;
+
+        private GridIterator(int minX, int minZ, int maxX, int maxZ, int cellSize)
+        {
+            this.minX = minX;
+            this.maxX = maxX;
+            this.maxZ = maxZ;
+            this.cellSize = cellSize;
+            this.cellX = minX;
+            this.cellZ = minZ;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return cellZ <= maxZ;
+        }
+
+        @Override
+        public long nextLong()
+        {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            long ret = ChunkPos.asLong(cellX * cellSize + index % cellSize, cellZ * cellSize + index / cellSize);
+            if (++index == cellSize * cellSize)
+            {
+                index = 0;
+                if (++cellX > maxX)
+                {
+                    cellX = minX;
+                    cellZ++;
+                }
+            }
+            return ret;
+        }
+    }
+}
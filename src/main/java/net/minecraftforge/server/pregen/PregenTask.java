@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.server.pregen;
+
+import java.util.Locale;
+import java.util.PrimitiveIterator;
+
+import net.minecraft.nbt.CompoundTag;
+
+/**
+ * The area a pregeneration task covers.
+ *
+ * @param limit     The maximum number of chunks to visit, or -1 to visit the whole shape
+ * @param startedAt The time the task was first started, in seconds since the epoch.
+ *                  Chunks saved before this time are assumed to be fully generated.
+ */
+public record PregenTask(PregenShape shape, int centerX, int centerZ, int radiusX, int radiusZ, long limit, long startedAt)
+{
+    public long getTotal()
+    {
+        long size = shape.size(centerX, centerZ, radiusX, radiusZ);
+        return limit < 0 ? size : Math.min(limit, size);
+    }
+
+    public PrimitiveIterator.OfLong iterator()
+    {
+        return shape.iterator(centerX, centerZ, radiusX, radiusZ);
+    }
+
+    CompoundTag save()
+    {
+        CompoundTag tag = new CompoundTag();
+        tag.putString("shape", shape.name().toLowerCase(Locale.ROOT));
+        tag.putInt("centerX", centerX);
+        tag.putInt("centerZ", centerZ);
+        tag.putInt("radiusX", radiusX);
+        tag.putInt("radiusZ", radiusZ);
+        tag.putLong("limit", limit);
+        tag.putLong("startedAt", startedAt);
+        return tag;
+    }
+
+    static PregenTask load(CompoundTag tag)
+    {
+        return new PregenTask(PregenShape.valueOf(tag.getString("shape").toUpperCase(Locale.ROOT)), tag.getInt("centerX"), tag.getInt("centerZ"),
+                tag.getInt("radiusX"), tag.getInt("radiusZ"), tag.getLong("limit"), tag.getLong("startedAt"));
+    }
+}
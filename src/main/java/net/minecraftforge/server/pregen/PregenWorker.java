@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.server.pregen;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import com.mojang.datafixers.util.Either;
+
+import net.minecraft.Util;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ChunkHolder;
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraft.world.level.dimension.DimensionType;
+import net.minecraft.world.level.storage.LevelResource;
+import net.minecraftforge.common.ForgeConfig;
+import net.minecraftforge.common.WorldWorkerManager;
+import net.minecraftforge.common.WorldWorkerManager.IWorker;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Pregenerates the chunks of a {@link PregenTask} in a level.
+ * <p>
+ * Instead of loading one chunk at a time on the server thread, the worker keeps up to
+ * {@link ForgeConfig.Server#pregenChunksInFlight} chunk futures in flight, and lets the chunk system
+ * generate them on its worker threads. The futures are requested without waiting for them and polled on
+ * every tick. Every chunk is held by a ticket until it is done, after which it is released so it can be
+ * saved and unloaded again.
+ * <p>
+ * Chunks that were already saved before the task started are skipped using only the region file headers.
+ * The number of chunks visited is stored with the level, so the task resumes where it left off after a restart.
+ * Only one task can run per level.
+ */
+public class PregenWorker implements IWorker
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final TicketType<ChunkPos> TICKET = TicketType.create("forge_pregen", Comparator.comparingLong(ChunkPos::toLong));
+    private static final int MAX_SCANNED_PER_CALL = 4096;
+    private static final Map<ResourceKey<Level>, PregenWorker> RUNNING = new HashMap<>();
+
+    private final ServerLevel level;
+    private final PregenData data;
+    private final PregenTask task;
+    private final long total;
+    private final PrimitiveIterator.OfLong positions;
+    private final RegionHeaderCache regions;
+    private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+    private final CommandSourceStack listener;
+    private final long notificationFrequency;
+    private final long startTime;
+    private long visited;
+    private long generated = 0;
+    private long skipped = 0;
+    private long failed = 0;
+    private long lastNotification;
+    private long lastNotificationTime;
+    private long lastNotificationGenerated = 0;
+    private boolean done = false;
+
+    private PregenWorker(ServerLevel level, PregenData data, PregenTask task, long progress, CommandSourceStack listener, long interval)
+    {
+        this.level = level;
+        this.data = data;
+        this.task = task;
+        this.total = task.getTotal();
+        this.positions = task.iterator();
+        Path dimensionFolder = DimensionType.getStorageFolder(level.dimension(), level.getServer().getWorldPath(LevelResource.ROOT));
+        this.regions = new RegionHeaderCache(dimensionFolder.resolve("region"), task.startedAt());
+        this.listener = listener;
+        this.notificationFrequency = interval > 0 ? interval : Math.max(total / 20, 100); //Every 5% or every 100, whichever is more.
+        this.startTime = System.nanoTime();
+        this.lastNotificationTime = startTime;
+
+        for (this.visited = 0; this.visited < progress && positions.hasNext(); this.visited++)
+            positions.nextLong();
+        this.lastNotification = visited;
+    }
+
+    /**
+     * Starts a new pregeneration task in the level.
+     *
+     * @param interval The number of chunks between progress messages, or -1 for the default of every 5%
+     * @return false if a task is already running in the level
+     */
+    public static boolean start(ServerLevel level, PregenTask task, CommandSourceStack listener, long interval)
+    {
+        if (RUNNING.containsKey(level.dimension()))
+            return false;
+
+        PregenData data = PregenData.get(level);
+        data.start(task);
+        PregenWorker worker = new PregenWorker(level, data, task, 0, listener, interval);
+        listener.sendSuccess(Component.translatable("commands.forge.gen.pregen.start", worker.total, task.shape().name().toLowerCase(Locale.ROOT), task.centerX(), task.centerZ(), level.dimension().location()), true);
+        worker.schedule();
+        return true;
+    }
+
+    /**
+     * Resumes the task that was running in the level when the server stopped, if any.
+     */
+    public static void resume(ServerLevel level)
+    {
+        if (RUNNING.containsKey(level.dimension()))
+            return;
+
+        PregenData data = PregenData.get(level);
+        PregenTask task = data.getTask();
+        if (task == null)
+            return;
+
+        PregenWorker worker = new PregenWorker(level, data, task, data.getProgress(), level.getServer().createCommandSourceStack(), -1);
+        LOGGER.info("Resuming pregeneration of {} chunks in {}, {} already done", worker.total, level.dimension().location(), worker.visited);
+        worker.schedule();
+    }
+
+    /**
+     * Stops the task running in the level, discarding its progress.
+     *
+     * @return false if no task was running in the level
+     */
+    public static boolean stop(ServerLevel level)
+    {
+        PregenWorker worker = RUNNING.remove(level.dimension());
+        if (worker != null)
+            worker.cancel();
+
+        PregenData data = PregenData.get(level);
+        if (data.getTask() == null)
+            return worker != null;
+        data.finish();
+        return true;
+    }
+
+    /**
+     * Stops all running tasks without discarding their progress, so they resume on the next start.
+     */
+    public static void onServerStopping()
+    {
+        RUNNING.values().forEach(PregenWorker::cancel);
+        RUNNING.clear();
+    }
+
+    public static List<PregenWorker> getRunning()
+    {
+        return new ArrayList<>(RUNNING.values());
+    }
+
+    private void schedule()
+    {
+        RUNNING.put(level.dimension(), this);
+        WorldWorkerManager.addWorker(this);
+    }
+
+    public ServerLevel getLevel()
+    {
+        return level;
+    }
+
+    public PregenTask getTask()
+    {
+        return task;
+    }
+
+    @Override
+    public boolean hasWork()
+    {
+        return !done;
+    }
+
+    @Override
+    public boolean doWork()
+    {
+        if (done)
+            return false;
+
+        drainCompleted();
+
+        int maxInFlight = ForgeConfig.SERVER.pregenChunksInFlight.get();
+        int scanned = 0;
+        while (pending.size() < maxInFlight && visited < total && positions.hasNext() && scanned++ < MAX_SCANNED_PER_CALL)
+        {
+            long index = visited++;
+            long pos = positions.nextLong();
+            if (regions.existedBefore(ChunkPos.getX(pos), ChunkPos.getZ(pos)))
+                skipped++;
+            else
+                pending.add(request(index, new ChunkPos(pos)));
+        }
+
+        data.setProgress(pending.isEmpty() ? visited : pending.getFirst().index());
+
+        if (pending.isEmpty() && (visited >= total || !positions.hasNext()))
+        {
+            finish();
+            return false;
+        }
+
+        if (visited - lastNotification >= notificationFrequency || lastNotificationTime < System.nanoTime() - 60_000_000_000L)
+            sendProgress(listener);
+
+        // Only keep going this tick if we stopped because of the scan limit, chunk futures make progress between ticks.
+        return scanned > MAX_SCANNED_PER_CALL;
+    }
+
+    private Pending request(long index, ChunkPos pos)
+    {
+        ServerChunkCache chunks = level.getChunkSource();
+        chunks.addRegionTicket(TICKET, pos, 0, pos);
+        // On the server thread, getChunkFuture waits for the chunk to be generated. From any other thread it only
+        // schedules the lookup on the server thread and returns, so ask from a background thread to keep many in flight.
+        var future = CompletableFuture.supplyAsync(() -> chunks.getChunkFuture(pos.x, pos.z, ChunkStatus.FULL, true), Util.backgroundExecutor())
+                .thenCompose(Function.identity());
+        return new Pending(index, pos, future);
+    }
+
+    private void drainCompleted()
+    {
+        Iterator<Pending> itr = pending.iterator();
+        while (itr.hasNext())
+        {
+            Pending next = itr.next();
+            if (!next.future().isDone())
+                continue;
+
+            itr.remove();
+            release(next);
+            try
+            {
+                if (next.future().join().left().isPresent())
+                    generated++;
+                else
+                    failed++;
+            }
+            catch (CompletionException e)
+            {
+                LOGGER.error("Failed to generate chunk {} in {}", next.pos(), level.dimension().location(), e.getCause());
+                failed++;
+            }
+        }
+    }
+
+    private void release(Pending pending)
+    {
+        level.getChunkSource().removeRegionTicket(TICKET, pending.pos(), 0, pending.pos());
+    }
+
+    private void cancel()
+    {
+        pending.forEach(this::release);
+        pending.clear();
+        done = true;
+    }
+
+    private void finish()
+    {
+        done = true;
+        RUNNING.remove(level.dimension(), this);
+        data.finish();
+        long seconds = Math.max(1, (System.nanoTime() - startTime) / 1_000_000_000L);
+        listener.sendSuccess(Component.translatable("commands.forge.gen.pregen.complete", level.dimension().location(), generated, skipped, failed, seconds), true);
+    }
+
+    /**
+     * Sends the progress of this task, and the rate at which chunks were generated since the last time progress was sent.
+     */
+    public void sendProgress(CommandSourceStack source)
+    {
+        long now = System.nanoTime();
+        double seconds = Math.max(1, now - lastNotificationTime) / 1_000_000_000D;
+        String rate = String.format(Locale.ROOT, "%.1f", (generated - lastNotificationGenerated) / seconds);
+        source.sendSuccess(Component.translatable("commands.forge.gen.pregen.progress", level.dimension().location(), visited, total, rate, skipped), true);
+        lastNotification = visited;
+        lastNotificationTime = now;
+        lastNotificationGenerated = generated;
+    }
+
+    private record Pending(long index, ChunkPos pos, CompletableFuture<Either<ChunkAccess, ChunkHolder.ChunkLoadingFailure>> future) {}
+}
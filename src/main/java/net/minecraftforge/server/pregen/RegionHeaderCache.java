@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.server.pregen;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.world.level.ChunkPos;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Answers whether a chunk was already saved before a point in time by reading only the headers of region files,
+ * without loading or parsing the chunks themselves.
+ * <p>
+ * A region file starts with a table of 1024 chunk offsets, where 0 means the chunk was never saved,
+ * followed by a table of 1024 timestamps of when each chunk was last saved, in seconds since the epoch.
+ */
+class RegionHeaderCache
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int CHUNKS_PER_REGION = 32 * 32;
+    private static final int HEADER_SIZE = CHUNKS_PER_REGION * 4 * 2;
+    private static final int MAX_CACHED = 64;
+
+    private final Path regionFolder;
+    private final long savedBefore;
+    private final Long2ObjectLinkedOpenHashMap<BitSet> cache = new Long2ObjectLinkedOpenHashMap<>();
+
+    /**
+     * @param regionFolder The folder containing the region files
+     * @param savedBefore  Only chunks saved before this time, in seconds since the epoch, are reported as existing
+     */
+    RegionHeaderCache(Path regionFolder, long savedBefore)
+    {
+        this.regionFolder = regionFolder;
+        this.savedBefore = savedBefore;
+    }
+
+    boolean existedBefore(int chunkX, int chunkZ)
+    {
+        int regionX = chunkX >> 5;
+        int regionZ = chunkZ >> 5;
+        long key = ChunkPos.asLong(regionX, regionZ);
+        BitSet existing = cache.getAndMoveToLast(key);
+        if (existing == null)
+        {
+            existing = read(regionX, regionZ);
+            cache.putAndMoveToLast(key, existing);
+            if (cache.size() > MAX_CACHED)
+                cache.removeFirst();
+        }
+        return existing.get((chunkX & 31) + (chunkZ & 31) * 32);
+    }
+
+    private BitSet read(int regionX, int regionZ)
+    {
+        BitSet ret = new BitSet(CHUNKS_PER_REGION);
+        Path file = regionFolder.resolve("r." + regionX + "." + regionZ + ".mca");
+        if (!Files.isRegularFile(file))
+            return ret;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0);
+            if (header.hasRemaining())
+                return ret; // Truncated file, let the game deal with it
+            header.flip();
+            for (int i = 0; i < CHUNKS_PER_REGION; i++)
+            {
+                int offset = header.getInt(i * 4);
+                int timestamp = header.getInt((CHUNKS_PER_REGION + i) * 4);
+                if (offset != 0 && Integer.toUnsignedLong(timestamp) < savedBefore)
+                    ret.set(i);
+            }
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("Failed to read region file header {}, generating all of its chunks", file, e);
+        }
+        return ret;
+    }
+}
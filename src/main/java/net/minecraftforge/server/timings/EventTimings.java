@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.server.timings;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBusInvokeDispatcher;
+import net.minecraftforge.eventbus.api.IEventListener;
+import net.minecraftforge.fml.ModList;
+import net.minecraftforge.fml.loading.FMLPaths;
+import net.minecraftforge.forgespi.language.ModFileScanData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Opt-in instrumentation of the events Forge fires on {@link MinecraftForge#EVENT_BUS} from its hooks.
+ * While enabled, every listener invocation is counted and timed, aggregated per event class and per listener,
+ * and attributed to the mod that owns the listener class where that can be determined.
+ * <p>
+ * The counters are {@link LongAdder}s so listeners fired from several threads don't contend on them.
+ * When disabled, {@link #post(Event)} is a plain post with a single extra branch.
+ */
+public final class EventTimings
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Pattern CLASS_NAME = Pattern.compile("[a-zA-Z_$][\\w$]*(?:\\.[a-zA-Z_$][\\w$]*)+");
+    private static final String UNKNOWN_OWNER = "unknown";
+
+    private static final ConcurrentHashMap<Class<?>, ConcurrentHashMap<IEventListener, Stats>> STATS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<IEventListener, String> OWNERS = new ConcurrentHashMap<>();
+    private static final IEventBusInvokeDispatcher DISPATCHER = EventTimings::invoke;
+
+    private static volatile boolean enabled = false;
+    private static Map<String, String> classOwners = null;
+    private static ScheduledExecutorService dumper = null;
+    private static ScheduledFuture<?> scheduledDump = null;
+
+    private EventTimings() {}
+
+    /**
+     * Posts the event to {@link MinecraftForge#EVENT_BUS}, recording listener timings if profiling is enabled.
+     *
+     * @return true if the event was cancelled
+     */
+    public static boolean post(Event event)
+    {
+        return enabled ? MinecraftForge.EVENT_BUS.post(event, DISPATCHER) : MinecraftForge.EVENT_BUS.post(event);
+    }
+
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Starts recording event timings.
+     *
+     * @param dumpInterval The interval in seconds in which to write the results to disk, or 0 to never dump them automatically.
+     *                     Each automatic dump replaces the previous one.
+     */
+    public static synchronized void enable(int dumpInterval)
+    {
+        enabled = true;
+        stopScheduledDump();
+        if (dumpInterval > 0)
+            scheduledDump = getDumper().scheduleAtFixedRate(() -> write(Format.CSV, "forge-events-latest"), dumpInterval, dumpInterval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops recording event timings, keeping the data recorded so far.
+     * Called when the server stops, so profiling doesn't carry over to the next world.
+     */
+    public static synchronized void disable()
+    {
+        enabled = false;
+        stopScheduledDump();
+    }
+
+    /**
+     * Clears all recorded data.
+     */
+    public static void reset()
+    {
+        STATS.clear();
+        OWNERS.clear();
+    }
+
+    private static void stopScheduledDump()
+    {
+        if (scheduledDump != null)
+        {
+            scheduledDump.cancel(false);
+            scheduledDump = null;
+        }
+    }
+
+    private static synchronized ScheduledExecutorService getDumper()
+    {
+        if (dumper == null)
+            dumper = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("Forge Event Timings Dump").setDaemon(true).build());
+        return dumper;
+    }
+
+    private static void invoke(IEventListener listener, Event event)
+    {
+        // The bus also passes the phase markers through the dispatcher, they are not real listeners.
+        if (listener instanceof EventPriority)
+        {
+            listener.invoke(event);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        try
+        {
+            listener.invoke(event);
+        }
+        finally
+        {
+            final long time = System.nanoTime() - start;
+            Stats stats = STATS.computeIfAbsent(event.getClass(), k -> new ConcurrentHashMap<>()).computeIfAbsent(listener, Stats::new);
+            stats.count.increment();
+            stats.nanos.add(time);
+        }
+    }
+
+    /**
+     * @return A snapshot of all recorded timings, sorted by total time spent, highest first
+     */
+    public static List<Entry> getTimingData()
+    {
+        List<Entry> ret = new ArrayList<>();
+        STATS.forEach((eventType, listeners) -> listeners.forEach((listener, stats) ->
+            ret.add(new Entry(eventType, stats.description, getOwner(listener), stats.count.sum(), stats.nanos.sum()))
+        ));
+        ret.sort(Comparator.comparingLong(Entry::nanos).reversed());
+        return ret;
+    }
+
+    /**
+     * Sums the recorded timings by the mod that owns the listeners.
+     *
+     * @return Total nanoseconds by owning mod id, highest first
+     */
+    public static List<Map.Entry<String, Long>> getTimingsByOwner()
+    {
+        Map<String, Long> totals = new HashMap<>();
+        for (Entry entry : getTimingData())
+            totals.merge(entry.owner(), entry.nanos(), Long::sum);
+        List<Map.Entry<String, Long>> ret = new ArrayList<>(totals.entrySet());
+        ret.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return ret;
+    }
+
+    /**
+     * Writes all recorded timings to a new file in the debug folder of the game directory, off the calling thread.
+     *
+     * @return A future completed with the file written, or with null if it could not be written
+     */
+    public static CompletableFuture<Path> dump(Format format)
+    {
+        String name = "forge-events-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss", Locale.ROOT));
+        return CompletableFuture.supplyAsync(() -> write(format, name), getDumper());
+    }
+
+    private static Path write(Format format, String name)
+    {
+        Path file = FMLPaths.GAMEDIR.get().resolve("debug").resolve(name + "." + format.extension);
+        try
+        {
+            Files.createDirectories(file.getParent());
+            // Written next to the file first, so a replaced dump is never left half written
+            Path temp = Files.createTempFile(file.getParent(), name, ".tmp");
+            try
+            {
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8))
+                {
+                    format.write(getTimingData(), writer);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            finally
+            {
+                Files.deleteIfExists(temp);
+            }
+            return file;
+        }
+        catch (IOException e)
+        {
+            LOGGER.error("Failed to write event timings to {}", file, e);
+            return null;
+        }
+    }
+
+    private static String getOwner(IEventListener listener)
+    {
+        return OWNERS.computeIfAbsent(listener, l ->
+        {
+            Map<String, String> owners = getClassOwners();
+            Matcher matcher = CLASS_NAME.matcher(String.valueOf(l));
+            while (matcher.find())
+            {
+                String name = matcher.group();
+                int idx = name.indexOf("$$"); // Lambdas and generated classes
+                if (idx > 0)
+                    name = name.substring(0, idx);
+                String owner = owners.get(name);
+                if (owner != null)
+                    return owner;
+            }
+            return UNKNOWN_OWNER;
+        });
+    }
+
+    private static synchronized Map<String, String> getClassOwners()
+    {
+        if (classOwners == null)
+        {
+            Map<String, String> owners = new HashMap<>();
+            for (ModFileScanData data : ModList.get().getAllScanData())
+            {
+                String modId = data.getIModInfoData().stream()
+                        .flatMap(info -> info.getMods().stream())
+                        .map(mod -> mod.getModId())
+                        .findFirst().orElse(UNKNOWN_OWNER);
+                data.getClasses().forEach(cls -> owners.put(cls.clazz().getClassName(), modId));
+            }
+            classOwners = owners;
+        }
+        return classOwners;
+    }
+
+    private static final class Stats
+    {
+        private final String description;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private Stats(IEventListener listener)
+        {
+            this.description = String.valueOf(listener);
+        }
+    }
+
+    public record Entry(Class<?> eventType, String listener, String owner, long count, long nanos) {}
+
+    public enum Format
+    {
+        CSV("csv")
+        {
+            @Override
+            void write(List<Entry> entries, Writer writer) throws IOException
+            {
+                writer.write("event,owner,listener,count,nanos\n");
+                for (Entry entry : entries)
+                    writer.write(String.format(Locale.ROOT, "%s,%s,\"%s\",%d,%d\n", entry.eventType().getName(), entry.owner(), entry.listener().replace("\"", "\"\""), entry.count(), entry.nanos()));
+            }
+        },
+        JSON("json")
+        {
+            @Override
+            void write(List<Entry> entries, Writer writer) throws IOException
+            {
+                JsonArray array = new JsonArray();
+                for (Entry entry : entries)
+                {
+                    JsonObject obj = new JsonObject();
+                    obj.addProperty("event", entry.eventType().getName());
+                    obj.addProperty("owner", entry.owner());
+                    obj.addProperty("listener", entry.listener());
+                    obj.addProperty("count", entry.count());
+                    obj.addProperty("nanos", entry.nanos());
+                    array.add(obj);
+                }
+                GSON.toJson(array, writer);
+            }
+        };
+
+        private final String extension;
+
+        Format(String extension)
+        {
+            this.extension = extension;
+        }
+
+        abstract void write(List<Entry> entries, Writer writer) throws IOException;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.server.timings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import net.minecraft.Util;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.fml.loading.FMLPaths;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Exports tick timings as a Java Flight Recorder file, which can be opened by JDK Mission Control
+ * and the usual flame graph and timeline tools.
+ * <p>
+ * The recording contains one event per level tick, and one event per update sampled by a {@link TimeTracker}
+ * while its sampling mode is enabled. Only these events are enabled in the recording.
+ * <p>
+ * Committing an event only writes to a thread local buffer, JFR's own recorder thread moves full buffers to disk.
+ * Ticking never waits on the disk. The recording is capped to a maximum size, beyond which the oldest data is dropped.
+ */
+public final class TickTimingsRecorder
+{
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static volatile boolean recording = false;
+    private static Recording current = null;
+    private static Path currentFile = null;
+
+    private TickTimingsRecorder() {}
+
+    public static boolean isRecording()
+    {
+        return recording;
+    }
+
+    /**
+     * Starts recording tick timings.
+     *
+     * @param maxSize The maximum size of the recording in bytes
+     * @return The file the recording will be written to once stopped
+     * @throws IllegalStateException if a recording is already running
+     */
+    public static synchronized Path start(long maxSize) throws IOException
+    {
+        if (current != null)
+            throw new IllegalStateException("Tick timings are already being recorded to " + currentFile);
+
+        Path file = FMLPaths.GAMEDIR.get().resolve("debug").resolve("forge-ticks-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss", Locale.ROOT)) + ".jfr");
+        Files.createDirectories(file.getParent());
+
+        Recording rec = new Recording();
+        rec.setName("Forge Tick Timings");
+        rec.enable(LevelTickEvent.class);
+        rec.enable(TrackedUpdateEvent.class);
+        rec.setToDisk(true);
+        rec.setMaxSize(maxSize);
+        rec.setDumpOnExit(true);
+        rec.setDestination(file);
+        rec.start();
+
+        current = rec;
+        currentFile = file;
+        recording = true;
+        return file;
+    }
+
+    /**
+     * Stops recording. The recording is written to its file on a background thread.
+     *
+     * @return The file the recording will be written to, or null if nothing was being recorded
+     */
+    public static synchronized Path stop()
+    {
+        if (current == null)
+            return null;
+
+        recording = false;
+        Recording rec = current;
+        Path file = currentFile;
+        current = null;
+        currentFile = null;
+
+        Util.ioPool().execute(() -> {
+            try
+            {
+                rec.stop();
+                LOGGER.info("Wrote tick timings to {}", file);
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.error("Failed to write tick timings to {}", file, e);
+            }
+            finally
+            {
+                rec.close();
+            }
+        });
+        return file;
+    }
+
+    /**
+     * Records the time a level took to tick, called by the server after every level tick.
+     */
+    public static void recordLevelTick(ResourceKey<Level> dimension, long nanos)
+    {
+        if (!recording)
+            return;
+        LevelTickEvent event = new LevelTickEvent();
+        event.dimension = dimension.location().toString();
+        event.tickTime = nanos;
+        event.commit();
+    }
+
+    static void recordUpdate(String tracker, ResourceLocation type, ResourceKey<Level> dimension, long chunk, long nanos, int sampleRate)
+    {
+        if (!recording)
+            return;
+        TrackedUpdateEvent event = new TrackedUpdateEvent();
+        event.tracker = tracker;
+        event.type = type.toString();
+        event.mod = type.getNamespace();
+        event.dimension = dimension.location().toString();
+        event.chunkX = ChunkPos.getX(chunk);
+        event.chunkZ = ChunkPos.getZ(chunk);
+        event.updateTime = nanos;
+        event.sampleRate = sampleRate;
+        event.commit();
+    }
+
+    @Name("forge.LevelTick")
+    @Label("Level Tick")
+    @Category({"Minecraft", "Forge"})
+    @Description("Time taken by a single tick of a server level")
+    @StackTrace(false)
+    static final class LevelTickEvent extends Event
+    {
+        @Label("Dimension")
+        String dimension;
+
+        @Label("Tick Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long tickTime;
+    }
+
+    @Name("forge.TrackedUpdate")
+    @Label("Sampled Update")
+    @Category({"Minecraft", "Forge"})
+    @Description("Time taken by a single update of an entity or block entity, sampled by a TimeTracker")
+    @StackTrace(false)
+    static final class TrackedUpdateEvent extends Event
+    {
+        @Label("Tracker")
+        String tracker;
+
+        @Label("Type")
+        String type;
+
+        @Label("Mod")
+        String mod;
+
+        @Label("Dimension")
+        String dimension;
+
+        @Label("Chunk X")
+        int chunkX;
+
+        @Label("Chunk Z")
+        int chunkZ;
+
+        @Label("Update Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long updateTime;
+
+        @Label("Sample Rate")
+        @Description("Only one in this many updates of each object was recorded")
+        int sampleRate;
+    }
+}
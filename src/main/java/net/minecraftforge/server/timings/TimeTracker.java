@@ -6,18 +6,39 @@
 package net.minecraftforge.server.timings;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.MapMaker;
 
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraftforge.registries.ForgeRegistries;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A class to assist in the collection of data to measure the update times of ticking objects {currently Tile Entities and Entities}
+ * <p>
+ * Trackers support two modes which can be used independently:
+ * <ul>
+ * <li>Tracking every update of every object for a fixed duration, see {@link #enable(int)} and {@link #getTimingData()}.</li>
+ * <li>Continuous sampling, see {@link #enableSampling(int)}. Each object is only timed once every N ticks of its level,
+ * and samples are aggregated by type and chunk into one bucket per minute, keeping the last {@value #SAMPLE_BUCKETS} minutes.
+ * Objects that are not sampled in a tick cost a single branch and modulo, so this mode is cheap enough to leave running.</li>
+ * </ul>
+ * Ticking happens on the server thread, which is also where the results are read from commands, so no synchronization is done.
  *
  * @param <T>
  */
@@ -27,11 +48,18 @@ public class TimeTracker<T>
     /**
      * A tracker for timing tile entity update
      */
-    public static final TimeTracker<BlockEntity> BLOCK_ENTITY_UPDATE = new TimeTracker<>();
+    public static final TimeTracker<BlockEntity> BLOCK_ENTITY_UPDATE = new TimeTracker<>("block_entity", BlockEntity::getLevel, be -> ForgeRegistries.BLOCK_ENTITY_TYPES.getKey(be.getType()), be -> ChunkPos.asLong(be.getBlockPos()));
     /**
      * A tracker for timing entity updates
      */
-    public static final TimeTracker<Entity> ENTITY_UPDATE = new TimeTracker<>();
+    public static final TimeTracker<Entity> ENTITY_UPDATE = new TimeTracker<>("entity", entity -> entity.level, entity -> ForgeRegistries.ENTITY_TYPES.getKey(entity.getType()), entity -> entity.chunkPosition().toLong());
+
+    /**
+     * The number of minutes of sampled data kept by a tracker
+     */
+    public static final int SAMPLE_BUCKETS = 60;
+    private static final long SAMPLE_BUCKET_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final ResourceLocation UNKNOWN_TYPE = new ResourceLocation("unknown", "unknown");
 
     private boolean enabled;
     private int trackingDuration;
@@ -40,6 +68,44 @@ public class TimeTracker<T>
     private long trackTime;
     private long timing;
 
+    @Nullable
+    private final String name;
+    @Nullable
+    private final Function<T, Level> levelGetter;
+    private final Function<T, ResourceLocation> typeGetter;
+    private final ToLongFunction<T> chunkGetter;
+    private int sampleRate;
+    private final SampleBucket[] sampleBuckets = new SampleBucket[SAMPLE_BUCKETS];
+    private T currentlySampling;
+    private long sampleTime;
+
+    /**
+     * Creates a tracker that only supports tracking for a fixed duration, not sampling.
+     */
+    public TimeTracker()
+    {
+        this.name = null;
+        this.levelGetter = null;
+        this.typeGetter = null;
+        this.chunkGetter = null;
+    }
+
+    /**
+     * Creates a tracker that also supports sampling.
+     *
+     * @param name        The name of the tracker, used to tell samples apart in exported timings
+     * @param levelGetter The level the tracked object ticks in, whose game time decides which objects are sampled
+     * @param typeGetter  The registry name of the type of the tracked object
+     * @param chunkGetter The packed {@link ChunkPos} the tracked object is in
+     */
+    public TimeTracker(String name, Function<T, Level> levelGetter, Function<T, ResourceLocation> typeGetter, ToLongFunction<T> chunkGetter)
+    {
+        this.name = name;
+        this.levelGetter = levelGetter;
+        this.typeGetter = typeGetter;
+        this.chunkGetter = chunkGetter;
+    }
+
     /**
      * Returns the timings data recorded by the tracker
      *
@@ -73,9 +139,13 @@ public class TimeTracker<T>
      */
     public void trackEnd(T tracking)
     {
-        if (!enabled)
-            return;
-        this.trackEnd(tracking, System.nanoTime());
+        if (enabled)
+            this.trackEnd(tracking, System.nanoTime());
+        if (currentlySampling != null && currentlySampling == tracking)
+        {
+            currentlySampling = null;
+            recordSample(tracking, System.nanoTime());
+        }
     }
 
     /**
@@ -96,9 +166,104 @@ public class TimeTracker<T>
      */
     public void trackStart(T toTrack)
     {
-        if (!enabled)
-            return;
-        this.trackStart(toTrack, System.nanoTime());
+        if (enabled)
+            this.trackStart(toTrack, System.nanoTime());
+        if (sampleRate > 0 && shouldSample(toTrack))
+        {
+            currentlySampling = toTrack;
+            sampleTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * Starts continuously sampling the update times of the tracked objects.
+     * Samples already recorded are kept, see {@link #clearSamples()}.
+     *
+     * @param sampleRate Every object is timed once every this many ticks
+     */
+    public void enableSampling(int sampleRate)
+    {
+        if (levelGetter == null)
+            throw new IllegalStateException("This tracker does not support sampling");
+        if (sampleRate < 1)
+            throw new IllegalArgumentException("Sample rate must be at least 1, got " + sampleRate);
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Stops sampling, keeping the samples recorded so far.
+     */
+    public void disableSampling()
+    {
+        this.sampleRate = 0;
+        this.currentlySampling = null;
+    }
+
+    public boolean isSampling()
+    {
+        return sampleRate > 0;
+    }
+
+    /**
+     * Discards all samples recorded so far.
+     */
+    public void clearSamples()
+    {
+        Arrays.fill(sampleBuckets, null);
+    }
+
+    /**
+     * Aggregates the samples recorded in the last minutes.
+     *
+     * @param grouping How to group the samples
+     * @param minutes  The number of minutes to look back, at most {@value #SAMPLE_BUCKETS}
+     * @return The aggregated samples, sorted by estimated total update time, highest first
+     */
+    public List<SampledTimings> getSampledTimings(Grouping grouping, int minutes)
+    {
+        long current = Math.floorDiv(System.nanoTime(), SAMPLE_BUCKET_NANOS);
+        Map<String, long[]> totals = new HashMap<>();
+        for (SampleBucket bucket : sampleBuckets)
+        {
+            if (bucket == null || current - bucket.id >= minutes)
+                continue;
+            bucket.samples.forEach((key, data) -> {
+                long[] total = totals.computeIfAbsent(grouping.describe(key), k -> new long[2]);
+                total[0] += data[0];
+                total[1] += data[1];
+            });
+        }
+
+        List<SampledTimings> ret = new ArrayList<>(totals.size());
+        totals.forEach((name, total) -> ret.add(new SampledTimings(name, total[0], total[1])));
+        ret.sort(Comparator.comparingLong(SampledTimings::estimatedNanos).reversed());
+        return ret;
+    }
+
+    private boolean shouldSample(T object)
+    {
+        Level level = levelGetter.apply(object);
+        // Spread the sampled objects over the ticks by offsetting the level's time with the object's identity
+        return level != null && !level.isClientSide && Math.floorMod(level.getGameTime() + System.identityHashCode(object), sampleRate) == 0;
+    }
+
+    private void recordSample(T object, long nanoTime)
+    {
+        long bucketId = Math.floorDiv(nanoTime, SAMPLE_BUCKET_NANOS);
+        int idx = (int) Math.floorMod(bucketId, (long) SAMPLE_BUCKETS);
+        SampleBucket bucket = sampleBuckets[idx];
+        if (bucket == null || bucket.id != bucketId)
+            sampleBuckets[idx] = bucket = new SampleBucket(bucketId);
+
+        ResourceLocation type = typeGetter.apply(object);
+        SampleKey key = new SampleKey(type == null ? UNKNOWN_TYPE : type, levelGetter.apply(object).dimension(), chunkGetter.applyAsLong(object));
+        long nanos = nanoTime - sampleTime;
+        long[] data = bucket.samples.computeIfAbsent(key, k -> new long[2]);
+        data[0]++;
+        // Scale by the rate at the time of sampling, so the estimate stays correct if the rate changes within the window
+        data[1] += nanos * sampleRate;
+
+        TickTimingsRecorder.recordUpdate(name, key.type(), key.dimension(), key.chunk(), nanos, sampleRate);
     }
 
     private void trackEnd(T object, long nanoTime)
@@ -128,4 +293,56 @@ public class TimeTracker<T>
         currentlyTracking = new WeakReference<>(toTrack);
         timing = nanoTime;
     }
+
+    private record SampleKey(ResourceLocation type, ResourceKey<Level> dimension, long chunk) {}
+
+    private static final class SampleBucket
+    {
+        private final long id;
+        private final Map<SampleKey, long[]> samples = new HashMap<>();
+
+        private SampleBucket(long id)
+        {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Aggregated samples of a group of tracked objects.
+     *
+     * @param name           The name of the group
+     * @param samples        The number of updates that were timed
+     * @param estimatedNanos The estimated total time spent updating the group, extrapolated from the samples
+     */
+    public record SampledTimings(String name, long samples, long estimatedNanos) {}
+
+    public enum Grouping
+    {
+        MOD
+        {
+            @Override
+            String describe(SampleKey key)
+            {
+                return key.type().getNamespace();
+            }
+        },
+        TYPE
+        {
+            @Override
+            String describe(SampleKey key)
+            {
+                return key.type().toString();
+            }
+        },
+        CHUNK
+        {
+            @Override
+            String describe(SampleKey key)
+            {
+                return key.dimension().location() + " [" + ChunkPos.getX(key.chunk()) + ", " + ChunkPos.getZ(key.chunk()) + "]";
+            }
+        };
+
+        abstract String describe(SampleKey key);
+    }
 }
@@ -33,6 +33,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 @Mod(CapabilitiesTest.MODID)
@@ -83,7 +84,7 @@ public class CapabilitiesTest
 
         public void attach(AttachCapabilitiesEvent<T> event)
         {
-            event.addCapability(TEST_CAP_ID, new ICapabilitySerializable<>()
+            event.addCapability(TEST_CAP_ID, new ICapabilityComparable<>()
             {
                 final LazyOptional<CapClass> instance = LazyOptional.of(() -> new CapClass(this));
 
@@ -104,6 +105,18 @@ public class CapabilitiesTest
                         throw new IllegalStateException("Unexpected tag type");
                 }
 
+                @Override
+                public int getStateHash()
+                {
+                    return 1;
+                }
+
+                @Override
+                public boolean isStateEqual(ICapabilityComparable<?> other)
+                {
+                    return other.getClass() == this.getClass(); // Stateless, every instance serializes the same
+                }
+
                 @NotNull
                 @Override
                 public <T> LazyOptional<T> getCapability(@NotNull Capability<T> cap, @Nullable Direction side)
@@ -112,7 +125,7 @@ public class CapabilitiesTest
                         return instance.cast();
                     return LazyOptional.empty();
                 }
-            });
+            }, Set.of(INSTANCE));
 
             messages.add(String.format(Locale.ENGLISH, "Attached capability to %s in %s", event.getObject().getClass(), EffectiveSide.get()));
         }
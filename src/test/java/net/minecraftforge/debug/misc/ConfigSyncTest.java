@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.debug.misc;
+
+import com.google.common.hash.Hashing;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.AttributeKey;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestAssertException;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.network.Connection;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.PacketEncoder;
+import net.minecraft.network.protocol.PacketFlow;
+import net.minecraft.network.protocol.game.ClientboundCustomPayloadPacket;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.common.ForgeConfigSpec;
+import net.minecraftforge.event.RegisterGameTestsEvent;
+import net.minecraftforge.fml.ModLoadingContext;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ConfigTracker;
+import net.minecraftforge.fml.config.ModConfig;
+import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
+import net.minecraftforge.fml.loading.FMLPaths;
+import net.minecraftforge.fml.util.thread.SidedThreadGroups;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+import net.minecraftforge.network.ConfigSync;
+import net.minecraftforge.network.HandshakeMessages;
+import net.minecraftforge.network.LoginWrapper;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkHooks;
+import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.PlayMessages;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Drives the server config sync over connections on embedded channels: cached configs are sent as references, others
+ * in full, a reference the client can't resolve disconnects it, and changed values are only sent to clients which
+ * reported a cache.
+ */
+@Mod(ConfigSyncTest.MODID)
+public class ConfigSyncTest
+{
+    static final String MODID = "config_sync_test";
+
+    private static final boolean ENABLED = true;
+
+    private static final ForgeConfigSpec.IntValue VALUE;
+    private static final ForgeConfigSpec SPEC;
+    static
+    {
+        ForgeConfigSpec.Builder builder = new ForgeConfigSpec.Builder();
+        VALUE = builder.defineInRange("value", 1, 0, 100);
+        SPEC = builder.build();
+    }
+
+    // Set by the server handshake on the connections of clients which reported the configs they have cached
+    private static final AttributeKey<Boolean> CONFIG_DELTAS = AttributeKey.valueOf("fml:configdeltas");
+    private static final ResourceLocation PLAY_CHANNEL = new ResourceLocation("fml", "play");
+
+    public ConfigSyncTest()
+    {
+        if (!ENABLED) return;
+
+        ModLoadingContext.get().registerConfig(ModConfig.Type.SERVER, SPEC);
+        FMLJavaModLoadingContext.get().getModEventBus().addListener(this::registerGameTests);
+    }
+
+    private void registerGameTests(RegisterGameTestsEvent event)
+    {
+        event.register(ConfigSyncTest.class);
+    }
+
+    @PrefixGameTestTemplate(false)
+    @GameTest(templateNamespace = GameTestTest.MODID, template = "empty3x3x3")
+    public static void testCachedConfigIsReferenced(GameTestHelper helper)
+    {
+        ModConfig config = getConfig();
+        byte[] data = read(config);
+        String hash = hash(data);
+
+        FriendlyByteBuf payload = copyPayload(ConfigSync.INSTANCE.gatherConfigPayloads(Set.of(hash), false), config);
+        payload.readUnsignedByte();
+        HandshakeMessages.S2CConfigReference reference = HandshakeMessages.S2CConfigReference.decode(payload);
+        helper.assertTrue(reference.getFileName().equals(config.getFileName()), "Referenced the wrong config: " + reference.getFileName());
+        helper.assertTrue(reference.getHash().equals(hash), "Referenced the config by the wrong hash: " + reference.getHash());
+        helper.succeed();
+    }
+
+    @PrefixGameTestTemplate(false)
+    @GameTest(templateNamespace = GameTestTest.MODID, template = "empty3x3x3")
+    public static void testUncachedConfigIsSent(GameTestHelper helper)
+    {
+        ModConfig config = getConfig();
+        byte[] data = read(config);
+
+        FriendlyByteBuf payload = copyPayload(ConfigSync.INSTANCE.gatherConfigPayloads(Set.of(), false), config);
+        payload.readUnsignedByte();
+        HandshakeMessages.S2CConfigData sent = HandshakeMessages.S2CConfigData.decode(payload);
+        helper.assertTrue(sent.getFileName().equals(config.getFileName()), "Sent the wrong config: " + sent.getFileName());
+        helper.assertTrue(Arrays.equals(sent.getBytes(), data), "Sent different contents than the config file has");
+        helper.succeed();
+    }
+
+    @PrefixGameTestTemplate(false)
+    @GameTest(templateNamespace = GameTestTest.MODID, template = "empty3x3x3")
+    public static void testMissingCachedConfigDisconnects(GameTestHelper helper)
+    {
+        ModConfig config = getConfig();
+        String hash = hash(read(config));
+        try
+        {
+            Files.deleteIfExists(FMLPaths.GAMEDIR.get().resolve("caches").resolve("serverconfig").resolve(hash));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        Connection client = new Connection(PacketFlow.CLIENTBOUND);
+        new EmbeddedChannel(client);
+        NetworkHooks.registerClientLoginChannel(client);
+        receiveOnClient(client, findPayload(ConfigSync.INSTANCE.gatherConfigPayloads(Set.of(hash), false), config));
+
+        helper.assertFalse(client.isConnected(), "The client should disconnect when a referenced config isn't cached");
+        helper.assertTrue(client.getDisconnectedReason() != null, "The client should say why it disconnected");
+        helper.succeed();
+    }
+
+    @PrefixGameTestTemplate(false)
+    @GameTest(templateNamespace = GameTestTest.MODID, template = "empty3x3x3")
+    public static void testChangesAreOnlySentToCachingClients(GameTestHelper helper)
+    {
+        ModConfig config = getConfig();
+        // Remembers the values sent on login, as the handshake does
+        ConfigSync.INSTANCE.gatherConfigPayloads(Set.of(), false);
+
+        // Encoded, as the payloads of sent packets are released once they have been written
+        Connection cachingClient = new Connection(PacketFlow.SERVERBOUND);
+        EmbeddedChannel caching = new EmbeddedChannel(new PacketEncoder(PacketFlow.CLIENTBOUND), cachingClient);
+        caching.attr(CONFIG_DELTAS).set(true);
+        Connection olderClient = new Connection(PacketFlow.SERVERBOUND);
+        EmbeddedChannel older = new EmbeddedChannel(new PacketEncoder(PacketFlow.CLIENTBOUND), olderClient);
+
+        int original = VALUE.get();
+        VALUE.set(original == 1 ? 2 : 1);
+        try
+        {
+            ConfigSync.INSTANCE.sendChanges(config, List.of(cachingClient, olderClient));
+        }
+        finally
+        {
+            VALUE.set(original);
+            // Brings the remembered values back in line with the config
+            ConfigSync.INSTANCE.sendChanges(config, List.of());
+        }
+
+        helper.assertTrue(older.outboundMessages().isEmpty(), "Clients which didn't report a cache shouldn't be sent changes");
+        ByteBuf sent = caching.readOutbound();
+        helper.assertTrue(sent != null, "Clients which reported a cache should be sent the changes");
+        try
+        {
+            FriendlyByteBuf buf = new FriendlyByteBuf(sent);
+            buf.readVarInt();
+            ClientboundCustomPayloadPacket packet = new ClientboundCustomPayloadPacket(buf);
+            helper.assertTrue(packet.getIdentifier().equals(PLAY_CHANNEL), "Changes were sent on the wrong channel: " + packet.getIdentifier());
+            FriendlyByteBuf data = packet.getData();
+            data.readUnsignedByte();
+            PlayMessages.SyncConfig msg = PlayMessages.SyncConfig.decode(data);
+            helper.assertTrue(msg.getFileName().equals(config.getFileName()), "Sent changes to the wrong config: " + msg.getFileName());
+            helper.assertTrue(msg.isDelta(), "Only the changed value should have been sent");
+        }
+        finally
+        {
+            sent.release();
+        }
+        helper.assertTrue(caching.outboundMessages().isEmpty(), "The changes should have been sent once");
+        helper.succeed();
+    }
+
+    private static ModConfig getConfig()
+    {
+        return ConfigTracker.INSTANCE.configSets().get(ModConfig.Type.SERVER).stream()
+                .filter(config -> config.getModId().equals(MODID))
+                .findFirst()
+                .orElseThrow(() -> new GameTestAssertException("The server config of " + MODID + " isn't loaded"));
+    }
+
+    private static byte[] read(ModConfig config)
+    {
+        try
+        {
+            return Files.readAllBytes(config.getFullPath());
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String hash(byte[] data)
+    {
+        return Hashing.sha256().hashBytes(data).toString();
+    }
+
+    private static NetworkRegistry.LoginPayload findPayload(List<NetworkRegistry.LoginPayload> payloads, ModConfig config)
+    {
+        return payloads.stream()
+                .filter(payload -> payload.getMessageContext().endsWith(" " + config.getFileName()))
+                .findFirst()
+                .orElseThrow(() -> new GameTestAssertException("No payload was sent for " + config.getFileName()));
+    }
+
+    private static FriendlyByteBuf copyPayload(List<NetworkRegistry.LoginPayload> payloads, ModConfig config)
+    {
+        return new FriendlyByteBuf(findPayload(payloads, config).getData().copy());
+    }
+
+    /**
+     * Hands a login payload to the client side of the handshake, as the login wrapper would receive it.
+     */
+    private static void receiveOnClient(Connection client, NetworkRegistry.LoginPayload payload)
+    {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        // Login packets to the client are only processed on the logical client
+        Thread thread = SidedThreadGroups.CLIENT.newThread(() -> {
+            try
+            {
+                FriendlyByteBuf wrapped = LoginWrapper.wrapPacket(payload.getChannelName(), payload.getData());
+                NetworkHooks.onCustomPayload(NetworkDirection.LOGIN_TO_CLIENT.buildPacket(Pair.of(wrapped, 0), LoginWrapper.WRAPPER), client);
+            }
+            catch (Throwable t)
+            {
+                failure.set(t);
+            }
+        });
+        thread.start();
+        try
+        {
+            thread.join();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new GameTestAssertException("Interrupted while the client handled the payload");
+        }
+        if (failure.get() != null)
+            throw new RuntimeException("The client failed to handle the payload", failure.get());
+    }
+}
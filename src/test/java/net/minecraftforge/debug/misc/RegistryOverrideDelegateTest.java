@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.debug.misc;
+
+import net.minecraft.core.Holder;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.decoration.PaintingVariant;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
+import net.minecraftforge.registries.DeferredRegister;
+import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.registries.RegistryObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Checks that the delegate of an overridden entry resolves to the active override after a snapshot was injected.
+ * <p>
+ * Load the same world twice: the second time, the painting variant registry matches the saved snapshot and skips
+ * being reloaded, which must still leave its delegates bound to the active values.
+ */
+@Mod(RegistryOverrideDelegateTest.MODID)
+public class RegistryOverrideDelegateTest
+{
+    static final String MODID = "registry_override_delegate_test";
+
+    private static final boolean ENABLED = true;
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final ResourceLocation OVERRIDDEN = new ResourceLocation("minecraft", "kebab");
+    private static final DeferredRegister<PaintingVariant> PAINTING_VARIANTS = DeferredRegister.create(ForgeRegistries.PAINTING_VARIANTS, OVERRIDDEN.getNamespace());
+    private static final RegistryObject<PaintingVariant> OVERRIDE = PAINTING_VARIANTS.register(OVERRIDDEN.getPath(), () -> new PaintingVariant(16, 16));
+
+    public RegistryOverrideDelegateTest()
+    {
+        if (!ENABLED) return;
+
+        PAINTING_VARIANTS.register(FMLJavaModLoadingContext.get().getModEventBus());
+        MinecraftForge.EVENT_BUS.addListener(this::serverStarted);
+    }
+
+    private void serverStarted(ServerStartedEvent event)
+    {
+        PaintingVariant active = ForgeRegistries.PAINTING_VARIANTS.getValue(OVERRIDDEN);
+        Holder.Reference<PaintingVariant> delegate = ForgeRegistries.PAINTING_VARIANTS.getDelegateOrThrow(OVERRIDDEN);
+        if (active != OVERRIDE.get())
+            throw new IllegalStateException("The override of " + OVERRIDDEN + " is not the active value: " + active);
+        if (delegate.value() != active)
+            throw new IllegalStateException("The delegate of " + OVERRIDDEN + " resolves to " + delegate.value() + " instead of the active override " + active);
+        LOGGER.info("The delegate of {} resolves to the active override", OVERRIDDEN);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.test;
+
+import net.minecraftforge.client.model.geometry.BakedGeometryCacheFile;
+import net.minecraftforge.client.model.geometry.BakedGeometryCacheFile.Entry;
+import net.minecraftforge.client.model.geometry.BakedGeometryCacheFile.Quad;
+import net.minecraftforge.client.model.geometry.BakedGeometryCacheFile.Sprite;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BakedGeometryCacheFileTest
+{
+    private static Entry randomEntry(Random random, int quadCount)
+    {
+        List<Sprite> sprites = List.of(new Sprite("minecraft:textures/atlas/blocks.png", "minecraft:block/stone"),
+                                       new Sprite("minecraft:textures/atlas/blocks.png", "forge:block/\u00e9l\u00e9ment"));
+        List<Quad> quads = new ArrayList<>();
+        for (int i = 0; i < quadCount; i++)
+        {
+            // 4 vertices of 8 ints, like a BakedQuad, including bit patterns of NaN and negative zero floats
+            int[] vertices = new int[32];
+            for (int j = 0; j < vertices.length; j++)
+                vertices[j] = random.nextInt();
+            vertices[0] = Float.floatToRawIntBits(-0.0f);
+            vertices[1] = 0x7fc00001;
+            quads.add(new Quad(vertices, random.nextInt(3) - 1, random.nextInt(6), random.nextInt(7) - 1, random.nextBoolean(), random.nextInt(sprites.size())));
+        }
+        return new Entry(sprites, quads);
+    }
+
+    @Test
+    public void testCachedQuadsAreIdenticalToBakedQuads(@TempDir Path directory) throws IOException
+    {
+        Random random = new Random(42);
+        Map<String, Entry> baked = Map.of("a", randomEntry(random, 100), "b", randomEntry(random, 1), "c", randomEntry(random, 0));
+        Path file = directory.resolve("cache.bin");
+        BakedGeometryCacheFile.write(file, baked);
+
+        Map<String, Entry> cached = BakedGeometryCacheFile.read(file);
+        assertEquals(baked.keySet(), cached.keySet());
+        for (String key : baked.keySet())
+        {
+            Entry expected = baked.get(key);
+            Entry actual = cached.get(key);
+            assertEquals(expected.sprites(), actual.sprites());
+            assertEquals(expected.quads().size(), actual.quads().size());
+            for (int i = 0; i < expected.quads().size(); i++)
+            {
+                Quad expectedQuad = expected.quads().get(i);
+                Quad actualQuad = actual.quads().get(i);
+                assertArrayEquals(expectedQuad.vertices(), actualQuad.vertices(), "Vertex data should be byte-identical");
+                assertEquals(expectedQuad.tintIndex(), actualQuad.tintIndex());
+                assertEquals(expectedQuad.direction(), actualQuad.direction());
+                assertEquals(expectedQuad.cullFace(), actualQuad.cullFace());
+                assertEquals(expectedQuad.shade(), actualQuad.shade());
+                assertEquals(expectedQuad.sprite(), actualQuad.sprite());
+            }
+        }
+
+        Path rewritten = directory.resolve("rewritten.bin");
+        BakedGeometryCacheFile.write(rewritten, cached);
+        assertEquals(-1, Files.mismatch(file, rewritten), "Writing the same entries should produce the same file");
+    }
+
+    @Test
+    public void testCorruptFilesAreRejected(@TempDir Path directory) throws IOException
+    {
+        Path file = directory.resolve("cache.bin");
+        BakedGeometryCacheFile.write(file, Map.of("a", randomEntry(new Random(1), 10)));
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path truncated = directory.resolve("truncated.bin");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 5));
+        assertThrows(IOException.class, () -> BakedGeometryCacheFile.read(truncated));
+
+        Path foreign = directory.resolve("foreign.bin");
+        Files.writeString(foreign, "not a cache");
+        assertThrows(IOException.class, () -> BakedGeometryCacheFile.read(foreign));
+    }
+}
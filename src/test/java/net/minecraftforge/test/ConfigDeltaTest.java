@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.test;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.electronwill.nightconfig.toml.TomlFormat;
+import net.minecraftforge.network.ConfigDelta;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfigDeltaTest
+{
+    private static final String PREVIOUS = """
+            enabled = true
+            [general]
+            range = 16
+            names = ["a", "b"]
+            [general.nested]
+            rate = 0.5
+            """;
+
+    private static CommentedConfig parse(String toml)
+    {
+        return TomlFormat.instance().createParser().parse(toml);
+    }
+
+    @Test
+    public void testFlattenUsesFullPaths()
+    {
+        Map<List<String>, Object> values = ConfigDelta.flatten(parse(PREVIOUS));
+        assertEquals(4, values.size(), "Sub configs shouldn't be values themselves");
+        assertEquals(true, values.get(List.of("enabled")));
+        assertEquals(16, values.get(List.of("general", "range")));
+        assertEquals(0.5, values.get(List.of("general", "nested", "rate")));
+    }
+
+    @Test
+    public void testDiffOnlyContainsChangedValues()
+    {
+        CommentedConfig current = parse(PREVIOUS);
+        current.set(List.of("general", "nested", "rate"), 0.75);
+
+        CommentedConfig changes = ConfigDelta.diff(ConfigDelta.flatten(parse(PREVIOUS)), ConfigDelta.flatten(current));
+        assertNotNull(changes);
+        assertEquals(Map.of(List.of("general", "nested", "rate"), 0.75), ConfigDelta.flatten(changes));
+    }
+
+    @Test
+    public void testDiffOfEqualConfigsIsEmpty()
+    {
+        CommentedConfig changes = ConfigDelta.diff(ConfigDelta.flatten(parse(PREVIOUS)), ConfigDelta.flatten(parse(PREVIOUS)));
+        assertNotNull(changes);
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void testDiffNeedsFullConfigWhenKeysChange()
+    {
+        CommentedConfig added = parse(PREVIOUS);
+        added.set(List.of("general", "extra"), 1);
+        assertNull(ConfigDelta.diff(ConfigDelta.flatten(parse(PREVIOUS)), ConfigDelta.flatten(added)), "Added values can't be sent as changes");
+
+        CommentedConfig removed = parse(PREVIOUS);
+        removed.remove(List.of("general", "range"));
+        assertNull(ConfigDelta.diff(ConfigDelta.flatten(parse(PREVIOUS)), ConfigDelta.flatten(removed)), "Removed values can't be sent as changes");
+    }
+
+    @Test
+    public void testAppliedChangesSurviveSerialization()
+    {
+        CommentedConfig current = parse(PREVIOUS);
+        current.set(List.of("enabled"), false);
+        current.set(List.of("general", "names"), List.of("c"));
+        CommentedConfig changes = ConfigDelta.diff(ConfigDelta.flatten(parse(PREVIOUS)), ConfigDelta.flatten(current));
+        assertNotNull(changes);
+
+        // Sent as TOML, the same way ConfigSync sends them to clients
+        CommentedConfig received = parse(TomlFormat.instance().createWriter().writeToString(changes));
+        CommentedConfig client = parse(PREVIOUS);
+        ConfigDelta.apply(client, received);
+        assertEquals(ConfigDelta.flatten(current), ConfigDelta.flatten(client));
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.test;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.network.LoginWrapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginWrapperTest
+{
+    @Test
+    public void testWrapperHoldsItsOwnReferenceToThePayload()
+    {
+        ResourceLocation channel = new ResourceLocation("forge", "test");
+        FriendlyByteBuf payload = new FriendlyByteBuf(PooledByteBufAllocator.DEFAULT.buffer());
+        payload.writeBytes(new byte[] { 1, 2, 3, 4, 5 });
+
+        FriendlyByteBuf wrapped = LoginWrapper.wrapPacket(channel, payload);
+        assertEquals(2, payload.refCnt(), "Wrapping should retain the payload");
+        assertEquals(0, payload.readerIndex(), "Wrapping should not consume the payload");
+
+        // The caller giving up its reference must not free the payload under the wrapper
+        assertFalse(payload.release());
+        assertEquals(1, payload.refCnt());
+
+        assertEquals(channel, wrapped.readResourceLocation());
+        assertEquals(5, wrapped.readVarInt());
+        byte[] data = new byte[5];
+        wrapped.readBytes(data);
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 5 }, data);
+        assertFalse(wrapped.isReadable());
+
+        assertTrue(wrapped.release(), "Releasing the wrapper should free it");
+        assertEquals(0, payload.refCnt(), "Releasing the wrapper should release its reference to the payload");
+    }
+}
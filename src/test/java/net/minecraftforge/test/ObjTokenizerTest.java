@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) Forge Development LLC and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.minecraftforge.test;
+
+import com.google.common.hash.Hashing;
+import net.minecraftforge.client.model.obj.ObjTokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObjTokenizerTest
+{
+    private static ObjTokenizer tokenize(String text) throws IOException
+    {
+        return new ObjTokenizer(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testLinesAreJoinedAndCommentsIgnored() throws IOException
+    {
+        var tokenizer = tokenize("# comment\r\nv 1 2 \\\n\t3\n\nusemtl  a  b\\\n# not continued\nf 1");
+        assertArrayEquals(new String[] { "v", "1", "2", "3" }, tokenizer.readAndSplitLine(true));
+        assertArrayEquals(new String[0], tokenizer.readAndSplitLine(false), "Empty lines should be kept when asked for");
+        assertArrayEquals(new String[] { "usemtl", "a", "b" }, tokenizer.readAndSplitLine(true));
+        assertArrayEquals(new String[] { "f", "1" }, tokenizer.readAndSplitLine(true));
+        assertNull(tokenizer.readAndSplitLine(true));
+    }
+
+    @Test
+    public void testFloatsMatchFloatParseFloat() throws IOException
+    {
+        String[] values = {
+                "0", "-0", "+1", "1.", ".5", "-0.000001", "0.1", "0.3", "3.4028235e38", "1.17549435E-38", "1e-45",
+                "123456.789", "16777217", "0.123456789123", "-2.5e+3", "1E10", "7e-11", "0000000000001.5", "NaN",
+                "-Infinity", "1f", "0x1p3"
+        };
+        var tokenizer = tokenize("v " + String.join(" ", values));
+        assertTrue(tokenizer.readLine());
+        for (int i = 0; i < values.length; i++)
+            assertEquals(Float.floatToRawIntBits(Float.parseFloat(values[i])), Float.floatToRawIntBits(tokenizer.getFloat(i + 1)), values[i]);
+    }
+
+    @Test
+    public void testInvalidNumbersStillThrow() throws IOException
+    {
+        var tokenizer = tokenize("v 1.2.3 - e5 2147483648");
+        assertTrue(tokenizer.readLine());
+        assertThrows(NumberFormatException.class, () -> tokenizer.getFloat(1));
+        assertThrows(NumberFormatException.class, () -> tokenizer.getFloat(2));
+        assertThrows(NumberFormatException.class, () -> tokenizer.getFloat(3));
+        assertThrows(NumberFormatException.class, () -> tokenizer.getInt(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> tokenizer.getToken(5));
+    }
+
+    @Test
+    public void testContentHashCoversTheWholeFile() throws IOException
+    {
+        byte[] bytes = "mtllib a.mtl\nv 1 2 3\n".getBytes(StandardCharsets.UTF_8);
+        var tokenizer = tokenize("mtllib a.mtl\nv 1 2 3\n");
+        assertTrue(tokenizer.readLine());
+        assertEquals(Hashing.sha256().hashBytes(bytes), tokenizer.hashContents(), "Reading lines should not change the hash");
+
+        byte[] padded = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, padded, 2, bytes.length);
+        var slice = new ObjTokenizer(ByteBuffer.wrap(padded, 2, bytes.length));
+        assertEquals(Hashing.sha256().hashBytes(bytes), slice.hashContents(), "Only the bytes of the buffer should be hashed");
+    }
+
+    @Test
+    public void testFaceIndicesMatchSplit() throws IOException
+    {
+        var tokenizer = tokenize("f 1 2/3 4//5 -6/-7/-8/9 10/11// /12");
+        assertTrue(tokenizer.readLine());
+        assertArrayEquals(new int[] { 1 }, tokenizer.getIndices(1));
+        assertArrayEquals(new int[] { 2, 3 }, tokenizer.getIndices(2));
+        assertArrayEquals(new int[] { 4, 0, 5 }, tokenizer.getIndices(3));
+        assertArrayEquals(new int[] { -6, -7, -8, 9 }, tokenizer.getIndices(4));
+        assertArrayEquals(new int[] { 10, 11 }, tokenizer.getIndices(5));
+        assertArrayEquals(new int[] { 0, 12 }, tokenizer.getIndices(6));
+    }
+}